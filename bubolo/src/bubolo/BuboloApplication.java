@@ -28,11 +28,14 @@ import bubolo.ui.MapSelectionScreen;
 import bubolo.ui.MultiplayerSetupScreen;
 import bubolo.ui.MultiplayerSetupScreen.PlayerType;
 import bubolo.ui.Screen;
+import bubolo.util.AllocationProfiler;
 import bubolo.util.FrameInfo;
+import bubolo.util.FrameProfiler.Phase;
 import bubolo.util.GameRuntimeException;
 import bubolo.util.Nullable;
 import bubolo.util.Units;
 import bubolo.world.Entity;
+import bubolo.world.GameWorld;
 import bubolo.world.Tank;
 import bubolo.world.Tile;
 import bubolo.world.World;
@@ -62,13 +65,32 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 	private boolean printFrameTime;
 	private FrameInfo frameInfo;
 
+	// The file that network metrics are logged to, or null if network metrics shouldn't be logged.
+	private @Nullable Path networkMetricsLogPath;
+
+	// The file that frame profiler summaries are logged to, or null if they shouldn't be logged.
+	private @Nullable Path frameProfileLogPath;
+
+	// Whether the game world's allocations are measured per update phase.
+	private boolean profileAllocations;
+
+	// Whether the game world prepares bullets and mines in parallel.
+	private boolean parallelActorUpdates;
+
+	// The file that a Java Flight Recorder recording is written to, or null if the game shouldn't be recorded.
+	private @Nullable Path jfrRecordingPath;
+
 	/**
 	 * Constructs an instance of the game application. Only one instance should ever exist.
 	 *
 	 * @param windowWidth the width of the window.
 	 * @param windowHeight the height of the window.
-	 * @param commandLineArgs the arguments passed to the application through the command line. The only application setting is -frameInfo, which prints
-	 * frame debug info.
+	 * @param commandLineArgs the arguments passed to the application through the command line. The application settings are -frameInfo, which prints
+	 * frame debug info, -netLog &lt;file&gt;, which logs network metrics to a CSV file, or a json file if the file name ends in .json, and
+	 * -frameLog &lt;file&gt;, which logs a summary of the frame profiler's phase timings once per second, in the same formats,
+	 * -allocProfile, which measures the bytes allocated by each phase of the world update, -jfr &lt;file&gt;, which
+	 * records the game with Java Flight Recorder's profiling settings, and -parallelActors, which prepares bullet updates
+	 * on multiple threads.
 	 */
 	public BuboloApplication(int windowWidth, int windowHeight, String[] commandLineArgs) {
 		this.windowWidth = windowWidth;
@@ -78,6 +100,16 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 		for (int i = 0; i < commandLineArgs.length; i++) {
 			if (commandLineArgs[i].equals("-frameInfo")) {
 				printFrameTime = true;
+			} else if (commandLineArgs[i].equals("-netLog") && i + 1 < commandLineArgs.length) {
+				networkMetricsLogPath = FileSystems.getDefault().getPath(commandLineArgs[++i]);
+			} else if (commandLineArgs[i].equals("-frameLog") && i + 1 < commandLineArgs.length) {
+				frameProfileLogPath = FileSystems.getDefault().getPath(commandLineArgs[++i]);
+			} else if (commandLineArgs[i].equals("-allocProfile")) {
+				profileAllocations = true;
+			} else if (commandLineArgs[i].equals("-parallelActors")) {
+				parallelActorUpdates = true;
+			} else if (commandLineArgs[i].equals("-jfr") && i + 1 < commandLineArgs.length) {
+				jfrRecordingPath = FileSystems.getDefault().getPath(commandLineArgs[++i]);
 			}
 		}
 	}
@@ -87,6 +119,18 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 		super.setWorld(world);
 		world.addEntityLifetimeObserver(graphics);
 		graphics.setWorldSize(world().getWidth(), world().getHeight());
+
+		if (parallelActorUpdates && world instanceof GameWorld gameWorld) {
+			gameWorld.setParallelActorUpdates(true);
+		}
+
+		if (profileAllocations && world instanceof GameWorld gameWorld) {
+			if (AllocationProfiler.isSupported()) {
+				gameWorld.allocationProfiler().setEnabled(true);
+			} else {
+				logger.warning("Allocation profiling was requested, but this JVM can't measure thread allocations.");
+			}
+		}
 	}
 
 	public String mapName() {
@@ -108,6 +152,8 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 		frameInfo = new FrameInfo(graphics);
 		Gdx.input.setInputProcessor(Systems.input());
 		Systems.input().addActionObserver(this);
+		startFrameProfileLog();
+		startJfrRecording();
 
 		setState(State.MainMenu);
 	}
@@ -135,9 +181,21 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 	public void render() {
 		try {
 			final State state = getState();
+			final var profiler = Systems.profiler();
+
+			// Only game frames are profiled.
+			if (state == State.MultiplayerGame || state == State.SinglePlayerGame) {
+				frameInfo.beginFrame();
+				profiler.beginFrame();
+			}
 
+			profiler.begin(Phase.Messenger);
 			Systems.messenger().update();
+			profiler.end(Phase.Messenger);
+
+			profiler.begin(Phase.Input);
 			Systems.input().update();
+			profiler.end(Phase.Input);
 
 			switch (state) {
 				case MultiplayerStarting:
@@ -154,13 +212,17 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 					break;
 				case MultiplayerGame:
 				case SinglePlayerGame: {
-
-					frameInfo.beginFrame();
-
+					profiler.begin(Phase.WorldUpdate);
 					world().update();
+					profiler.end(Phase.WorldUpdate);
+
+					profiler.begin(Phase.NetworkUpdate);
 					Systems.network().update(this);
+					profiler.end(Phase.NetworkUpdate);
+
 					graphics.draw(world(), screen);
 
+					profiler.endFrame();
 					frameInfo.endFrame();
 					if (printFrameTime) {
 						System.out.println(frameInfo.toString());
@@ -195,6 +257,45 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 		}
 	}
 
+	/**
+	 * Starts logging frame profiler summaries, if a frame profile log file was passed on the command line.
+	 */
+	private void startFrameProfileLog() {
+		if (frameProfileLogPath != null) {
+			try {
+				Systems.profiler().startLog(frameProfileLogPath);
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Unable to open frame profile log " + frameProfileLogPath, e);
+			}
+		}
+	}
+
+	/**
+	 * Starts a Java Flight Recorder recording, if a recording file was passed on the command line.
+	 */
+	private void startJfrRecording() {
+		if (jfrRecordingPath != null) {
+			try {
+				AllocationProfiler.startJfrRecording(jfrRecordingPath);
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Unable to start flight recording " + jfrRecordingPath, e);
+			}
+		}
+	}
+
+	/**
+	 * Starts logging network metrics, if a network metrics log file was passed on the command line.
+	 */
+	private void startNetworkMetricsLog() {
+		if (networkMetricsLogPath != null) {
+			try {
+				Systems.network().metrics().startLog(networkMetricsLogPath);
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Unable to open network metrics log " + networkMetricsLogPath, e);
+			}
+		}
+	}
+
 	@Override
 	protected void onStateChanged(State previousState, State newState, @Nullable Object arg) {
 		if (screen != null && !(screen instanceof LobbyScreen)) {
@@ -219,12 +320,14 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 			assert mapPath != null;
 			mapPath = (Path) arg;
 			Systems.initializeNetwork();
+			startNetworkMetricsLog();
 			screen = new MultiplayerSetupScreen(this, PlayerType.Server);
 			break;
 
 		case MultiplayerSetupClient:
 			assert previousState == State.MainMenu;
 			Systems.initializeNetwork();
+			startNetworkMetricsLog();
 			screen = new MultiplayerSetupScreen(this, PlayerType.Client);
 			break;
 
@@ -318,6 +421,11 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 	public void onInputAction(Action action) {
 		if (action == Action.Quit) {
 			Gdx.app.exit();
+		} else if (action == Action.DumpFrameProfile) {
+			System.out.println(Systems.profiler().dump());
+			if (world() instanceof GameWorld gameWorld && gameWorld.allocationProfiler().isEnabled()) {
+				System.out.println(gameWorld.allocationProfiler().report());
+			}
 		}
 	}
 
@@ -329,6 +437,7 @@ public class BuboloApplication extends AbstractGameApplication implements InputA
 	 */
 	@Override
 	public void dispose() {
+		AllocationProfiler.stopJfrRecording();
 		Systems.dispose();
 		graphics.dispose();
 
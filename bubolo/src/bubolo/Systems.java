@@ -8,6 +8,7 @@ import bubolo.input.InputManager;
 import bubolo.net.Network;
 import bubolo.net.NetworkSystem;
 import bubolo.net.NullNetwork;
+import bubolo.util.FrameProfiler;
 
 public class Systems {
 	public enum NetworkType {
@@ -20,6 +21,7 @@ public class Systems {
 	private static Network network = new NullNetwork();
 	private static final Messenger messenger = new Messenger();
 	private static final InputManager input = new InputManager();
+	private static final FrameProfiler profiler = new FrameProfiler();
 
 	/**
 	 * Initializes the sound system.
@@ -74,6 +76,10 @@ public class Systems {
 		return messenger;
 	}
 
+	public static FrameProfiler profiler() {
+		return profiler;
+	}
+
 	public static InputManager input() {
 		return input;
 	}
@@ -84,5 +90,6 @@ public class Systems {
 	public static void dispose() {
 		audio.dispose();
 		network.dispose();
+		profiler.dispose();
 	}
 }
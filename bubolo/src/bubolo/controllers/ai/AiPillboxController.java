@@ -1,12 +1,15 @@
 package bubolo.controllers.ai;
 
-import com.badlogic.gdx.math.Intersector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 
 import bubolo.Systems;
 import bubolo.audio.Sfx;
 import bubolo.controllers.ActorEntityController;
 import bubolo.net.command.ActorEntityCaptured;
 import bubolo.util.Units;
+import bubolo.world.Collidable;
 import bubolo.world.Pillbox;
 import bubolo.world.Pillbox.BuildStatus;
 import bubolo.world.Tank;
@@ -22,6 +25,9 @@ import bubolo.world.World;
 public class AiPillboxController extends ActorEntityController<Pillbox> {
 	private static float delayBeforeFiringAtTarget = 0.35f;
 
+	// Reused by getTarget, to avoid allocating a new list each tick.
+	private final List<Tank> tanksInRange = new ArrayList<>();
+
 	private boolean firingDelayExpired;
 	private boolean targetLost;
 
@@ -85,7 +91,7 @@ public class AiPillboxController extends ActorEntityController<Pillbox> {
 		if (pillbox.hitPoints() <= 0 && !pillbox.isAlliedWithLocalPlayer()) {
 			Tank tank = world.getLocalTank();
 			if (tank.isOwnedByLocalPlayer() && tank.isAlive()) {
-				if (Intersector.overlapConvexPolygons(pillbox.captureBounds(), tank.bounds())) {
+				if (pillbox.captureBounds().overlaps(tank.boundingBox())) {
 					pillbox.onCaptured(world, tank);
 					sendNetUpdate(pillbox);
 				}
@@ -100,40 +106,35 @@ public class AiPillboxController extends ActorEntityController<Pillbox> {
 	 * @return target the closest enemy tank that is within range, or null if no tank is within range.
 	 */
 	private Tank getTarget(World world) {
-		double maxRange = parent().range();
+		float maxRange = parent().range();
 		float x = parent().x();
 		float y = parent().y();
 		var owner = parent().owner();
 
 		Tank target = null;
-		double targetDistance = Integer.MAX_VALUE;
+		float targetDistanceSquared = Float.MAX_VALUE;
 
 		/*
 		 * @NOTE (cdc 2021-05-25): Switched to the index-based for loop, rather than for-each (my preference), b/c the iterator
 		 * for the UnmodifiableList was creating a weirdly large amount of garbage according to the profiler.
 		 */
-		var tanks = world.getTanks();
+		var tanks = world.getTanksWithinDistance(tanksInRange, x, y, maxRange);
 		for (int i = 0; i < tanks.size(); i++) {
 			var tank = tanks.get(i);
 			// Don't attack the owner's tank, or hidden tanks.
 			if (!tank.isHidden() && !tank.isAlliedWith(owner)) {
-				double newTargetDistance = distance(x, y, tank.x(), tank.y());
-				if (newTargetDistance < maxRange && newTargetDistance < targetDistance) {
+				float dx = tank.x() - x;
+				float dy = tank.y() - y;
+				float newTargetDistanceSquared = dx * dx + dy * dy;
+				if (newTargetDistanceSquared < targetDistanceSquared) {
 					target = tank;
-					targetDistance = newTargetDistance;
+					targetDistanceSquared = newTargetDistanceSquared;
 				}
 			}
 		}
 		return target;
 	}
 
-	private static double distance(float pillboxX, float pillboxY, float targetX, float targetY) {
-		double xdistance = Math.abs(pillboxX - targetX);
-		double ydistance = Math.abs(pillboxY - targetY);
-		return Math.sqrt((xdistance * xdistance) + (ydistance * ydistance));
-	}
-
-
 	/**
 	 * returns the angle to the closest target for the pillbox
 	 *
@@ -165,7 +166,8 @@ public class AiPillboxController extends ActorEntityController<Pillbox> {
 	}
 
 	/**
-	 * Returns true if a pillbox will hit an adjacent wall if it fires. Not 100% accurate, but good enough (cdc 2021-06-03).
+	 * Returns true if a pillbox will hit an adjacent wall if it fires. Casts a ray one tile out from the pillbox's center, along
+	 * the cannon's firing lane.
 	 *
 	 * @param pillbox the pillbox that this AI controls.
 	 * @param world reference to the game world.
@@ -174,12 +176,12 @@ public class AiPillboxController extends ActorEntityController<Pillbox> {
 	private static boolean willBulletHitAdjacentWall(Pillbox pillbox, World world) {
 		var oneTileDistX = (float) (Math.cos(pillbox.cannonRotation()) * Units.TileToWorldScale + pillbox.centerX());
 		var oneTileDistY = (float) (Math.sin(pillbox.cannonRotation()) * Units.TileToWorldScale + pillbox.centerY());
-		int oneTileColumn = Units.worldUnitToTile(oneTileDistX);
-		int oneTileRow = Units.worldUnitToTile(oneTileDistY);
 
-		return (world.getTerrainImprovement(oneTileColumn, oneTileRow) instanceof Wall);
+		return world.raycast(pillbox.centerX(), pillbox.centerY(), oneTileDistX, oneTileDistY, isWall) != null;
 	}
 
+	private static final Predicate<Collidable> isWall = collidable -> collidable instanceof Wall;
+
 	private static void sendNetUpdate(Pillbox pillbox) {
 		Systems.network().send(new ActorEntityCaptured(pillbox));
 	}
@@ -1,9 +1,7 @@
 package bubolo.controllers.ai;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Deque;
+import java.util.Arrays;
+import java.util.Random;
 
 import bubolo.Systems;
 import bubolo.controllers.Controller;
@@ -18,6 +16,11 @@ import bubolo.world.World;
 
 /**
  * Slowly adds new forest tiles to the world.
+ * <p>
+ * Each tile's growth score is stored in a byte, and grass tiles that can grow a tree are also kept in buckets indexed by
+ * their growth factor. The buckets are updated as entities are added and removed, so choosing the next growth targets only
+ * visits the highest-scoring buckets, rather than scanning and sorting the entire map.
+ * </p>
  *
  * @author Christopher D. Canfield
  */
@@ -28,10 +31,21 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 
 	private static final byte grassIndicator = 0b0100_0000;
 	private static final byte terrainImprovementIndicator = (byte) 0b1000_0000;
+	private static final int growthFactorMask = 0b0011_1111;
+
+	private static final int maxNextTargets = 25;
 
 	// The forest growth for each tile, in column-row order.
 	private byte[][] terrainGrowthScores;
-	private final Deque<TerrainGrowthScore> nextGrowthTargets = new ArrayDeque<>();
+	// The tiles that can grow a tree, bucketed by growth factor.
+	private GrowthBuckets growthBuckets;
+
+	// The next tiles to grow trees on, as packed tile coordinates, from highest to lowest score. Trees are grown from the
+	// end of the array.
+	private final int[] nextGrowthTargets = new int[maxNextTargets];
+	private int nextGrowthTargetCount;
+
+	private final Random random = new Random();
 
 	private static final int adjacentTreeGrowthFactor = 2;
 	private static final int cornerTreeGrowthFactor = 1;
@@ -39,6 +53,7 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 	@Override
 	public void onObserverAddedToWorld(World world) {
 		terrainGrowthScores = new byte[world.getTileColumns()][world.getTileRows()];
+		growthBuckets = new GrowthBuckets(world.getTileColumns(), world.getTileRows(), growthFactorMask + 1);
 		world.timer().scheduleSeconds(initialScheduleTimeSeconds, this::findHighestScores);
 	}
 
@@ -50,12 +65,14 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 		if (entity instanceof Tree) {
 			addGrowthFactorToNeighbors(column, row, 1);
 		} else if (entity instanceof Grass) {
-			terrainGrowthScores[column][row] &= 0b0011_1111;
-			terrainGrowthScores[column][row] |= grassIndicator;
+			byte score = terrainGrowthScores[column][row];
+			score &= 0b0011_1111;
+			score |= grassIndicator;
+			setScore(column, row, score);
 		}
 
 		if (entity instanceof TerrainImprovement) {
-			terrainGrowthScores[column][row] |= terrainImprovementIndicator;
+			setScore(column, row, (byte) (terrainGrowthScores[column][row] | terrainImprovementIndicator));
 		}
 	}
 
@@ -67,13 +84,15 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 		if (entity instanceof Tree) {
 			addGrowthFactorToNeighbors(column, row, -1);
 		} else if (entity instanceof Grass) {
-			terrainGrowthScores[column][row] &= 0b1011_1111;
-			terrainGrowthScores[column][row] |= 0b1000_0000;
+			byte score = terrainGrowthScores[column][row];
+			score &= 0b1011_1111;
+			score |= 0b1000_0000;
+			setScore(column, row, score);
 		}
 
 		if (entity instanceof TerrainImprovement) {
 			// Remove the terrain improvement indicator from the score.
-			terrainGrowthScores[column][row] &= 0b0111_1111;
+			setScore(column, row, (byte) (terrainGrowthScores[column][row] & 0b0111_1111));
 		}
 	}
 
@@ -110,7 +129,7 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 
 	private void addGrowthFactorIfTileExists(int column, int row, int growthFactor) {
 		if (tileExists(column, row)) {
-			terrainGrowthScores[column][row] += growthFactor;
+			setScore(column, row, (byte) (terrainGrowthScores[column][row] + growthFactor));
 		}
 	}
 
@@ -120,28 +139,53 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 	}
 
 	/**
-	 * Searches the terrain growth scores array for the highest scores, and stores them
-	 * in the next growth targets queue.
+	 * Sets a tile's growth score, and moves the tile to the bucket for its new score.
 	 */
-	private void findHighestScores(World world) {
-		var scores = new ArrayList<TerrainGrowthScore>();
-		for (int column = 0; column < terrainGrowthScores.length; column++) {
-			for (int row = 0; row < terrainGrowthScores[0].length; row++) {
-				byte score = terrainGrowthScores[column][row];
-				if (isGrass(score) && score > grassIndicator) {
-					scores.add(new TerrainGrowthScore(column, row, terrainGrowthScores[column][row]));
-				}
+	private void setScore(int column, int row, byte newScore) {
+		byte oldScore = terrainGrowthScores[column][row];
+		terrainGrowthScores[column][row] = newScore;
+
+		int oldBucket = bucketOf(oldScore);
+		int newBucket = bucketOf(newScore);
+		if (oldBucket != newBucket) {
+			int tile = packTile(column, row);
+			if (oldBucket >= 0) {
+				growthBuckets.remove(tile, oldBucket);
+			}
+			if (newBucket >= 0) {
+				growthBuckets.add(tile, newBucket);
 			}
 		}
+	}
 
-		// Shuffle to reduce location bias resulting from stable sorting.
-		Collections.shuffle(scores);
-		scores.sort(null);
+	/**
+	 * Returns the bucket that a tile with the specified score belongs in, or -1 if the tile can't grow a tree.
+	 */
+	private static int bucketOf(byte score) {
+		return (isGrass(score) && score > grassIndicator) ? score & growthFactorMask : -1;
+	}
+
+	private int packTile(int column, int row) {
+		return column * terrainGrowthScores[0].length + row;
+	}
 
-		int maxNextTargets = (25 < scores.size()) ? 25 : scores.size();
-		for (int targetIndex = scores.size() - 1, targets = 0; targets < maxNextTargets; targetIndex--, targets++) {
-			nextGrowthTargets.add(scores.get(targetIndex));
+	/**
+	 * Takes the highest scoring tiles from the growth buckets, and stores them in the next growth targets array. Tiles with
+	 * equal scores are chosen at random.
+	 */
+	private void findHighestScores(World world) {
+		int targetsFound = 0;
+		for (int bucket = growthBuckets.bucketCount() - 1; bucket > 0 && targetsFound < maxNextTargets; bucket--) {
+			int bucketSize = growthBuckets.size(bucket);
+			int targetsFromBucket = Math.min(bucketSize, maxNextTargets - targetsFound);
+			for (int i = 0; i < targetsFromBucket; i++) {
+				// Partial Fisher-Yates shuffle: move a random remaining tile into position i.
+				growthBuckets.swap(bucket, i, i + random.nextInt(bucketSize - i));
+				nextGrowthTargets[targetsFound] = growthBuckets.get(bucket, i);
+				targetsFound++;
+			}
 		}
+		nextGrowthTargetCount = targetsFound;
 
 		world.timer().scheduleSeconds(secondsPerTreeGrowth, this::growNextTree);
 	}
@@ -151,15 +195,18 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 	}
 
 	private void growNextTree(World world) {
-		var nextLocation = nextGrowthTargets.pollLast();
 		// If the nextGrowthTargets queue is empty, refill it.
-		if (nextLocation == null) {
+		if (nextGrowthTargetCount == 0) {
 			findHighestScores(world);
 		} else {
-			if (world.getTerrainImprovement(nextLocation.column, nextLocation.row) == null) {
+			int nextLocation = nextGrowthTargets[--nextGrowthTargetCount];
+			int rows = terrainGrowthScores[0].length;
+			int column = nextLocation / rows;
+			int row = nextLocation % rows;
+			if (world.getTerrainImprovement(column, row) == null) {
 				var args = new Entity.ConstructionArgs(
-						nextLocation.column * Units.TileToWorldScale,
-						nextLocation.row * Units.TileToWorldScale,
+						column * Units.TileToWorldScale,
+						row * Units.TileToWorldScale,
 						0);
 				world.addEntity(Tree.class, args);
 
@@ -170,20 +217,64 @@ public class ForestGrowthController implements Controller, EntityLifetimeObserve
 		}
 	}
 
-	private static class TerrainGrowthScore implements Comparable<TerrainGrowthScore> {
-		final short column;
-		final short row;
-		final byte growthScore;
+	/**
+	 * Buckets of packed tile coordinates, indexed by growth factor. Each tile's position within its bucket is tracked, so
+	 * tiles can be added and removed in constant time.
+	 */
+	private static class GrowthBuckets {
+		private final int[][] buckets;
+		private final int[] sizes;
+		// The index of each tile within its bucket, or -1 if the tile isn't in a bucket.
+		private final int[] tileIndexes;
+
+		GrowthBuckets(int columns, int rows, int bucketCount) {
+			buckets = new int[bucketCount][8];
+			sizes = new int[bucketCount];
+			tileIndexes = new int[columns * rows];
+			Arrays.fill(tileIndexes, -1);
+		}
+
+		int bucketCount() {
+			return buckets.length;
+		}
+
+		int size(int bucket) {
+			return sizes[bucket];
+		}
+
+		int get(int bucket, int index) {
+			return buckets[bucket][index];
+		}
+
+		void add(int tile, int bucket) {
+			assert tileIndexes[tile] == -1;
+			if (sizes[bucket] == buckets[bucket].length) {
+				buckets[bucket] = Arrays.copyOf(buckets[bucket], sizes[bucket] * 2);
+			}
+			buckets[bucket][sizes[bucket]] = tile;
+			tileIndexes[tile] = sizes[bucket];
+			sizes[bucket]++;
+		}
+
+		void remove(int tile, int bucket) {
+			int index = tileIndexes[tile];
+			assert index >= 0 && buckets[bucket][index] == tile;
 
-		TerrainGrowthScore(int column, int row, byte growthScore) {
-			this.column = (short) column;
-			this.row = (short) row;
-			this.growthScore = growthScore;
+			// Move the bucket's last tile into the removed tile's position.
+			int lastIndex = --sizes[bucket];
+			int lastTile = buckets[bucket][lastIndex];
+			buckets[bucket][index] = lastTile;
+			tileIndexes[lastTile] = index;
+			tileIndexes[tile] = -1;
 		}
 
-		@Override
-		public int compareTo(TerrainGrowthScore o) {
-			return Byte.compare(growthScore, o.growthScore);
+		void swap(int bucket, int index1, int index2) {
+			int tile1 = buckets[bucket][index1];
+			int tile2 = buckets[bucket][index2];
+			buckets[bucket][index1] = tile2;
+			buckets[bucket][index2] = tile1;
+			tileIndexes[tile2] = index1;
+			tileIndexes[tile1] = index2;
 		}
 	}
 }
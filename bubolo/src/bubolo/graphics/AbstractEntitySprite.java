@@ -16,8 +16,8 @@ import bubolo.world.Entity;
  */
 abstract class AbstractEntitySprite<T extends Entity> extends Sprite
 {
-	// Reference to the entity that this sprite represents.
-	private final T entity;
+	// Reference to the entity that this sprite represents. Not final, because pooled sprites are reused for new entities.
+	private T entity;
 
 	/**
 	 * Constructor for the base Sprite class.
@@ -43,6 +43,17 @@ abstract class AbstractEntitySprite<T extends Entity> extends Sprite
 		return entity;
 	}
 
+	/**
+	 * Sets the entity that this sprite represents. Used when a pooled sprite is reused.
+	 *
+	 * @param entity
+	 *            reference to the Entity that this sprite represents.
+	 */
+	void setEntity(T entity)
+	{
+		this.entity = entity;
+	}
+
 	/**
 	 * Returns true if the underlying entity is destroyed, or false otherwise.
 	 *
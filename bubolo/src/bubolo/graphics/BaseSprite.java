@@ -1,8 +1,8 @@
 package bubolo.graphics;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
 
 import bubolo.world.Base;
 import bubolo.world.Tank;
@@ -36,9 +36,9 @@ class BaseSprite extends AbstractEntitySprite<Base> implements UiDrawable {
 	// The sprite's frames, arranged in column-row order.
 	private final TextureRegion[][] frames;
 
-	private final Texture bulletTexture;
+	private final TextureRegion bulletTexture;
 	private final TextureRegion mineTexture;
-	private final Texture repairPointsIconTexture;
+	private final TextureRegion repairPointsIconTexture;
 
 	/** The file name of the texture. */
 	private static final String TEXTURE_FILE = "repair_bay.png";
@@ -58,9 +58,9 @@ class BaseSprite extends AbstractEntitySprite<Base> implements UiDrawable {
 		super(DrawLayer.TerrainImprovements, base);
 
 		frames = Graphics.getTextureRegion2d(TEXTURE_FILE, 32, 32, 1, 1);
-		bulletTexture = Graphics.getTexture(bulletTextureFile);
+		bulletTexture = Graphics.getTextureRegion(bulletTextureFile);
 		mineTexture = Graphics.getTextureRegion2d(mineTextureFile, 21, 20)[1][1];
-		repairPointsIconTexture = Graphics.getTexture(repairPointsIconFile);
+		repairPointsIconTexture = Graphics.getTextureRegion(repairPointsIconFile);
 	}
 
 	@Override
@@ -151,36 +151,50 @@ class BaseSprite extends AbstractEntitySprite<Base> implements UiDrawable {
 
 			if (repairBay.isFriendlyTankOnThisRepairBay()) {
 				float pctRepairPoints = repairBay.repairPoints() / repairBay.maxRepairPoints();
-				var repairBarPos = StatusBarRenderer.drawVerticalStatusBar(repairBay, pctRepairPoints, statusBarColor, graphics.shapeRenderer(), graphics.camera());
+				StatusBarRenderer.drawVerticalStatusBar(repairBay, pctRepairPoints, statusBarColor, graphics.shapeRenderer(), graphics.camera());
 
 				float pctAmmo = repairBay.ammo() / repairBay.maxAmmo();
-				var ammoBarPos = StatusBarRenderer.drawVerticalStatusBar(repairBay, pctAmmo, statusBarColor, graphics.shapeRenderer(), graphics.camera(), 10);
+				StatusBarRenderer.drawVerticalStatusBar(repairBay, pctAmmo, statusBarColor, graphics.shapeRenderer(), graphics.camera(), 10);
 
 				float pctMines = repairBay.mines() / repairBay.maxMines();
-				var mineBarPos = StatusBarRenderer.drawVerticalStatusBar(repairBay, pctMines, statusBarColor, graphics.shapeRenderer(), graphics.camera(), 20);
+				StatusBarRenderer.drawVerticalStatusBar(repairBay, pctMines, statusBarColor, graphics.shapeRenderer(), graphics.camera(), 20);
+			}
+		}
+	}
+
+	// Reused when calculating the positions of the status bar icons.
+	private final Vector2 barPos = new Vector2();
 
+	@Override
+	public void drawUiTextures(Graphics graphics) {
+		var repairBay = getEntity();
+		if (repairBay.isAlliedWithLocalPlayer()) {
+			if (repairBay.isFriendlyTankOnThisRepairBay()) {
 				var spriteBatch = graphics.batch();
-				spriteBatch.setColor(Color.WHITE);
-				spriteBatch.begin();
+				var camera = graphics.camera();
 
-				float repairPointsIconWidth = repairPointsIconTexture.getWidth() * 0.35f;
-				float repairPointsIconHeight = repairPointsIconTexture.getHeight() * 0.35f;
+				var repairBarPos = StatusBarRenderer.verticalStatusBarPosition(repairBay, camera, 0, barPos);
+				float repairPointsIconWidth = repairPointsIconTexture.getRegionWidth() * 0.35f;
+				float repairPointsIconHeight = repairPointsIconTexture.getRegionHeight() * 0.35f;
 				// Draw the repair points icon texture.
 				spriteBatch.draw(repairPointsIconTexture, repairBarPos.x - 2, repairBarPos.y - 9, repairPointsIconWidth, repairPointsIconHeight);
 
-				float bulletWidth = bulletTexture.getWidth() * 1.1f;
-				float bulletHeight = bulletTexture.getHeight() * 1.1f;
+				var ammoBarPos = StatusBarRenderer.verticalStatusBarPosition(repairBay, camera, 10, barPos);
+
+				float bulletWidth = bulletTexture.getRegionWidth() * 1.1f;
+				float bulletHeight = bulletTexture.getRegionHeight() * 1.1f;
 				// Draw the bullet texture.
 				spriteBatch.draw(bulletTexture, ammoBarPos.x + 1, ammoBarPos.y - 8, bulletWidth, bulletHeight);
 
+				var mineBarPos = StatusBarRenderer.verticalStatusBarPosition(repairBay, camera, 20, barPos);
+
 				float mineWidth = mineTexture.getRegionWidth() * 0.7f;
 				// Mine texture divided by number of frames per column.
 				float mineHeight = mineTexture.getRegionHeight() * 0.7f;
 				// Draw the mine texture.
 				spriteBatch.setColor(TeamColor.Neutral.color);
 				spriteBatch.draw(mineTexture, mineBarPos.x - 3, mineBarPos.y - 10, mineWidth, mineHeight);
-
-				spriteBatch.end();
+				spriteBatch.setColor(Color.WHITE);
 			}
 		}
 	}
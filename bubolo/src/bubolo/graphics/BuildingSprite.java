@@ -42,13 +42,12 @@ public class BuildingSprite extends AbstractEntitySprite<Building> {
 
 	@Override
 	void draw(Graphics graphics) {
-		if (isDisposed()) {
-			SpriteSystem spriteSystem = graphics.sprites();
-			spriteSystem.addSprite(new BulletExplosionSprite(Math.round(getEntity().x()), Math.round(getEntity().y()), false));
-			spriteSystem.removeSprite(this);
-		} else {
-			drawTexture(graphics, texture[appearanceIndex]);
-		}
+		drawTexture(graphics, texture[appearanceIndex]);
+	}
+
+	@Override
+	void onRemovedFromWorld(SpriteSystem spriteSystem) {
+		spriteSystem.addBulletExplosion(Math.round(getEntity().x()), Math.round(getEntity().y()), false);
 	}
 
 	@Override
@@ -7,27 +7,20 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
  *
  * @author BU673 - Clone Industries
  */
-class BulletExplosionSprite extends Sprite {
-	private final TextureRegion[] frames;
+class BulletExplosionSprite extends Sprite implements ExpiringSprite {
+	private TextureRegion[] frames;
 
 	// The number of milliseconds per frame.
 	private static final long millisPerFrame = 50;
 
-	// The amount of time remaining for the current frame.
-	private long frameTimeRemaining;
+	// The time that the explosion started.
+	private long startTime;
 
-	// The time of the last frame.
-	private long lastFrameTime;
+	private int x;
+	private int y;
 
-	private int frameIndex;
-
-	private boolean disposed;
-
-	private final int x;
-	private final int y;
-
-	private final int width;
-	private final int height;
+	private int width;
+	private int height;
 
 	private static final int hitObjectWidthAndHeight = 32;
 	private static final int maxRangeWidthAndHeight = 16;
@@ -47,7 +40,18 @@ class BulletExplosionSprite extends Sprite {
 	 */
 	BulletExplosionSprite(int x, int y, boolean bulletHitObject) {
 		super(DrawLayer.Effects);
+		reset(x, y, bulletHitObject);
+	}
 
+	/**
+	 * Reinitializes the explosion, so that a pooled BulletExplosionSprite can be reused.
+	 *
+	 * @param x the x position of the explosion.
+	 * @param y the y position of the explosion.
+	 * @param bulletHitObject true if the bullet hit an object, or false if the bullet reached its maximum range.
+	 * @return reference to this sprite.
+	 */
+	BulletExplosionSprite reset(int x, int y, boolean bulletHitObject) {
 		if (bulletHitObject) {
 			frames = Graphics.getTextureRegion1d(hitObjectTextureFileName, 3, hitObjectWidthAndHeight, 0);
 			width = height = hitObjectWidthAndHeight;
@@ -56,11 +60,11 @@ class BulletExplosionSprite extends Sprite {
 			width = height = maxRangeWidthAndHeight;
 		}
 
-		frameTimeRemaining = millisPerFrame;
-		lastFrameTime = System.currentTimeMillis();
+		startTime = System.currentTimeMillis();
 
 		this.x = x;
 		this.y = y;
+		return this;
 	}
 
 	@Override
@@ -70,27 +74,18 @@ class BulletExplosionSprite extends Sprite {
 
 	@Override
 	public void draw(Graphics graphics) {
-		drawTexture(graphics, frames[frameIndex]);
-		animate();
+		int frameIndex = (int) ((System.currentTimeMillis() - startTime) / millisPerFrame);
+		drawTexture(graphics, frames[Math.min(frameIndex, frames.length - 1)]);
 	}
 
-	private void animate() {
-		frameTimeRemaining -= (System.currentTimeMillis() - lastFrameTime);
-		lastFrameTime = System.currentTimeMillis();
-		if (frameTimeRemaining < 0) {
-			frameTimeRemaining = millisPerFrame;
-
-			if (frameIndex < frames.length - 1) {
-				++frameIndex;
-			} else {
-				disposed = true;
-			}
-		}
+	@Override
+	public long expiryTime() {
+		return startTime + frames.length * millisPerFrame;
 	}
 
 	@Override
 	public boolean isDisposed() {
-		return disposed;
+		return System.currentTimeMillis() >= expiryTime();
 	}
 
 	@Override
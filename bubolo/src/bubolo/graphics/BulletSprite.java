@@ -1,6 +1,6 @@
 package bubolo.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import bubolo.world.Bullet;
 
@@ -11,7 +11,7 @@ import bubolo.world.Bullet;
  * @author Christopher D. Canfield
  */
 class BulletSprite extends AbstractEntitySprite<Bullet> implements Bullet.BulletHitObjectObserver {
-	private final Texture image;
+	private final TextureRegion image;
 	private boolean bulletHitObject;
 
 	/** The file name of the texture. */
@@ -27,10 +27,23 @@ class BulletSprite extends AbstractEntitySprite<Bullet> implements Bullet.Bullet
 	BulletSprite(Bullet bullet) {
 		super(DrawLayer.Effects, bullet);
 
-		image = Graphics.getTexture(TEXTURE_FILE);
+		image = Graphics.getTextureRegion(TEXTURE_FILE);
 		bullet.setBulletHitObjectObserver(this);
 	}
 
+	/**
+	 * Reinitializes a pooled BulletSprite to represent a new bullet.
+	 *
+	 * @param bullet Reference to the Bullet that this BulletSprite represents.
+	 * @return reference to this sprite.
+	 */
+	BulletSprite reset(Bullet bullet) {
+		setEntity(bullet);
+		bulletHitObject = false;
+		bullet.setBulletHitObjectObserver(this);
+		return this;
+	}
+
 	@Override
 	protected int getTextureId() {
 		return textureFileHashCode;
@@ -38,13 +51,12 @@ class BulletSprite extends AbstractEntitySprite<Bullet> implements Bullet.Bullet
 
 	@Override
 	public void draw(Graphics graphics) {
-		if (isDisposed()) {
-			SpriteSystem spriteSystem = graphics.sprites();
-			spriteSystem.addSprite(new BulletExplosionSprite(Math.round(getEntity().x()), Math.round(getEntity().y()), bulletHitObject));
-			spriteSystem.removeSprite(this);
-		} else {
-			drawTexture(graphics, image);
-		}
+		drawTexture(graphics, image);
+	}
+
+	@Override
+	void onRemovedFromWorld(SpriteSystem spriteSystem) {
+		spriteSystem.addBulletExplosion(Math.round(getEntity().x()), Math.round(getEntity().y()), bulletHitObject);
 	}
 
 	@Override
@@ -35,6 +35,11 @@ class DeepWaterSprite extends AbstractEntitySprite<DeepWater> {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		int currentState = getEntity().getTilingState();
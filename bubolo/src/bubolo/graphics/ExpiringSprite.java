@@ -0,0 +1,17 @@
+package bubolo.graphics;
+
+/**
+ * Sprites that aren't attached to an entity, such as explosions, and that are removed at a fixed time. Expiring sprites are
+ * kept in the sprite system's expiry queue, so that they are removed even if they are never drawn.
+ *
+ * @author Christopher D. Canfield
+ */
+interface ExpiringSprite {
+	/**
+	 * Returns the time that the sprite should be removed, in milliseconds, as returned by System.currentTimeMillis(). Must
+	 * not change while the sprite is in the sprite system.
+	 *
+	 * @return the time that the sprite should be removed.
+	 */
+	long expiryTime();
+}
@@ -2,27 +2,30 @@ package bubolo.graphics;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics.DisplayMode;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.math.Matrix4;
 
 import bubolo.Config;
+import bubolo.Systems;
 import bubolo.ui.Screen;
+import bubolo.util.FrameProfiler.Phase;
 import bubolo.util.Nullable;
 import bubolo.util.Timer;
 import bubolo.world.Entity;
@@ -38,6 +41,9 @@ import bubolo.world.World;
 public class Graphics implements EntityLifetimeObserver {
 	// Stores the textures, so that only one copy is stored in memory.
 	private static Map<String, Texture> textures = new HashMap<>();
+	// The region of the texture atlas that holds each texture file.
+	private static Map<String, TextureRegion> atlasRegions = new HashMap<>();
+	private static List<Texture> atlasPages = new ArrayList<>();
 	private static Map<String, TextureRegion[]> textureRegions1d = new HashMap<>();
 	private static Map<String, TextureRegion[][]> textureRegions2d = new HashMap<>();
 
@@ -50,21 +56,31 @@ public class Graphics implements EntityLifetimeObserver {
 
 	private SpriteSystem spriteSystem;
 
+	private final ParticleEffects particleEffects = new ParticleEffects();
+
 	// Controls the camera's position.
 	private final TankCameraController cameraController;
 
-	// The comparator used to sort sprites.
-	private static final Comparator<Sprite> sortByLayerThenTextureThenName = Comparator.comparing(Sprite::getDrawLayer)
-			.thenComparingInt(s -> s.getTextureId())
-			.thenComparingInt(s -> s.getClass().getSimpleName().hashCode());
-
 	private final List<Sprite> spritesInView = new ArrayList<Sprite>();
+	private final List<Sprite> spritesInVisibleChunks = new ArrayList<Sprite>();
+	private final List<UiDrawable> uiDrawablesInView = new ArrayList<UiDrawable>();
+
+	private static final DrawLayer[] drawLayers = DrawLayer.values();
+
+	// Offsets the world coordinates of the terrain cache's vertices by the camera position.
+	private final Matrix4 terrainCacheTransform = new Matrix4();
+	private final Matrix4 identityTransform = new Matrix4();
+
+	// The terrain cache vertices that sprites are drawn to while a chunk's terrain cache is being rebuilt, or null if sprites
+	// should be drawn to the batch.
+	private @Nullable TerrainChunkCache.ChunkVertices terrainCacheTarget;
 
 	private final Timer<Graphics> timer = new Timer<Graphics>(10);
 
 	/**
 	 * Returns a texture from a file name. Ensures that the same texture isn't stored multiple times. Will load the file
-	 * if it has not yet been loaded.
+	 * if it has not yet been loaded. The texture is separate from the texture atlas, so sprites should use
+	 * {@link #getTextureRegion(String)} instead.
 	 *
 	 * @param fileName the name of the texture file. Do not include the full path.
 	 * @return the requested texture.
@@ -79,6 +95,22 @@ public class Graphics implements EntityLifetimeObserver {
 		return texture;
 	}
 
+	/**
+	 * Returns the region of the texture atlas that holds a texture file. Drawing regions from the same atlas page doesn't
+	 * flush the sprite batch. Files that weren't packed into the atlas are loaded as separate textures.
+	 *
+	 * @param fileName the name of the texture file. Do not include the full path.
+	 * @return the region that holds the whole texture file.
+	 */
+	public static TextureRegion getTextureRegion(String fileName) {
+		TextureRegion region = atlasRegions.get(fileName);
+		if (region == null) {
+			region = new TextureRegion(getTexture(fileName));
+			atlasRegions.put(fileName, region);
+		}
+		return region;
+	}
+
 	/**
 	 * Returns a texture region from a path that points to a texture. Ensures that the same texture region isn't stored
 	 * multiple times. Will create the region if it has not yet been created.
@@ -90,7 +122,7 @@ public class Graphics implements EntityLifetimeObserver {
 	public static TextureRegion[] getTextureRegion1d(String path, Class<? extends Sprite> spriteType) {
 		TextureRegion[] textureRegion = textureRegions1d.get(path);
 		if (textureRegion == null) {
-			Texture texture = getTexture(path);
+			TextureRegion texture = getTextureRegion(path);
 			textureRegion = TextureUtil.adaptiveSplit(texture, spriteType);
 			textureRegions1d.put(path, textureRegion);
 		}
@@ -110,7 +142,7 @@ public class Graphics implements EntityLifetimeObserver {
 	public static TextureRegion[] getTextureRegion1d(String path, int frames, int frameWidth, int paddingWidth) {
 		TextureRegion[] textureRegion = textureRegions1d.get(path);
 		if (textureRegion == null) {
-			Texture texture = getTexture(path);
+			TextureRegion texture = getTextureRegion(path);
 			textureRegion = TextureUtil.splitFramesInRow(texture, frames, frameWidth, paddingWidth);
 			textureRegions1d.put(path, textureRegion);
 		}
@@ -146,7 +178,7 @@ public class Graphics implements EntityLifetimeObserver {
 	public static TextureRegion[][] getTextureRegion2d(String path, int frameWidth, int frameHeight, int framePaddingWidth, int framePaddingHeight) {
 		TextureRegion[][] textureRegion = textureRegions2d.get(path);
 		if (textureRegion == null) {
-			Texture texture = getTexture(path);
+			TextureRegion texture = getTextureRegion(path);
 			textureRegion = TextureUtil.splitFrames(texture, frameWidth, frameHeight, framePaddingWidth, framePaddingHeight);
 			textureRegions2d.put(path, textureRegion);
 		}
@@ -161,6 +193,16 @@ public class Graphics implements EntityLifetimeObserver {
 		for (Texture texture : textures.values()) {
 			texture.dispose();
 		}
+		for (Texture page : atlasPages) {
+			page.dispose();
+		}
+		textures.clear();
+		atlasPages.clear();
+		atlasRegions.clear();
+		textureRegions1d.clear();
+		textureRegions2d.clear();
+
+		particleEffects.dispose();
 	}
 
 	/**
@@ -191,6 +233,7 @@ public class Graphics implements EntityLifetimeObserver {
 		spriteSystem = new SpriteSystem();
 
 		loadAllTextures();
+		particleEffects.loadAll();
 	}
 
 	/**
@@ -234,10 +277,25 @@ public class Graphics implements EntityLifetimeObserver {
 		return spriteSystem;
 	}
 
+	ParticleEffects particleEffects() {
+		return particleEffects;
+	}
+
 	Timer<Graphics> timer() {
 		return timer;
 	}
 
+	/**
+	 * Returns the terrain cache vertices that sprites should draw to, or null if sprites should draw to the batch.
+	 */
+	@Nullable TerrainChunkCache.ChunkVertices terrainCacheTarget() {
+		return terrainCacheTarget;
+	}
+
+	void setTerrainCacheTarget(@Nullable TerrainChunkCache.ChunkVertices target) {
+		this.terrainCacheTarget = target;
+	}
+
 	public int getBatchedRenderCalls() {
 		return nonScalingBatch.totalRenderCalls + batch.totalRenderCalls;
 	}
@@ -251,14 +309,19 @@ public class Graphics implements EntityLifetimeObserver {
 		spriteSystem.createSprite(this, entity);
 	}
 
+	@Override
+	public void onEntitiesAdded(List<Entity> entities) {
+		spriteSystem.createSprites(this, entities);
+	}
+
 	@Override
 	public void onEntityRemoved(Entity entity) {
-		// Not used.
+		spriteSystem.removeSprite(entity);
 	}
 
 	@Override
 	public void onObserverAddedToWorld(World world) {
-		// Not used.
+		spriteSystem.setWorldSize(world.getWidth(), world.getHeight());
 	}
 
 	private boolean isFirstResize = true;
@@ -367,13 +430,19 @@ public class Graphics implements EntityLifetimeObserver {
 		timer.update(this);
 
 		drawWorld(world);
-		drawScreen(screen);
+		drawUi(world, screen);
 	}
 
-	private void drawScreen(@Nullable Screen screen) {
+	private void drawUi(@Nullable World world, @Nullable Screen screen) {
+		var profiler = Systems.profiler();
+		profiler.begin(Phase.DrawUi);
+		if (world != null) {
+			drawTankUiElements(spritesInView);
+		}
 		if (screen != null) {
 			screen.draw(this);
 		}
+		profiler.end(Phase.DrawUi);
 	}
 
 	/**
@@ -386,25 +455,32 @@ public class Graphics implements EntityLifetimeObserver {
 			return;
 		}
 
-		// Get list of sprites, and clip sprites that are outside of the camera's view.
+		var profiler = Systems.profiler();
+		profiler.begin(Phase.Cull);
+
+		// Remove effect sprites, such as explosions, whose animations have finished.
+		spriteSystem.removeExpiredSprites();
+
+		// Get the sprites in the chunks that overlap the camera, in draw order, and clip sprites that are outside of the
+		// camera's view.
+		var spriteGrid = spriteSystem.getSpriteGrid();
+		spriteGrid.update();
+		spriteGrid.getSpritesInChunksOverlapping(camera.position.x, camera.position.y, camera.viewportWidth,
+				camera.viewportHeight, spritesInVisibleChunks);
 		spritesInView.clear();
-		for (Sprite sprite : spriteSystem.getSprites()) {
+		for (int i = 0; i < spritesInVisibleChunks.size(); i++) {
+			Sprite sprite = spritesInVisibleChunks.get(i);
 			if (withinCameraView(camera, sprite)) {
 				spritesInView.add(sprite);
 			}
 		}
 
+		profiler.end(Phase.Cull);
+
 		// Render sprites.
+		profiler.begin(Phase.DrawWorld);
 		drawSpritesByLayer(spritesInView);
-		drawTankUiElements(spritesInView);
-
-		// Remove destroyed sprites from the list.
-		List<Sprite> sprites = spriteSystem.getSprites();
-		for (int i = 0; i < sprites.size(); ++i) {
-			if (sprites.get(i).isDisposed()) {
-				sprites.remove(i);
-			}
-		}
+		profiler.end(Phase.DrawWorld);
 	}
 
 	/**
@@ -415,19 +491,28 @@ public class Graphics implements EntityLifetimeObserver {
 	}
 
 	/**
-	 * Draw all sprites, ordered by draw layer.
+	 * Draw all sprites, ordered by draw layer. The cached terrain of each layer is drawn before the layer's other sprites.
 	 *
-	 * @param sprites the list of sprites that will be drawn.
+	 * @param sprites the list of sprites that will be drawn. The sprites must already be ordered by draw layer.
 	 */
 	private void drawSpritesByLayer(List<Sprite> sprites) {
-		// Sort list by draw layer, to ensure that sprites are drawn in the correct order,
-		// then by sprite type, to facilitate batching.
-		Collections.sort(spritesInView, sortByLayerThenTextureThenName);
+		var spriteGrid = spriteSystem.getSpriteGrid();
+		spriteGrid.rebuildTerrainCache(this, camera.position.x, camera.position.y, camera.viewportWidth, camera.viewportHeight);
+		terrainCacheTransform.setToTranslation(-camera.position.x, -camera.position.y, 0);
 
 		Gdx.gl.glEnable(GL20.GL_BLEND);
 		batch.begin();
-		for (Sprite sprite : sprites) {
-			sprite.draw(this);
+		int spriteIndex = 0;
+		for (DrawLayer layer : drawLayers) {
+			if (TerrainChunkCache.isCachedLayer(layer)) {
+				batch.setTransformMatrix(terrainCacheTransform);
+				spriteGrid.drawTerrainCache(batch, layer);
+				batch.setTransformMatrix(identityTransform);
+			}
+
+			while (spriteIndex < sprites.size() && sprites.get(spriteIndex).gridDrawLayer == layer) {
+				sprites.get(spriteIndex++).draw(this);
+			}
 		}
 		batch.end();
 	}
@@ -436,26 +521,30 @@ public class Graphics implements EntityLifetimeObserver {
 	 * This is a separate method to ensure that the tank names are always drawn above all tanks and other objects.
 	 */
 	private void drawTankUiElements(List<Sprite> spritesInView) {
-		var uiDrawablesInView = spritesInView.stream().filter(s -> s instanceof UiDrawable)
-				.collect(Collectors.toList());
-
-		// Render the player names.
-		batch.begin();
-		for (Sprite sprite : uiDrawablesInView) {
-			if (sprite instanceof TankSprite tankSprite) {
-				tankSprite.drawTankPlayerName(this);
+		uiDrawablesInView.clear();
+		for (int i = 0; i < spritesInView.size(); i++) {
+			if (spritesInView.get(i) instanceof UiDrawable uiDrawable) {
+				uiDrawablesInView.add(uiDrawable);
 			}
 		}
-		batch.end();
+		if (uiDrawablesInView.isEmpty()) {
+			return;
+		}
 
-		// Render UI elements.
-		for (Sprite sprite : uiDrawablesInView) {
-			assert sprite instanceof UiDrawable;
+		// Render the status bars of every UI drawable in a single shape renderer pass.
+		shapeRenderer.begin(ShapeType.Filled);
+		for (int i = 0; i < uiDrawablesInView.size(); i++) {
+			uiDrawablesInView.get(i).drawUiElements(this);
+		}
+		shapeRenderer.end();
 
-			if (sprite instanceof UiDrawable uiDrawable) {
-				uiDrawable.drawUiElements(this);
-			}
+		// Render the player names and status bar icons above the status bars, in a single batch pass.
+		batch.setColor(Color.WHITE);
+		batch.begin();
+		for (int i = 0; i < uiDrawablesInView.size(); i++) {
+			uiDrawablesInView.get(i).drawUiTextures(this);
 		}
+		batch.end();
 	}
 
 	/**
@@ -485,16 +574,36 @@ public class Graphics implements EntityLifetimeObserver {
 	}
 
 	/**
-	 * Loads all textures. This isn't strictly necessary, but we encountered slight hiccups when a sprite type was
-	 * loaded for the first time. This was most noticeable when the first bullet is fired. Textures are assumed to be
-	 * pngs.
+	 * Loads all textures, and packs them into the texture atlas. Loading the textures up front isn't strictly necessary,
+	 * but we encountered slight hiccups when a sprite type was loaded for the first time. This was most noticeable when the
+	 * first bullet is fired. Textures are assumed to be pngs.
 	 */
 	private static void loadAllTextures() {
+		if (!atlasPages.isEmpty()) {
+			return;
+		}
+
+		Map<String, Pixmap> images = new HashMap<>();
 		File textureDirectory = Config.TextureFilePath.toFile();
 		for (File file : textureDirectory.listFiles()) {
 			if (file.getName().endsWith("png")) {
-				getTexture(file.getName());
+				images.put(file.getName(), new Pixmap(new FileHandle(file)));
 			}
 		}
+
+		var atlas = TextureAtlasPacker.pack(images, TextureAtlasPacker.DefaultPageSize);
+		for (Pixmap image : images.values()) {
+			image.dispose();
+		}
+
+		for (Pixmap page : atlas.pages()) {
+			atlasPages.add(new Texture(page));
+			page.dispose();
+		}
+		for (var entry : atlas.regions().entrySet()) {
+			var region = entry.getValue();
+			atlasRegions.put(entry.getKey(),
+					new TextureRegion(atlasPages.get(region.page()), region.x(), region.y(), region.width(), region.height()));
+		}
 	}
 }
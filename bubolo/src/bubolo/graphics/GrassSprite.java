@@ -1,6 +1,6 @@
 package bubolo.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 
 import bubolo.world.Grass;
@@ -12,7 +12,7 @@ import bubolo.world.Grass;
  * @author Christopher D. Canfield.
  */
 class GrassSprite extends AbstractStaticEntitySprite {
-	private final Texture texture;
+	private final TextureRegion texture;
 
 	/** The file name of the texture. */
 	private static final String textureFileName = "grass.png";
@@ -27,7 +27,7 @@ class GrassSprite extends AbstractStaticEntitySprite {
 	GrassSprite(Grass grass) {
 		super(DrawLayer.TerrainLevel1, grass, (float) (MathUtils.random.nextInt(4) * (Math.PI / 2)) );
 
-		texture = Graphics.getTexture(textureFileName);
+		texture = Graphics.getTextureRegion(textureFileName);
 	}
 
 	@Override
@@ -35,6 +35,11 @@ class GrassSprite extends AbstractStaticEntitySprite {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		drawTexture(graphics, texture);
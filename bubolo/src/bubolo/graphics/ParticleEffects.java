@@ -0,0 +1,87 @@
+package bubolo.graphics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+
+import bubolo.util.GameLogicException;
+
+/**
+ * Parses each particle effect file once, and hands out pooled copies of it. Parsing an effect file reads it and its images
+ * from disk, so all effects are loaded when the graphics system is created rather than when a sprite first needs them.
+ * Pooled effects share their template's textures, and should be returned by calling {@link PooledEffect#free()} when the
+ * sprite that uses them is removed.
+ *
+ * @author Christopher D. Canfield
+ */
+class ParticleEffects {
+	/** The directory that contains the particle effect files and their images. */
+	static final String ParticleEffectsPath = "res/particles";
+
+	static final String SmokeLowDamage = "Particle Park Smoke Low Damage.p";
+	static final String SmokeMediumDamage = "Particle Park Smoke Medium Damage.p";
+	static final String SmokeHighDamage = "Particle Park Smoke High Damage.p";
+
+	private static final String[] effectFiles = { SmokeLowDamage, SmokeMediumDamage, SmokeHighDamage };
+
+	// The number of copies of each effect that are created when it is loaded. Each tank uses one copy of each smoke effect.
+	private static final int initialPoolSize = 4;
+	private static final int maxPoolSize = 64;
+
+	private final Map<String, ParticleEffect> templates = new HashMap<>();
+	private final Map<String, ParticleEffectPool> pools = new HashMap<>();
+
+	/**
+	 * Loads all particle effects. Requires an OpenGL context, because the effects' images are loaded as textures.
+	 */
+	void loadAll() {
+		for (String effectFile : effectFiles) {
+			if (!pools.containsKey(effectFile)) {
+				var template = new ParticleEffect();
+				template.load(Gdx.files.internal(ParticleEffectsPath + "/" + effectFile), Gdx.files.internal(ParticleEffectsPath));
+				templates.put(effectFile, template);
+
+				var pool = new ParticleEffectPool(template, initialPoolSize, maxPoolSize);
+				pool.fill(initialPoolSize);
+				pools.put(effectFile, pool);
+			}
+		}
+	}
+
+	/**
+	 * Returns a started copy of a particle effect. The copy should be returned to its pool by calling free() on it when it
+	 * is no longer needed.
+	 *
+	 * @param effectFile the name of the particle effect file. Do not include the full path.
+	 * @return a started copy of the particle effect.
+	 * @throws GameLogicException if the effect file wasn't loaded.
+	 */
+	PooledEffect obtain(String effectFile) {
+		var pool = pools.get(effectFile);
+		if (pool == null) {
+			throw new GameLogicException("Particle effect " + effectFile + " was not loaded.");
+		}
+		var effect = pool.obtain();
+		effect.start();
+		return effect;
+	}
+
+	/**
+	 * Disposes the effect templates, and the textures that they own.
+	 */
+	void dispose() {
+		for (var pool : pools.values()) {
+			pool.clear();
+		}
+		pools.clear();
+
+		for (var template : templates.values()) {
+			template.dispose();
+		}
+		templates.clear();
+	}
+}
@@ -33,6 +33,11 @@ class RoadSprite extends AbstractEntitySprite<Road> {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		drawTexture(graphics, frames[this.getEntity().getTilingState()]);
@@ -1,6 +1,6 @@
 package bubolo.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 
 import bubolo.world.Rubble;
@@ -12,7 +12,7 @@ import bubolo.world.Rubble;
  * @author Christopher D. Canfield
  */
 class RubbleSprite extends AbstractStaticEntitySprite {
-	private Texture texture;
+	private TextureRegion texture;
 
 	/** The file name of the texture. */
 	private static final String textureFileName = "rubble.png";
@@ -27,7 +27,7 @@ class RubbleSprite extends AbstractStaticEntitySprite {
 	RubbleSprite(Rubble rubble) {
 		super(DrawLayer.TerrainLevel1, rubble, (float) (MathUtils.random.nextInt(4) * (Math.PI / 2)) );
 
-		texture = Graphics.getTexture(textureFileName);
+		texture = Graphics.getTextureRegion(textureFileName);
 	}
 
 	@Override
@@ -35,6 +35,11 @@ class RubbleSprite extends AbstractStaticEntitySprite {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		drawTexture(graphics, texture);
@@ -1,6 +1,6 @@
 package bubolo.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import bubolo.world.Spawn;
 
@@ -10,7 +10,7 @@ import bubolo.world.Spawn;
  * @author BU673 - Clone Industries
  */
 class SpawnSprite extends AbstractEntitySprite<Spawn> {
-	private final Texture image;
+	private final TextureRegion image;
 
 	// Whether the sprite should be drawn.
 	private boolean visible;
@@ -28,7 +28,7 @@ class SpawnSprite extends AbstractEntitySprite<Spawn> {
 	SpawnSprite(Spawn spawn) {
 		super(DrawLayer.Top, spawn);
 
-		image = Graphics.getTexture(TEXTURE_FILE);
+		image = Graphics.getTextureRegion(TEXTURE_FILE);
 	}
 
 	@Override
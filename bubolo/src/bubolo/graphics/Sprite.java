@@ -14,6 +14,8 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 
+import bubolo.util.Nullable;
+
 /**
  * Base class for sprites.
  *
@@ -29,6 +31,13 @@ abstract class Sprite implements Drawable {
 
 	private static final float defaultScale = 1.f;
 
+	// The index of the sprite grid chunk that this sprite is stored in, or -1 if it isn't in the sprite grid.
+	int gridChunk = -1;
+	// The draw layer whose draw list this sprite is stored in within the sprite grid.
+	@Nullable DrawLayer gridDrawLayer;
+	// The index of this sprite in the sprite system's list of sprites, or -1 if it isn't in the sprite system.
+	int spriteIndex = -1;
+
 	/**
 	 * Constructs a sprite.
 	 *
@@ -48,6 +57,12 @@ abstract class Sprite implements Drawable {
 		return drawLayer;
 	}
 
+	/**
+	 * Sets the sprite's draw layer. Actor sprites are moved to the new layer's draw list the next time the sprite grid is
+	 * updated; other sprites must not change their draw layer after they have been added to the sprite system.
+	 *
+	 * @param layer the sprite's new draw layer.
+	 */
 	protected final void setDrawLayer(DrawLayer layer) {
 		this.drawLayer = layer;
 	}
@@ -77,6 +92,17 @@ abstract class Sprite implements Drawable {
 		this.color = color;
 	}
 
+	/**
+	 * Whether the sprite is drawn from the terrain cache, rather than being drawn individually each frame. Terrain cached
+	 * sprites must be in one of the cached draw layers, must not move or change layers, and must notify the sprite grid
+	 * when their appearance changes. Their draw method is called only when their chunk's terrain cache is rebuilt.
+	 *
+	 * @return true if the sprite is drawn from the terrain cache.
+	 */
+	protected boolean isTerrainCached() {
+		return false;
+	}
+
 	/**
 	 * Returns true if the sprite should be removed, or false otherwise.
 	 *
@@ -84,6 +110,15 @@ abstract class Sprite implements Drawable {
 	 */
 	protected abstract boolean isDisposed();
 
+	/**
+	 * Called when the entity that this sprite represents is removed from the world, immediately before the sprite is
+	 * removed from the sprite system. Sprites can override this to add effects, such as explosions.
+	 *
+	 * @param spriteSystem reference to the sprite system.
+	 */
+	void onRemovedFromWorld(SpriteSystem spriteSystem) {
+	}
+
 	/**
 	 * Draws the sprite to the screen. batch.begin() must be called before calling this method.
 	 *
@@ -104,7 +139,8 @@ abstract class Sprite implements Drawable {
 	}
 
 	/**
-	 * Draws the texture to the screen. batch.begin() must be called before calling this method.
+	 * Draws the texture to the screen, or to the terrain cache if it is being rebuilt. batch.begin() must be called before
+	 * calling this method.
 	 *
 	 * @param graphics The graphics system.
 	 * @param texture The texture to draw.
@@ -112,6 +148,15 @@ abstract class Sprite implements Drawable {
 	 */
 	protected final void drawTexture(Graphics graphics, Texture texture, float scale) {
 		Vector2 origin = getOrigin(texture.getWidth(), texture.getHeight());
+
+		var terrainCacheTarget = graphics.terrainCacheTarget();
+		if (terrainCacheTarget != null) {
+			terrainCacheTarget.addQuad(texture, getX() - origin.x, getY() - origin.y, origin.x, origin.y, texture.getWidth(),
+					texture.getHeight(), scale, MathUtils.radiansToDegrees * (getRotation() - MathUtils.PI / 2.f),
+					0, 0, 1, 1, color.toFloatBits());
+			return;
+		}
+
 		Vector2 cameraCoordinates = worldToCamera(graphics.camera(), getX() - origin.x, getY() - origin.y, cameraCoordinatesTempVar);
 
 		var batch = graphics.batch();
@@ -150,7 +195,8 @@ abstract class Sprite implements Drawable {
 	}
 
 	/**
-	 * Draws the texture region to the screen. batch.begin() must be called before calling this method.
+	 * Draws the texture region to the screen, or to the terrain cache if it is being rebuilt. batch.begin() must be called
+	 * before calling this method.
 	 *
 	 * @param graphics the graphics system.
 	 * @param texture The texture region to draw.
@@ -163,6 +209,15 @@ abstract class Sprite implements Drawable {
 	 */
 	protected final void drawTexture(Graphics graphics, TextureRegion texture, float scale, float worldX, float worldY,
 			float originX, float originY, float rotationRadians) {
+		var terrainCacheTarget = graphics.terrainCacheTarget();
+		if (terrainCacheTarget != null) {
+			terrainCacheTarget.addQuad(texture.getTexture(), getX() - originX, getY() - originY, originX, originY,
+					texture.getRegionWidth(), texture.getRegionHeight(), scale,
+					MathUtils.radiansToDegrees * (rotationRadians - MathUtils.PI / 2.f),
+					texture.getU(), texture.getV(), texture.getU2(), texture.getV2(), color.toFloatBits());
+			return;
+		}
+
 		Vector2 cameraCoordinates = worldToCamera(graphics.camera(), getX() - originX, getY() - originY, cameraCoordinatesTempVar);
 
 		var batch = graphics.batch();
@@ -0,0 +1,326 @@
+package bubolo.graphics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+import bubolo.util.Units;
+import bubolo.world.ActorEntity;
+import bubolo.world.Entity;
+
+/**
+ * A grid of tile-aligned chunks that sprites are stored in, based on their positions. Used to find the sprites that may be
+ * within the camera's view by visiting only the chunks that overlap the camera, rather than testing every sprite in the world.
+ * <p>
+ * Each chunk has a draw list for each draw layer, and the sprites in each draw list are grouped by texture. Sprites are
+ * inserted into their group when they are added, so the sprites in view can be drawn in layer order, with few texture
+ * switches, without sorting them each frame.
+ * </p>
+ * <p>
+ * Sprites that represent static entities are placed in their chunk when they are added, and are never moved. Sprites that
+ * represent actors are checked once per frame, and are moved only when they have crossed into a different chunk or changed
+ * their draw layer.
+ * </p>
+ * <p>
+ * Terrain sprites are kept in separate draw lists, and are drawn from each chunk's terrain cache rather than individually.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class SpriteGrid {
+	/** The width and height of each chunk, in tiles. */
+	static final int ChunkTiles = 8;
+
+	/** The width and height of each chunk, in world units. */
+	static final int ChunkSize = ChunkTiles * Units.TileToWorldScale;
+
+	// Sprites are stored in the chunk that contains their center, so a sprite can extend past its chunk by up to half of the
+	// largest entity size. Chunks within this distance of the camera are visited.
+	private static final float ChunkMargin = Entity.EntityMaxSize / 2 + 1;
+
+	private int columns = 1;
+	private int rows = 1;
+
+	private static final DrawLayer[] DrawLayers = DrawLayer.values();
+
+	// The draw lists of each chunk. The draw list for a chunk and layer is at index (chunk * DrawLayers.length + layer).
+	private List<ArrayList<Sprite>> drawLists = newDrawLists(1, DrawLayers.length);
+
+	// The draw lists of the terrain sprites in each chunk, which are drawn from the terrain cache. The draw list for a chunk and
+	// layer is at index (chunk * TerrainChunkCache.CachedLayerCount + layer).
+	private List<ArrayList<Sprite>> cachedDrawLists = newDrawLists(1, TerrainChunkCache.CachedLayerCount);
+	private TerrainChunkCache terrainCache = new TerrainChunkCache(1);
+
+	// Sprites that may move between chunks.
+	private final List<Sprite> actors = new ArrayList<>();
+
+	// The chunks that overlap the view rectangle.
+	private int viewStartColumn;
+	private int viewEndColumn;
+	private int viewStartRow;
+	private int viewEndRow;
+
+	/**
+	 * Resizes the grid to fit a world, and moves all of the sprites in the grid into their new chunks.
+	 *
+	 * @param worldWidth the world's width, in world units.
+	 * @param worldHeight the world's height, in world units.
+	 */
+	void resize(int worldWidth, int worldHeight) {
+		var oldDrawLists = new ArrayList<>(drawLists);
+		oldDrawLists.addAll(cachedDrawLists);
+
+		columns = Math.max(1, (worldWidth + ChunkSize - 1) / ChunkSize);
+		rows = Math.max(1, (worldHeight + ChunkSize - 1) / ChunkSize);
+		drawLists = newDrawLists(columns * rows, DrawLayers.length);
+		cachedDrawLists = newDrawLists(columns * rows, TerrainChunkCache.CachedLayerCount);
+		terrainCache = new TerrainChunkCache(columns * rows);
+
+		for (var drawList : oldDrawLists) {
+			for (int i = 0; i < drawList.size(); i++) {
+				insert(drawList.get(i), chunkOf(drawList.get(i)));
+			}
+		}
+	}
+
+	private static List<ArrayList<Sprite>> newDrawLists(int chunkCount, int layerCount) {
+		List<ArrayList<Sprite>> drawLists = new ArrayList<>(chunkCount * layerCount);
+		for (int i = 0; i < chunkCount * layerCount; i++) {
+			drawLists.add(new ArrayList<>());
+		}
+		return drawLists;
+	}
+
+	/**
+	 * Adds a sprite to the draw list for its layer in the chunk that contains its position.
+	 *
+	 * @param sprite the sprite to add.
+	 */
+	void add(Sprite sprite) {
+		assert sprite.gridChunk == -1 : "Sprite added to the sprite grid twice.";
+
+		insert(sprite, chunkOf(sprite));
+		if (isActor(sprite)) {
+			actors.add(sprite);
+		} else if (sprite.isTerrainCached()) {
+			markTerrainChanged(sprite);
+		}
+	}
+
+	/**
+	 * Inserts a sprite into a chunk's draw list for the sprite's layer, after the last sprite that has the same texture.
+	 */
+	private void insert(Sprite sprite, int chunk) {
+		var drawList = drawListOf(sprite, chunk, sprite.getDrawLayer());
+		int textureId = sprite.getTextureId();
+
+		int index = drawList.size();
+		for (int i = drawList.size() - 1; i >= 0; i--) {
+			if (drawList.get(i).getTextureId() == textureId) {
+				index = i + 1;
+				break;
+			}
+		}
+		drawList.add(index, sprite);
+
+		sprite.gridChunk = chunk;
+		sprite.gridDrawLayer = sprite.getDrawLayer();
+	}
+
+	private void removeFromDrawList(Sprite sprite) {
+		drawListOf(sprite, sprite.gridChunk, sprite.gridDrawLayer).remove(sprite);
+	}
+
+	private ArrayList<Sprite> drawListOf(Sprite sprite, int chunk, DrawLayer layer) {
+		if (sprite.isTerrainCached()) {
+			assert TerrainChunkCache.isCachedLayer(layer) : "Sprite in layer " + layer + " can't be drawn from the terrain cache.";
+			return cachedDrawLists.get(chunk * TerrainChunkCache.CachedLayerCount + layer.ordinal());
+		}
+		return drawLists.get(chunk * DrawLayers.length + layer.ordinal());
+	}
+
+	/**
+	 * Removes a sprite from the grid. Does nothing if the sprite isn't in the grid.
+	 *
+	 * @param sprite the sprite to remove.
+	 */
+	void remove(Sprite sprite) {
+		if (sprite.gridChunk != -1) {
+			removeFromDrawList(sprite);
+			sprite.gridChunk = -1;
+			if (isActor(sprite)) {
+				actors.remove(sprite);
+			} else if (sprite.isTerrainCached()) {
+				markTerrainChanged(sprite);
+			}
+		}
+	}
+
+	/**
+	 * Marks the terrain cache of the chunks around a terrain sprite as changed. The chunks that contain the sprite's
+	 * neighbouring tiles are marked as well, because the neighbours' tiling states may depend on the sprite.
+	 *
+	 * @param sprite the terrain sprite that was added, removed or changed.
+	 */
+	void markTerrainChanged(Sprite sprite) {
+		final int tileSize = Units.TileToWorldScale;
+		float x = sprite.getX();
+		float y = sprite.getY();
+		for (float neighbourY = y - tileSize; neighbourY <= y + tileSize; neighbourY += tileSize) {
+			for (float neighbourX = x - tileSize; neighbourX <= x + tileSize; neighbourX += tileSize) {
+				terrainCache.markChunkChanged(chunkAt(neighbourX, neighbourY));
+			}
+		}
+	}
+
+	/**
+	 * Moves the actor sprites that have crossed into a different chunk or changed their draw layer since the last update. Must
+	 * be called once per frame, before the visible sprites are collected.
+	 */
+	void update() {
+		for (int i = 0; i < actors.size(); i++) {
+			Sprite sprite = actors.get(i);
+			int chunk = chunkOf(sprite);
+			if (chunk != sprite.gridChunk || sprite.getDrawLayer() != sprite.gridDrawLayer) {
+				removeFromDrawList(sprite);
+				insert(sprite, chunk);
+			}
+		}
+	}
+
+	/**
+	 * Populates a list with the sprites that are in the chunks that overlap a rectangle, in draw order: the sprites are
+	 * ordered by draw layer, and are grouped by texture within each chunk. The sprites are not tested individually, so some
+	 * of them may be outside of the rectangle.
+	 *
+	 * @param left the rectangle's left edge, in world units.
+	 * @param bottom the rectangle's bottom edge, in world units.
+	 * @param width the rectangle's width, in world units.
+	 * @param height the rectangle's height, in world units.
+	 * @param listToPopulate the list to populate. The list will be cleared.
+	 * @return reference to the listToPopulate list.
+	 */
+	List<Sprite> getSpritesInChunksOverlapping(float left, float bottom, float width, float height,
+			List<Sprite> listToPopulate) {
+		listToPopulate.clear();
+		setViewRectangle(left, bottom, width, height);
+
+		for (int layer = 0; layer < DrawLayers.length; layer++) {
+			for (int row = viewStartRow; row <= viewEndRow; row++) {
+				for (int column = viewStartColumn; column <= viewEndColumn; column++) {
+					var drawList = drawLists.get((row * columns + column) * DrawLayers.length + layer);
+					for (int i = 0; i < drawList.size(); i++) {
+						listToPopulate.add(drawList.get(i));
+					}
+				}
+			}
+		}
+		return listToPopulate;
+	}
+
+	/**
+	 * Rebuilds the terrain cache of the changed chunks that overlap a rectangle. The terrain sprites in each chunk are drawn
+	 * into the chunk's cache rather than to the screen.
+	 *
+	 * @param graphics reference to the graphics system.
+	 * @param left the rectangle's left edge, in world units.
+	 * @param bottom the rectangle's bottom edge, in world units.
+	 * @param width the rectangle's width, in world units.
+	 * @param height the rectangle's height, in world units.
+	 */
+	void rebuildTerrainCache(Graphics graphics, float left, float bottom, float width, float height) {
+		setViewRectangle(left, bottom, width, height);
+		for (int row = viewStartRow; row <= viewEndRow; row++) {
+			for (int column = viewStartColumn; column <= viewEndColumn; column++) {
+				int chunk = row * columns + column;
+				if (terrainCache.needsRebuild(chunk)) {
+					rebuildTerrainCache(graphics, chunk);
+				}
+			}
+		}
+	}
+
+	private void rebuildTerrainCache(Graphics graphics, int chunk) {
+		try {
+			for (int layer = 0; layer < TerrainChunkCache.CachedLayerCount; layer++) {
+				var vertices = terrainCache.vertices(chunk, layer);
+				vertices.clear();
+				graphics.setTerrainCacheTarget(vertices);
+
+				var drawList = cachedDrawLists.get(chunk * TerrainChunkCache.CachedLayerCount + layer);
+				for (int i = 0; i < drawList.size(); i++) {
+					drawList.get(i).draw(graphics);
+				}
+			}
+		} finally {
+			graphics.setTerrainCacheTarget(null);
+		}
+		terrainCache.finishRebuild(chunk);
+	}
+
+	/**
+	 * Draws a layer of the terrain cache, for the chunks that overlapped the rectangle passed to the last call to
+	 * rebuildTerrainCache. Does nothing if the layer isn't cached. The batch's transform matrix must offset the world
+	 * coordinates of the cached vertices by the camera's position. batch.begin() must be called before calling this method.
+	 *
+	 * @param batch the batch to draw to.
+	 * @param layer the layer to draw.
+	 */
+	void drawTerrainCache(Batch batch, DrawLayer layer) {
+		if (TerrainChunkCache.isCachedLayer(layer)) {
+			for (int row = viewStartRow; row <= viewEndRow; row++) {
+				for (int column = viewStartColumn; column <= viewEndColumn; column++) {
+					terrainCache.vertices(row * columns + column, layer.ordinal()).draw(batch);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the terrain cache.
+	 *
+	 * @return the terrain cache.
+	 */
+	TerrainChunkCache terrainCache() {
+		return terrainCache;
+	}
+
+	/**
+	 * Returns the index of the chunk that contains a world position.
+	 *
+	 * @param x the world x position.
+	 * @param y the world y position.
+	 * @return the index of the chunk that contains the position.
+	 */
+	int chunkAt(float x, float y) {
+		return chunkRow(y) * columns + chunkColumn(x);
+	}
+
+	private void setViewRectangle(float left, float bottom, float width, float height) {
+		viewStartColumn = chunkColumn(left - ChunkMargin);
+		viewEndColumn = chunkColumn(left + width + ChunkMargin);
+		viewStartRow = chunkRow(bottom - ChunkMargin);
+		viewEndRow = chunkRow(bottom + height + ChunkMargin);
+	}
+
+	private static boolean isActor(Sprite sprite) {
+		return sprite instanceof AbstractEntitySprite<?> entitySprite && entitySprite.getEntity() instanceof ActorEntity;
+	}
+
+	private int chunkOf(Sprite sprite) {
+		return chunkAt(sprite.getX(), sprite.getY());
+	}
+
+	private int chunkColumn(float x) {
+		return clamp((int) (x / ChunkSize), columns);
+	}
+
+	private int chunkRow(float y) {
+		return clamp((int) (y / ChunkSize), rows);
+	}
+
+	private static int clamp(int chunk, int chunkCount) {
+		return (chunk < 0) ? 0 : (chunk >= chunkCount) ? chunkCount - 1 : chunk;
+	}
+}
@@ -1,9 +1,14 @@
 package bubolo.graphics;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 import bubolo.world.Base;
 import bubolo.world.Bullet;
@@ -33,7 +38,26 @@ import bubolo.world.Water;
 class SpriteSystem {
 	private Map<Class<? extends Entity>, SpriteFactory> spriteFactories;
 
-	private List<Sprite> sprites = new ArrayList<Sprite>();
+	// All sprites, in no particular order. Each sprite stores its index in this list, so that it can be removed by swapping
+	// it with the last sprite.
+	private ArrayList<Sprite> sprites = new ArrayList<Sprite>();
+
+	// The sprite that represents each entity. Identity based, because pooled entities are reused with new ids.
+	private final Map<Entity, Sprite> entitySprites = new IdentityHashMap<>();
+
+	// Sprites that aren't attached to an entity, ordered by the time that they are removed.
+	private final PriorityQueue<ExpiringSprite> expiryQueue = new PriorityQueue<>(
+			Comparator.comparingLong(ExpiringSprite::expiryTime));
+
+	// The sprites, stored by position. Used to find the sprites that may be visible without testing every sprite.
+	private final SpriteGrid spriteGrid = new SpriteGrid();
+
+	// Pools of short-lived sprites. These sprites are returned to their pool when they are removed, and reused rather than
+	// constructing new ones for each shot or explosion.
+	private final Deque<BulletSprite> bulletSpritePool = new ArrayDeque<>();
+	private final Deque<BulletExplosionSprite> bulletExplosionSpritePool = new ArrayDeque<>();
+	private final Deque<TankExplosionSprite> tankExplosionSpritePool = new ArrayDeque<>();
+	private static final int maxPooledSpritesPerType = 64;
 
 	SpriteSystem() {
 		spriteFactories = setSpriteFactories();
@@ -49,6 +73,25 @@ class SpriteSystem {
 		return sprites;
 	}
 
+	/**
+	 * Returns the grid that the sprites are stored in, based on their positions.
+	 *
+	 * @return the sprite grid.
+	 */
+	SpriteGrid getSpriteGrid() {
+		return spriteGrid;
+	}
+
+	/**
+	 * Resizes the sprite grid to fit the world.
+	 *
+	 * @param worldWidth the world's width, in world units.
+	 * @param worldHeight the world's height, in world units.
+	 */
+	void setWorldSize(int worldWidth, int worldHeight) {
+		spriteGrid.resize(worldWidth, worldHeight);
+	}
+
 	/**
 	 * Creates a new sprite based on the type of entity provided.
 	 *
@@ -63,26 +106,140 @@ class SpriteSystem {
 		}
 
 		Sprite sprite = spriteFactories.get(entity.getClass()).create(graphics, entity);
-		sprites.add(sprite);
+		add(sprite);
+		entitySprites.put(entity, sprite);
 		return sprite;
 	}
 
 	/**
-	 * Adds a sprite that is not attached to an entity.
+	 * Creates sprites for a batch of entities.
+	 *
+	 * @param graphics reference to the graphics system.
+	 * @param entities the entities to create sprites for.
+	 */
+	void createSprites(Graphics graphics, List<Entity> entities) {
+		sprites.ensureCapacity(sprites.size() + entities.size());
+		for (int i = 0; i < entities.size(); i++) {
+			createSprite(graphics, entities.get(i));
+		}
+	}
+
+	/**
+	 * Adds a sprite that is not attached to an entity. The sprite will be removed at its expiry time.
 	 *
 	 * @param sprite the sprite to add.
 	 */
-	void addSprite(Sprite sprite) {
+	<T extends Sprite & ExpiringSprite> void addSprite(T sprite) {
+		add(sprite);
+		expiryQueue.add(sprite);
+	}
+
+	private void add(Sprite sprite) {
+		assert sprite.spriteIndex == -1 : "Sprite added to the sprite system twice.";
+
+		sprite.spriteIndex = sprites.size();
 		sprites.add(sprite);
+		spriteGrid.add(sprite);
+	}
+
+	/**
+	 * Removes the sprite that represents an entity. Does nothing if the entity doesn't have a sprite.
+	 *
+	 * @param entity the entity that was removed from the world.
+	 */
+	void removeSprite(Entity entity) {
+		Sprite sprite = entitySprites.remove(entity);
+		if (sprite != null) {
+			sprite.onRemovedFromWorld(this);
+			remove(sprite);
+		}
+	}
+
+	/**
+	 * Removes the sprites that have reached their expiry time.
+	 */
+	void removeExpiredSprites() {
+		removeExpiredSprites(System.currentTimeMillis());
+	}
+
+	/**
+	 * Removes the sprites whose expiry time is at or before the specified time.
+	 *
+	 * @param currentTime the current time, in milliseconds, as returned by System.currentTimeMillis().
+	 */
+	void removeExpiredSprites(long currentTime) {
+		while (!expiryQueue.isEmpty() && expiryQueue.peek().expiryTime() <= currentTime) {
+			remove((Sprite) expiryQueue.poll());
+		}
+	}
+
+	private void remove(Sprite sprite) {
+		// Swap the last sprite into the removed sprite's position.
+		Sprite lastSprite = sprites.remove(sprites.size() - 1);
+		if (lastSprite != sprite) {
+			sprites.set(sprite.spriteIndex, lastSprite);
+			lastSprite.spriteIndex = sprite.spriteIndex;
+		}
+		sprite.spriteIndex = -1;
+
+		spriteGrid.remove(sprite);
+		releaseSprite(sprite);
+	}
+
+	/**
+	 * Returns a sprite that has been removed from the sprites list to its pool, if it is a pooled type.
+	 *
+	 * @param sprite the removed sprite.
+	 */
+	private void releaseSprite(Sprite sprite) {
+		if (sprite instanceof BulletSprite bulletSprite) {
+			bulletSprite.setEntity(null);
+			release(bulletSpritePool, bulletSprite);
+		} else if (sprite instanceof BulletExplosionSprite explosion) {
+			release(bulletExplosionSpritePool, explosion);
+		} else if (sprite instanceof TankExplosionSprite explosion) {
+			release(tankExplosionSpritePool, explosion);
+		}
+	}
+
+	private static <T extends Sprite> void release(Deque<T> pool, T sprite) {
+		if (pool.size() < maxPooledSpritesPerType) {
+			pool.push(sprite);
+		}
+	}
+
+	/**
+	 * Creates, or reuses, a sprite for a bullet. Does not add the sprite to the sprites list.
+	 *
+	 * @param bullet the bullet that the sprite represents.
+	 * @return the bullet sprite.
+	 */
+	private BulletSprite obtainBulletSprite(Bullet bullet) {
+		var sprite = bulletSpritePool.poll();
+		return (sprite != null) ? sprite.reset(bullet) : new BulletSprite(bullet);
+	}
+
+	/**
+	 * Adds a bullet explosion, reusing a pooled explosion sprite if one is available.
+	 *
+	 * @param x the x position of the explosion.
+	 * @param y the y position of the explosion.
+	 * @param bulletHitObject true if the bullet hit an object, or false if the bullet reached its maximum range.
+	 */
+	void addBulletExplosion(int x, int y, boolean bulletHitObject) {
+		var sprite = bulletExplosionSpritePool.poll();
+		addSprite((sprite != null) ? sprite.reset(x, y, bulletHitObject) : new BulletExplosionSprite(x, y, bulletHitObject));
 	}
 
 	/**
-	 * Removes the specified sprite.
+	 * Adds a tank explosion, reusing a pooled explosion sprite if one is available.
 	 *
-	 * @param sprite the sprite to remove.
+	 * @param x the x position of the explosion.
+	 * @param y the y position of the explosion.
 	 */
-	public void removeSprite(Sprite sprite) {
-		sprites.remove(sprite);
+	void addTankExplosion(int x, int y) {
+		var sprite = tankExplosionSpritePool.poll();
+		addSprite((sprite != null) ? sprite.reset(x, y) : new TankExplosionSprite(x, y));
 	}
 
 	/**
@@ -119,7 +276,7 @@ class SpriteSystem {
 		factories.put(Bullet.class, new SpriteFactory() {
 			@Override
 			public Sprite create(Graphics graphics, Entity e) {
-				return new BulletSprite((Bullet) e);
+				return graphics.sprites().obtainBulletSprite((Bullet) e);
 			}
 		});
 
@@ -207,7 +364,7 @@ class SpriteSystem {
 		factories.put(Wall.class, new SpriteFactory() {
 			@Override
 			public Sprite create(Graphics graphics, Entity e) {
-				return new WallSprite((Wall) e);
+				return new WallSprite(graphics, (Wall) e);
 			}
 		});
 
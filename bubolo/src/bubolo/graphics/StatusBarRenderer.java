@@ -11,7 +11,9 @@ import bubolo.world.Damageable;
 import bubolo.world.Entity;
 
 /**
- * Methods to render in-game status bars, such as health bars.
+ * Methods to render in-game status bars, such as health bars. The methods only add shapes to the shape renderer, so that the
+ * bars of every visible entity are drawn in a single pass: shapeRenderer.begin(ShapeType.Filled) must be called before
+ * calling them, and end() after the last bar.
  *
  * @author Christopher D. Canfield
  */
@@ -24,12 +26,12 @@ final class StatusBarRenderer {
 	 * Draws a health bar above an entity. Only draws the health bar if the entity's health is not at 100%.
 	 *
 	 * @param entity the damageable entity that will gain a health bar.
-	 * @param shapeRenderer a shape renderer object.
+	 * @param shapeRenderer a shape renderer object. begin(ShapeType.Filled) must have been called.
 	 * @param camera the camera.
 	 */
 	static void drawHealthBar(Damageable entity, ShapeRenderer shapeRenderer, Camera camera) {
+		assert isDrawingFilledShapes(shapeRenderer);
 		if (entity.hitPoints() < entity.maxHitPoints()) {
-			shapeRenderer.begin(ShapeType.Filled);
 
 			float healthPct = entity.hitPoints() / entity.maxHitPoints();
 			float healthBarInteriorBackgroundWidth = entity.width() + 10;
@@ -50,11 +52,13 @@ final class StatusBarRenderer {
 			// Health bar's interior.
 			shapeRenderer.setColor(healthBarColor(healthPct));
 			shapeRenderer.rect(cameraCoords.x - entityHalfWidth - 6, cameraCoords.y + entityHalfHeight + 8, healthBarInteriorWidth, 4);
-
-			shapeRenderer.end();
 		}
 	}
 
+	private static boolean isDrawingFilledShapes(ShapeRenderer shapeRenderer) {
+		return shapeRenderer.isDrawing() && shapeRenderer.getCurrentType() == ShapeType.Filled;
+	}
+
 	private static final Color RED_ORANGE = new Color(1.0f, 0.53f, 0.0f, 1.0f);
 
 	private static Color healthBarColor(float healthPct) {
@@ -75,11 +79,11 @@ final class StatusBarRenderer {
 	 * @param entity the target entity.
 	 * @param pctFilled how filled the bar is.
 	 * @param fillColor the color to fill the bar with.
-	 * @param shapeRenderer a shape renderer.
+	 * @param shapeRenderer a shape renderer. begin(ShapeType.Filled) must have been called.
 	 * @param camera the game's camera.
 	 */
 	static void drawHorizontalStatusBar(Entity entity, float pctFilled, Color fillColor, ShapeRenderer shapeRenderer, Camera camera) {
-		shapeRenderer.begin(ShapeType.Filled);
+		assert isDrawingFilledShapes(shapeRenderer);
 
 		float barInteriorBackgroundWidth = entity.width() + 10;
 		float barInteriorWidth = barInteriorBackgroundWidth * pctFilled;
@@ -99,8 +103,6 @@ final class StatusBarRenderer {
 		// The bar's interior.
 		shapeRenderer.setColor(fillColor);
 		shapeRenderer.rect(cameraCoords.x - entityHalfWidth - 6, cameraCoords.y + entityHalfHeight + 8, barInteriorWidth, 4);
-
-		shapeRenderer.end();
 	}
 
 	/**
@@ -109,12 +111,11 @@ final class StatusBarRenderer {
 	 * @param entity the target entity.
 	 * @param pctFilled how filled the bar is.
 	 * @param fillColor the color to fill the bar with.
-	 * @param shapeRenderer a shape renderer.
+	 * @param shapeRenderer a shape renderer. begin(ShapeType.Filled) must have been called.
 	 * @param camera the game's camera.
-	 * @return the left x and bottom y position of the bar, in camera coordinates.
 	 */
-	static Vector2 drawVerticalStatusBar(Entity entity, float pctFilled, Color fillColor, ShapeRenderer shapeRenderer, Camera camera) {
-		return drawVerticalStatusBar(entity, pctFilled, fillColor, shapeRenderer, camera, 0);
+	static void drawVerticalStatusBar(Entity entity, float pctFilled, Color fillColor, ShapeRenderer shapeRenderer, Camera camera) {
+		drawVerticalStatusBar(entity, pctFilled, fillColor, shapeRenderer, camera, 0);
 	}
 
 	/**
@@ -123,14 +124,14 @@ final class StatusBarRenderer {
 	 * @param entity the target entity.
 	 * @param pctFilled how filled the bar is.
 	 * @param fillColor the color to fill the bar with.
-	 * @param shapeRenderer a shape renderer.
+	 * @param shapeRenderer a shape renderer. begin(ShapeType.Filled) must have been called.
 	 * @param camera the game's camera.
 	 * @param horizontalOffset an offset that moves the vertical bar horizontally compared with the default position. Positive numbers
 	 * move the bar to the right, while negative numbers move it to the left.
-	 * @return the left x and bottom y position of the bar, in camera coordinates.
+	 * @see #verticalStatusBarPosition
 	 */
-	static Vector2 drawVerticalStatusBar(Entity entity, float pctFilled, Color fillColor, ShapeRenderer shapeRenderer, Camera camera, int horizontalOffset) {
-		shapeRenderer.begin(ShapeType.Filled);
+	static void drawVerticalStatusBar(Entity entity, float pctFilled, Color fillColor, ShapeRenderer shapeRenderer, Camera camera, int horizontalOffset) {
+		assert isDrawingFilledShapes(shapeRenderer);
 
 		float barInteriorBackgroundHeight = entity.height() * 0.9f;
 		float barInteriorHeight = barInteriorBackgroundHeight * pctFilled;
@@ -150,9 +151,19 @@ final class StatusBarRenderer {
 		// The bar's interior.
 		shapeRenderer.setColor(fillColor);
 		shapeRenderer.rect(cameraCoords.x + entityHalfWidth + 6 + horizontalOffset, cameraCoords.y - entityHalfHeight + 4, 4, barInteriorHeight);
+	}
 
-		shapeRenderer.end();
-
-		return new Vector2(cameraCoords.x + entityHalfWidth + 4 + horizontalOffset, cameraCoords.y - entityHalfHeight - 2);
+	/**
+	 * Calculates the position of a vertical status bar, which can be used to draw an icon below it.
+	 *
+	 * @param entity the target entity.
+	 * @param camera the game's camera.
+	 * @param horizontalOffset the horizontal offset that the bar was drawn with.
+	 * @param result the vector that the position is stored in.
+	 * @return result, set to the left x and bottom y position of the bar, in camera coordinates.
+	 */
+	static Vector2 verticalStatusBarPosition(Entity entity, Camera camera, int horizontalOffset, Vector2 result) {
+		Units.worldToCamera(camera, entity.x(), entity.y(), result);
+		return result.add(entity.width() / 2.0f + 4 + horizontalOffset, -entity.height() / 2.0f - 2);
 	}
 }
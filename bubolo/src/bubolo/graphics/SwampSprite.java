@@ -1,6 +1,6 @@
 package bubolo.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 
 import bubolo.world.Swamp;
@@ -12,7 +12,7 @@ import bubolo.world.Swamp;
  * @author Christopher D. Canfield
  */
 class SwampSprite extends AbstractStaticEntitySprite {
-	private final Texture texture;
+	private final TextureRegion texture;
 
 	/** The file name of the texture. */
 	private static final String textureFileName = "swamp.png";
@@ -27,7 +27,7 @@ class SwampSprite extends AbstractStaticEntitySprite {
 	SwampSprite(Swamp swamp) {
 		super(DrawLayer.TerrainLevel1, swamp, (float) (MathUtils.random.nextInt(4) * (Math.PI / 2)));
 
-		texture = Graphics.getTexture(textureFileName);
+		texture = Graphics.getTextureRegion(textureFileName);
 	}
 
 	@Override
@@ -35,6 +35,11 @@ class SwampSprite extends AbstractStaticEntitySprite {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		drawTexture(graphics, texture);
@@ -7,24 +7,17 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
  *
  * @author BU673 - Clone Industries
  */
-class TankExplosionSprite extends Sprite {
+class TankExplosionSprite extends Sprite implements ExpiringSprite {
 	private TextureRegion[][] frames;
 
 	// The number of milliseconds per frame.
 	private static final long millisPerFrame = 85;
 
-	// The amount of time remaining for the current frame.
-	private long frameTimeRemaining;
+	// The time that the explosion started.
+	private long startTime;
 
-	// The time of the last frame.
-	private long lastFrameTime;
-
-	private int frameIndex;
-
-	private boolean disposed;
-
-	private final int x;
-	private final int y;
+	private int x;
+	private int y;
 
 	private static final int HEIGHT = 32;
 	private static final int WIDTH = 32;
@@ -43,12 +36,22 @@ class TankExplosionSprite extends Sprite {
 		super(DrawLayer.Top);
 
 		frames = Graphics.getTextureRegion2d(TEXTURE_FILE, WIDTH, HEIGHT);
+		reset(x, y);
+	}
 
-		frameTimeRemaining = millisPerFrame;
-		lastFrameTime = System.currentTimeMillis();
+	/**
+	 * Reinitializes the explosion, so that a pooled TankExplosionSprite can be reused.
+	 *
+	 * @param x the x position of the explosion.
+	 * @param y the y position of the explosion.
+	 * @return reference to this sprite.
+	 */
+	TankExplosionSprite reset(int x, int y) {
+		startTime = System.currentTimeMillis();
 
 		this.x = x;
 		this.y = y;
+		return this;
 	}
 
 	@Override
@@ -58,27 +61,18 @@ class TankExplosionSprite extends Sprite {
 
 	@Override
 	public void draw(Graphics graphics) {
-		drawTexture(graphics, frames[frameIndex][0]);
-		animate();
+		int frameIndex = (int) ((System.currentTimeMillis() - startTime) / millisPerFrame);
+		drawTexture(graphics, frames[Math.min(frameIndex, frames.length - 1)][0]);
 	}
 
-	private void animate() {
-		frameTimeRemaining -= (System.currentTimeMillis() - lastFrameTime);
-		lastFrameTime = System.currentTimeMillis();
-		if (frameTimeRemaining < 0) {
-			frameTimeRemaining = millisPerFrame;
-
-			if (frameIndex < frames.length - 1) {
-				++frameIndex;
-			} else {
-				disposed = true;
-			}
-		}
+	@Override
+	public long expiryTime() {
+		return startTime + frames.length * millisPerFrame;
 	}
 
 	@Override
 	public boolean isDisposed() {
-		return disposed;
+		return System.currentTimeMillis() >= expiryTime();
 	}
 
 	@Override
@@ -4,17 +4,16 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Interpolation;
 
-import bubolo.util.Time;
 import bubolo.world.Tank;
 
-class TankSinkingSprite extends Sprite {
+class TankSinkingSprite extends Sprite implements ExpiringSprite {
 
 	private final float x;
 	private final float y;
 	private final float rotation;
 
-	private static final int drownTimeTicks = Time.secondsToTicks(1.25f);
-	private int ticksRemaining = drownTimeTicks;
+	private static final long drownTimeMillis = 1250;
+	private final long expiryTime = System.currentTimeMillis() + drownTimeMillis;
 
 	private static final String textureFile = "tank.png";
 	private static final int textureFileHashCode = textureFile.hashCode();
@@ -73,13 +72,18 @@ class TankSinkingSprite extends Sprite {
 
 	@Override
 	protected boolean isDisposed() {
-		return ticksRemaining <= 0;
+		return System.currentTimeMillis() >= expiryTime;
+	}
+
+	@Override
+	public long expiryTime() {
+		return expiryTime;
 	}
 
 	@Override
 	void draw(Graphics graphics) {
-		ticksRemaining--;
-		float percentTimeRemaining = ticksRemaining / (float) drownTimeTicks;
+		long timeRemaining = Math.max(0, expiryTime - System.currentTimeMillis());
+		float percentTimeRemaining = timeRemaining / (float) drownTimeMillis;
 		float scale = Interpolation.pow2In.apply(0, 1, percentTimeRemaining);
 
 		setColor(tankColor);
@@ -1,10 +1,9 @@
 package bubolo.graphics;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 
@@ -53,10 +52,9 @@ class TankSprite extends AbstractEntitySprite<Tank> implements UiDrawable {
 	private static final String textureFileName = "tank.png";
 	private static final int textureFileHashCode = textureFileName.hashCode();
 
-	private final ParticleEffect[] smokeEmitter = new ParticleEffect[3];
-	private static final String smokeParticleEffectLowDamageFile = "res/particles/Particle Park Smoke Low Damage.p";
-	private static final String smokeParticleEffectMediumDamageFile = "res/particles/Particle Park Smoke Medium Damage.p";
-	private static final String smokeParticleEffectHighDamageFile = "res/particles/Particle Park Smoke High Damage.p";
+	// Pooled smoke effects, one per damage level. These are obtained when the sprite is initialized, and returned to their
+	// pools when the tank is removed from the world.
+	private final PooledEffect[] smokeEmitter = new PooledEffect[3];
 
 	/**
 	 * Constructor for the TankSprite. This is Package-private because sprites should not be directly created outside of the
@@ -66,18 +64,6 @@ class TankSprite extends AbstractEntitySprite<Tank> implements UiDrawable {
 	 */
 	TankSprite(Tank tank) {
 		super(DrawLayer.Tanks, tank);
-
-		smokeEmitter[0] = new ParticleEffect();
-		smokeEmitter[0].load(Gdx.files.internal(smokeParticleEffectLowDamageFile), Gdx.files.internal("res/particles"));
-		smokeEmitter[0].start();
-
-		smokeEmitter[1] = new ParticleEffect();
-		smokeEmitter[1].load(Gdx.files.internal(smokeParticleEffectMediumDamageFile), Gdx.files.internal("res/particles"));
-		smokeEmitter[1].start();
-
-		smokeEmitter[2] = new ParticleEffect();
-		smokeEmitter[2].load(Gdx.files.internal(smokeParticleEffectHighDamageFile), Gdx.files.internal("res/particles"));
-		smokeEmitter[2].start();
 	}
 
 	@Override
@@ -86,23 +72,23 @@ class TankSprite extends AbstractEntitySprite<Tank> implements UiDrawable {
 	}
 
 	/**
-	 * Draws the tank's name. This is a separate method to ensure that tank UI elements are drawn above all other objects. begin()
-	 * must have been called on graphics.batch() before calling this method.
+	 * Draws the tank's name. This is drawn with the UI textures to ensure that tank UI elements are drawn above all other
+	 * objects. begin() must have been called on graphics.batch() before calling this method.
 	 */
-	void drawTankPlayerName(Graphics graphics) {
+	@Override
+	public void drawUiTextures(Graphics graphics) {
 		var tank = getEntity();
 		// Render names for visible network tanks.
 		if (!tank.isOwnedByLocalPlayer() && visibility() != Visibility.NetworkTankHidden) {
 			var color = tank.isAlliedWithLocalPlayer() ? friendlyTankColor : enemyTankColor;
 			font.setColor(color);
-			var tankCameraCoords = tankCameraCoordinates(getEntity(), graphics.camera());
+			var tankCameraCoords = Units.worldToCamera(graphics.camera(), tank.x(), tank.y(), tankCameraPos);
 			font.draw(graphics.batch(), tank.playerName(), tankCameraCoords.x - 20, tankCameraCoords.y + 35);
 		}
 	}
 
 	/**
-	 * Draws the tank's health bar. Uses the shape renderer, so it should be called after completing drawing that uses the Batch.
-	 * Unlike with the methods that use batch(), begin() does not need to be called on graphics.shapeRenderer() before calling
+	 * Draws the tank's health bar. begin(ShapeType.Filled) must have been called on graphics.shapeRenderer() before calling
 	 * this method.
 	 */
 	@Override
@@ -115,10 +101,6 @@ class TankSprite extends AbstractEntitySprite<Tank> implements UiDrawable {
 		}
 	}
 
-	private static Vector2 tankCameraCoordinates(Tank tank, Camera camera) {
-		return Units.worldToCamera(camera, tank.x(), tank.y());
-	}
-
 	@Override
 	public void draw(Graphics graphics) {
 		if (frames == null) {
@@ -130,7 +112,7 @@ class TankSprite extends AbstractEntitySprite<Tank> implements UiDrawable {
 				if (getEntity().drowned()) {
 					graphics.sprites().addSprite(new TankSinkingSprite(getEntity()));
 				} else {
-					graphics.sprites().addSprite(new TankExplosionSprite((int) getEntity().x(), (int) getEntity().y()));
+					graphics.sprites().addTankExplosion((int) getEntity().x(), (int) getEntity().y());
 				}
 			}
 		} else if (visibility() != Visibility.NetworkTankHidden) {
@@ -192,6 +174,16 @@ class TankSprite extends AbstractEntitySprite<Tank> implements UiDrawable {
 		}
 	}
 
+	@Override
+	void onRemovedFromWorld(SpriteSystem spriteSystem) {
+		for (int i = 0; i < smokeEmitter.length; i++) {
+			if (smokeEmitter[i] != null) {
+				smokeEmitter[i].free();
+				smokeEmitter[i] = null;
+			}
+		}
+	}
+
 	private static int getSmokeEffectIndex(Tank tank) {
 		var pctHealth = tank.hitPoints() / tank.maxHitPoints();
 		if (pctHealth >= 0.85f) {
@@ -234,6 +226,11 @@ class TankSprite extends AbstractEntitySprite<Tank> implements UiDrawable {
 	private void initialize(Graphics graphics) {
 		frames = Graphics.getTextureRegion2d(textureFileName, 32, 32);
 
+		var particleEffects = graphics.particleEffects();
+		smokeEmitter[0] = particleEffects.obtain(ParticleEffects.SmokeLowDamage);
+		smokeEmitter[1] = particleEffects.obtain(ParticleEffects.SmokeMediumDamage);
+		smokeEmitter[2] = particleEffects.obtain(ParticleEffects.SmokeHighDamage);
+
 		frameIndex = 0;
 		frameTimeRemaining = millisPerFrame;
 
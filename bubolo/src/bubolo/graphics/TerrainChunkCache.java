@@ -0,0 +1,262 @@
+package bubolo.graphics;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+
+import bubolo.util.Nullable;
+
+/**
+ * Pre-built vertices for the terrain sprites in each sprite grid chunk. Terrain rarely changes, so rather than submitting each
+ * visible terrain sprite to the sprite batch every frame, the quads in each chunk are built once, in world coordinates, and
+ * are drawn with one call per texture. A chunk is rebuilt only after a cached sprite in or next to it is added or removed, or
+ * changes its appearance.
+ * <p>
+ * Adding or removing a tiled sprite, such as water or a wall, changes the tiling state of its neighbours, but the world doesn't
+ * update tiling states until its next update, which may come after the next frame is drawn. Because of this, a changed chunk
+ * is rebuilt on each of the next two frames that it is visible.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class TerrainChunkCache {
+	/** The number of floats in each vertex: x, y, packed color, u, and v. This matches the SpriteBatch vertex format. */
+	static final int FloatsPerVertex = 5;
+	/** The number of floats in each quad. */
+	static final int FloatsPerQuad = FloatsPerVertex * 4;
+
+	/** The number of draw layers that are cached. The lowest layers, from TerrainLevel1 to TerrainImprovements, are cached. */
+	static final int CachedLayerCount = DrawLayer.TerrainImprovements.ordinal() + 1;
+
+	private static final byte RebuildsPerChange = 2;
+
+	// The vertices of each chunk's cached layers. The vertices for a chunk and layer are at index
+	// (chunk * CachedLayerCount + layer).
+	private final ChunkVertices[] chunkVertices;
+	// The number of times that each chunk needs to be rebuilt.
+	private final byte[] pendingRebuilds;
+
+	/**
+	 * @param chunkCount the number of chunks in the sprite grid.
+	 */
+	TerrainChunkCache(int chunkCount) {
+		chunkVertices = new ChunkVertices[chunkCount * CachedLayerCount];
+		for (int i = 0; i < chunkVertices.length; i++) {
+			chunkVertices[i] = new ChunkVertices();
+		}
+
+		pendingRebuilds = new byte[chunkCount];
+		Arrays.fill(pendingRebuilds, RebuildsPerChange);
+	}
+
+	/**
+	 * Whether sprites in the specified layer may be cached.
+	 *
+	 * @param layer the draw layer.
+	 * @return true if sprites in the layer may be cached.
+	 */
+	static boolean isCachedLayer(DrawLayer layer) {
+		return layer.ordinal() < CachedLayerCount;
+	}
+
+	/**
+	 * Marks a chunk as changed, so that it will be rebuilt.
+	 *
+	 * @param chunk the chunk's index.
+	 */
+	void markChunkChanged(int chunk) {
+		pendingRebuilds[chunk] = RebuildsPerChange;
+	}
+
+	/**
+	 * Whether the chunk needs to be rebuilt.
+	 *
+	 * @param chunk the chunk's index.
+	 * @return true if the chunk needs to be rebuilt.
+	 */
+	boolean needsRebuild(int chunk) {
+		return pendingRebuilds[chunk] > 0;
+	}
+
+	/**
+	 * Records that a chunk has been rebuilt.
+	 *
+	 * @param chunk the chunk's index.
+	 */
+	void finishRebuild(int chunk) {
+		if (pendingRebuilds[chunk] > 0) {
+			pendingRebuilds[chunk]--;
+		}
+	}
+
+	/**
+	 * Returns the vertices of a chunk's layer.
+	 *
+	 * @param chunk the chunk's index.
+	 * @param layer the index of a cached draw layer.
+	 * @return the vertices of the chunk's layer.
+	 */
+	ChunkVertices vertices(int chunk, int layer) {
+		return chunkVertices[chunk * CachedLayerCount + layer];
+	}
+
+	/**
+	 * The quads of a single chunk and layer, grouped into runs that share a texture.
+	 */
+	static class ChunkVertices {
+		private float[] vertices = new float[FloatsPerQuad * 16];
+		private int floatCount;
+
+		// The texture of each run of quads, and the index after the last float in the run.
+		private @Nullable Texture[] textures = new Texture[4];
+		private int[] runEnds = new int[4];
+		private int runCount;
+
+		/**
+		 * Removes all quads.
+		 */
+		void clear() {
+			floatCount = 0;
+			runCount = 0;
+			Arrays.fill(textures, null);
+		}
+
+		/**
+		 * Adds a quad. The parameters match those of SpriteBatch.draw(TextureRegion, ...).
+		 *
+		 * @param texture the quad's texture.
+		 * @param x the world x position of the quad's bottom left corner, before it is rotated.
+		 * @param y the world y position of the quad's bottom left corner, before it is rotated.
+		 * @param originX the x offset of the point that the quad is scaled and rotated around.
+		 * @param originY the y offset of the point that the quad is scaled and rotated around.
+		 * @param width the quad's width.
+		 * @param height the quad's height.
+		 * @param scale the quad's scale.
+		 * @param rotationDegrees the quad's counterclockwise rotation, in degrees.
+		 * @param u the left texture coordinate.
+		 * @param v the top texture coordinate.
+		 * @param u2 the right texture coordinate.
+		 * @param v2 the bottom texture coordinate.
+		 * @param color the packed vertex color.
+		 */
+		void addQuad(@Nullable Texture texture, float x, float y, float originX, float originY, float width, float height,
+				float scale, float rotationDegrees, float u, float v, float u2, float v2, float color) {
+			if (floatCount + FloatsPerQuad > vertices.length) {
+				vertices = Arrays.copyOf(vertices, vertices.length * 2);
+			}
+			setQuadVertices(vertices, floatCount, x, y, originX, originY, width, height, scale, rotationDegrees, u, v, u2, v2,
+					color);
+			floatCount += FloatsPerQuad;
+
+			if (runCount == 0 || textures[runCount - 1] != texture) {
+				if (runCount == textures.length) {
+					textures = Arrays.copyOf(textures, runCount * 2);
+					runEnds = Arrays.copyOf(runEnds, runCount * 2);
+				}
+				textures[runCount++] = texture;
+			}
+			runEnds[runCount - 1] = floatCount;
+		}
+
+		/**
+		 * Draws the quads. batch.begin() must be called before calling this method.
+		 *
+		 * @param batch the batch to draw to.
+		 */
+		void draw(Batch batch) {
+			int start = 0;
+			for (int i = 0; i < runCount; i++) {
+				batch.draw(textures[i], vertices, start, runEnds[i] - start);
+				start = runEnds[i];
+			}
+		}
+
+		/**
+		 * @return the number of quads.
+		 */
+		int quadCount() {
+			return floatCount / FloatsPerQuad;
+		}
+
+		/**
+		 * @return the number of runs of quads that share a texture. Each run is drawn with one call to the batch.
+		 */
+		int runCount() {
+			return runCount;
+		}
+
+		/**
+		 * @return the vertices. Only the first quadCount() * FloatsPerQuad floats are used.
+		 */
+		float[] vertices() {
+			return vertices;
+		}
+	}
+
+	/**
+	 * Writes the four vertices of a quad, using the same corner order, texture coordinates and rotation as
+	 * SpriteBatch.draw(TextureRegion, ...).
+	 *
+	 * @see ChunkVertices#addQuad
+	 */
+	static void setQuadVertices(float[] vertices, int offset, float x, float y, float originX, float originY, float width,
+			float height, float scale, float rotationDegrees, float u, float v, float u2, float v2, float color) {
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		float left = -originX * scale;
+		float bottom = -originY * scale;
+		float right = (width - originX) * scale;
+		float top = (height - originY) * scale;
+
+		float x1, y1, x2, y2, x3, y3, x4, y4;
+		if (rotationDegrees != 0) {
+			final float cos = MathUtils.cosDeg(rotationDegrees);
+			final float sin = MathUtils.sinDeg(rotationDegrees);
+
+			x1 = cos * left - sin * bottom;
+			y1 = sin * left + cos * bottom;
+			x2 = cos * left - sin * top;
+			y2 = sin * left + cos * top;
+			x3 = cos * right - sin * top;
+			y3 = sin * right + cos * top;
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = left;
+			y1 = bottom;
+			x2 = left;
+			y2 = top;
+			x3 = right;
+			y3 = top;
+			x4 = right;
+			y4 = bottom;
+		}
+
+		int i = offset;
+		vertices[i++] = x1 + worldOriginX;
+		vertices[i++] = y1 + worldOriginY;
+		vertices[i++] = color;
+		vertices[i++] = u;
+		vertices[i++] = v2;
+
+		vertices[i++] = x2 + worldOriginX;
+		vertices[i++] = y2 + worldOriginY;
+		vertices[i++] = color;
+		vertices[i++] = u;
+		vertices[i++] = v;
+
+		vertices[i++] = x3 + worldOriginX;
+		vertices[i++] = y3 + worldOriginY;
+		vertices[i++] = color;
+		vertices[i++] = u2;
+		vertices[i++] = v;
+
+		vertices[i++] = x4 + worldOriginX;
+		vertices[i++] = y4 + worldOriginY;
+		vertices[i++] = color;
+		vertices[i++] = u2;
+		vertices[i] = v2;
+	}
+}
@@ -0,0 +1,169 @@
+package bubolo.graphics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Blending;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Packs images into a small number of atlas pages, so that sprites that use different image files can be drawn without
+ * flushing the sprite batch. Images are placed on shelves, tallest first, and each image is surrounded by a one pixel border
+ * that repeats its edge pixels, which prevents neighbouring images from bleeding into it.
+ * <p>
+ * The packer only works with pixmaps, so it doesn't require an OpenGL context. Graphics uploads the pages as textures.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class TextureAtlasPacker {
+	/** The width and maximum height of each page. */
+	static final int DefaultPageSize = 1024;
+
+	/** The width of the border that is added around each image. */
+	static final int EdgePadding = 1;
+
+	/**
+	 * The location of an image within the atlas. The coordinates are in pixels, with the origin in the top left corner of the
+	 * page, and exclude the border.
+	 */
+	record Region(int page, int x, int y, int width, int height) {
+	}
+
+	/**
+	 * The packed atlas pages, and the region of each image within them.
+	 */
+	record PackedAtlas(List<Pixmap> pages, Map<String, Region> regions) {
+	}
+
+	private TextureAtlasPacker() {
+	}
+
+	/**
+	 * Packs the images into atlas pages. The caller owns both the images and the returned pages, and is responsible for
+	 * disposing them.
+	 *
+	 * @param images the images to pack, keyed by name.
+	 * @param pageSize the width and maximum height of each page.
+	 * @return the atlas pages, and the region of each image within them.
+	 * @throws TextureDimensionException if an image, including its border, is larger than a page.
+	 */
+	static PackedAtlas pack(Map<String, Pixmap> images, int pageSize) {
+		Map<String, Region> regions = placeImages(images, pageSize);
+
+		List<Pixmap> pages = new ArrayList<>();
+		for (int page = 0; page < pageCount(regions); page++) {
+			pages.add(createPage(regions, page, pageSize));
+		}
+
+		for (var entry : regions.entrySet()) {
+			Region region = entry.getValue();
+			drawWithBorder(pages.get(region.page()), images.get(entry.getKey()), region);
+		}
+
+		return new PackedAtlas(Collections.unmodifiableList(pages), Collections.unmodifiableMap(regions));
+	}
+
+	/**
+	 * Chooses the region of each image, without creating the pages.
+	 *
+	 * @param images the images to place, keyed by name.
+	 * @param pageSize the width and maximum height of each page.
+	 * @return the region of each image.
+	 */
+	static Map<String, Region> placeImages(Map<String, Pixmap> images, int pageSize) {
+		// Place the tallest images first, so that each shelf wastes as little height as possible. The name is used as a
+		// tiebreaker, so that the layout doesn't depend on the map's iteration order.
+		List<String> names = new ArrayList<>(images.keySet());
+		names.sort(Comparator.<String>comparingInt(name -> images.get(name).getHeight()).reversed()
+				.thenComparing(Comparator.<String>comparingInt(name -> images.get(name).getWidth()).reversed())
+				.thenComparing(Comparator.naturalOrder()));
+
+		Map<String, Region> regions = new HashMap<>();
+		int page = 0;
+		int shelfX = 0;
+		int shelfY = 0;
+		int shelfHeight = 0;
+		for (String name : names) {
+			Pixmap image = images.get(name);
+			int cellWidth = image.getWidth() + EdgePadding * 2;
+			int cellHeight = image.getHeight() + EdgePadding * 2;
+			if (cellWidth > pageSize || cellHeight > pageSize) {
+				throw new TextureDimensionException("Image " + name + " (" + image.getWidth() + "x" + image.getHeight()
+						+ ") is too large for a " + pageSize + "x" + pageSize + " texture atlas page.");
+			}
+
+			// Start a new shelf if the image doesn't fit on the current one, and a new page if the shelf doesn't fit.
+			if (shelfX + cellWidth > pageSize) {
+				shelfX = 0;
+				shelfY += shelfHeight;
+				shelfHeight = 0;
+			}
+			if (shelfY + cellHeight > pageSize) {
+				page++;
+				shelfX = 0;
+				shelfY = 0;
+				shelfHeight = 0;
+			}
+
+			regions.put(name, new Region(page, shelfX + EdgePadding, shelfY + EdgePadding, image.getWidth(), image.getHeight()));
+			shelfX += cellWidth;
+			shelfHeight = Math.max(shelfHeight, cellHeight);
+		}
+		return regions;
+	}
+
+	private static int pageCount(Map<String, Region> regions) {
+		int pageCount = 0;
+		for (Region region : regions.values()) {
+			pageCount = Math.max(pageCount, region.page() + 1);
+		}
+		return pageCount;
+	}
+
+	/**
+	 * Creates a transparent page. Pages are as wide as the page size, but only as tall as the power of two that fits their
+	 * images.
+	 */
+	private static Pixmap createPage(Map<String, Region> regions, int page, int pageSize) {
+		int usedHeight = 1;
+		for (Region region : regions.values()) {
+			if (region.page() == page) {
+				usedHeight = Math.max(usedHeight, region.y() + region.height() + EdgePadding);
+			}
+		}
+
+		Pixmap pixmap = new Pixmap(pageSize, Math.min(pageSize, MathUtils.nextPowerOfTwo(usedHeight)), Format.RGBA8888);
+		// Copy pixels as-is, rather than blending them with the page's transparent background.
+		pixmap.setBlending(Blending.None);
+		return pixmap;
+	}
+
+	/**
+	 * Draws the image into its region, and extends its edge pixels into the surrounding border.
+	 */
+	private static void drawWithBorder(Pixmap page, Pixmap image, Region region) {
+		final int x = region.x();
+		final int y = region.y();
+		final int width = region.width();
+		final int height = region.height();
+
+		page.drawPixmap(image, x, y);
+
+		for (int i = 1; i <= EdgePadding; i++) {
+			// Left and right columns.
+			page.drawPixmap(image, x - i, y, 0, 0, 1, height);
+			page.drawPixmap(image, x + width - 1 + i, y, width - 1, 0, 1, height);
+			// Top and bottom rows, including the corners.
+			page.drawPixmap(page, x - EdgePadding, y - i, x - EdgePadding, y, width + EdgePadding * 2, 1);
+			page.drawPixmap(page, x - EdgePadding, y + height - 1 + i, x - EdgePadding, y + height - 1, width + EdgePadding * 2,
+					1);
+		}
+	}
+}
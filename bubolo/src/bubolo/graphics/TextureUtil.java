@@ -1,6 +1,5 @@
 package bubolo.graphics;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import bubolo.util.Units;
@@ -13,34 +12,34 @@ import bubolo.util.Units;
  */
 abstract class TextureUtil {
 	/**
-	 * Splits a row of images within a texture into frames.
+	 * Splits a row of images within a texture region into frames.
 	 *
-	 * @param texture the texture that contains the frames.
+	 * @param texture the texture region that contains the frames.
 	 * @param frameCount the number of frames in the file.
 	 * @param frameWidth the width of each frame.
 	 * @param paddingWidth the horizontal padding between each frame.
 	 * @return the frames.
 	 */
-	public static TextureRegion[] splitFramesInRow(Texture texture, int frameCount, int frameWidth, int paddingWidth) {
+	public static TextureRegion[] splitFramesInRow(TextureRegion texture, int frameCount, int frameWidth, int paddingWidth) {
 		TextureRegion[] frames = new TextureRegion[frameCount];
 		for (int frame = 0; frame < frameCount; frame++) {
 			frames[frame] = new TextureRegion(texture, frame * frameWidth + (paddingWidth * frame), 0,
-					frameWidth, texture.getHeight());
+					frameWidth, texture.getRegionHeight());
 		}
 		return frames;
 	}
 
 	/**
-	 * Splits a column of images within a texture into frames.
+	 * Splits a column of images within a texture region into frames.
 	 *
-	 * @param texture the texture that contains the frames.
+	 * @param texture the texture region that contains the frames.
 	 * @param frameCount the number of frames in the file.
 	 * @param frameLeftX the left position of the frames.
 	 * @param frameWidth the width of each frame.
 	 * @param frameHeight the height of each frame.
 	 * @return the frames.
 	 */
-	public static TextureRegion[] splitFramesInColumn(Texture texture, int frameCount, int frameLeftX, int frameWidth, int frameHeight) {
+	public static TextureRegion[] splitFramesInColumn(TextureRegion texture, int frameCount, int frameLeftX, int frameWidth, int frameHeight) {
 		TextureRegion[] frames = new TextureRegion[frameCount];
 		for (int frame = 0; frame < frameCount; frame++) {
 			frames[frame] = new TextureRegion(texture, frameLeftX, frame * frameHeight, frameWidth, frameHeight);
@@ -49,20 +48,20 @@ abstract class TextureUtil {
 	}
 
 	/**
-	 * Splits a texture into frames, using the height and width of each frame to determine start and end points of each frame.
+	 * Splits a texture region into frames, using the height and width of each frame to determine start and end points of each frame.
 	 * All frames must be the same size. The frames are in column-row order.
 	 *
-	 * @param tex the texture to be split into frames.
+	 * @param tex the texture region to be split into frames.
 	 * @param frameWidth the width of each frame.
 	 * @param frameHeight the height of each frame.
 	 * @param framePaddingWidth the padding width between frames.
 	 * @param framePaddingHeight the padding height between frames.
 	 * @return a two-dimensional array of TextureRegions, in [column][row] order.
 	 */
-	public static TextureRegion[][] splitFrames(Texture tex, int frameWidth, int frameHeight, int framePaddingWidth, int framePaddingHeight)
+	public static TextureRegion[][] splitFrames(TextureRegion tex, int frameWidth, int frameHeight, int framePaddingWidth, int framePaddingHeight)
 	{
-		int rows = tex.getHeight() / frameHeight;
-		int columns = tex.getWidth() / frameWidth;
+		int rows = tex.getRegionHeight() / frameHeight;
+		int columns = tex.getRegionWidth() / frameWidth;
 
 		TextureRegion[][] frameSets = new TextureRegion[columns][rows];
 		for (int col = 0; col < columns; col++) {
@@ -74,7 +73,7 @@ abstract class TextureUtil {
 		return frameSets;
 	}
 
-	public static TextureRegion[] adaptiveSplit(Texture texture, Class<? extends Sprite> spriteType) {
+	public static TextureRegion[] adaptiveSplit(TextureRegion texture, Class<? extends Sprite> spriteType) {
 		if (spriteType.equals(DeepWaterSprite.class) || spriteType.equals(WaterSprite.class)) {
 			return adaptiveSplit_water(texture);
 		} else {
@@ -91,10 +90,10 @@ abstract class TextureUtil {
 	 * @return an array of TextureRegions representing textures for each of the 16
 	 *         adaptive tiling states.
 	 */
-	private static TextureRegion[] adaptiveSplit_16(Texture tex)
+	private static TextureRegion[] adaptiveSplit_16(TextureRegion tex)
 	{
-		if (tex.getHeight() != Units.TileToWorldScale * 4
-				&& tex.getWidth() != Units.TileToWorldScale * 4)
+		if (tex.getRegionHeight() != Units.TileToWorldScale * 4
+				&& tex.getRegionWidth() != Units.TileToWorldScale * 4)
 		{
 			throw new TextureDimensionException("Cannot split texture into 16 tiles, wrong size!");
 		}
@@ -136,10 +135,10 @@ abstract class TextureUtil {
 	 * @return an array of TextureRegions representing textures for each of the 9 adaptive
 	 *         tiling states.
 	 */
-	private static TextureRegion[] adaptiveSplit_water(Texture tex)
+	private static TextureRegion[] adaptiveSplit_water(TextureRegion tex)
 	{
-		if (tex.getHeight() != Units.TileToWorldScale * 4
-				&& tex.getWidth() != Units.TileToWorldScale * 6) {
+		if (tex.getRegionHeight() != Units.TileToWorldScale * 4
+				&& tex.getRegionWidth() != Units.TileToWorldScale * 6) {
 			throw new TextureDimensionException("Cannot split texture into 16x9x9 tiles, wrong size!");
 		}
 
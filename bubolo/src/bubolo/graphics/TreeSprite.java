@@ -2,7 +2,7 @@ package bubolo.graphics;
 
 import java.util.Random;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import bubolo.world.Tree;
 
@@ -12,7 +12,7 @@ import bubolo.world.Tree;
  * @author BU673 - Clone Industries
  */
 class TreeSprite extends AbstractEntitySprite<Tree> {
-	private Texture image;
+	private TextureRegion image;
 
 	private float rotation;
 
@@ -29,7 +29,7 @@ class TreeSprite extends AbstractEntitySprite<Tree> {
 	TreeSprite(Tree tree) {
 		super(DrawLayer.TerrainImprovements, tree);
 
-		image = Graphics.getTexture(TEXTURE_FILE);
+		image = Graphics.getTextureRegion(TEXTURE_FILE);
 		Random rand = new Random();
 		rotation = (float) (rand.nextInt(4) * (Math.PI / 2));
 	}
@@ -39,6 +39,11 @@ class TreeSprite extends AbstractEntitySprite<Tree> {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		drawTexture(graphics, image);
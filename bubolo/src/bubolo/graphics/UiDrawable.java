@@ -1,20 +1,29 @@
 package bubolo.graphics;
 
 /**
- * Objects that draw to the user interface, such as by using ShapeRenderer, can implement this interface. Unlike
- * with the Drawable.draw method, it is fine to interleave calls to ShapeRenderer and Batch using this interface's
- * sole method if needed.
+ * Objects that draw to the user interface, such as status bars, can implement this interface. The UI elements of all visible
+ * sprites are drawn in two passes, so that drawing them doesn't flush the shape renderer or batch once per sprite: first
+ * shapes, then textures and text.
  *
  * @author Christopher D. Canfield
  */
 interface UiDrawable {
 
 	/**
-	 * Draws UI elements. It is fine to interleave calls to the ShapeRenderer and Batch if needed. Unlike with
-	 * the Drawable.draw method, which attempts to batch all draw calls, no batching is performed by the graphics
-	 * system when this method is used.
+	 * Draws UI shapes, such as status bars. graphics.shapeRenderer().begin(ShapeType.Filled) has been called before this
+	 * method is called, and implementations must not call begin() or end().
 	 *
 	 * @param graphics reference to the Graphics system.
 	 */
 	void drawUiElements(Graphics graphics);
+
+	/**
+	 * Draws UI textures and text, which appear above the UI shapes. graphics.batch().begin() has been called before this
+	 * method is called, and implementations must not call begin() or end(). Implementations that change the batch's color
+	 * must restore it to white.
+	 *
+	 * @param graphics reference to the Graphics system.
+	 */
+	default void drawUiTextures(Graphics graphics) {
+	}
 }
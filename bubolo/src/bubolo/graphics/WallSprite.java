@@ -9,7 +9,9 @@ import bubolo.world.Wall;
  *
  * @author BU673 - Clone Industries
  */
-class WallSprite extends AbstractEntitySprite<Wall> {
+class WallSprite extends AbstractEntitySprite<Wall> implements Wall.WallDamagedObserver {
+	private final SpriteGrid spriteGrid;
+
 	private TextureRegion[] undamagedFrames;
 	private TextureRegion[][] damagedFrames = new TextureRegion[3][];
 
@@ -25,11 +27,15 @@ class WallSprite extends AbstractEntitySprite<Wall> {
 	 * Constructor for the WallSprite. This is Package-private because sprites should not be directly created outside of the
 	 * graphics system.
 	 *
+	 * @param graphics reference to the graphics system.
 	 * @param wall the wall entity.
 	 */
-	WallSprite(Wall wall) {
+	WallSprite(Graphics graphics, Wall wall) {
 		super(DrawLayer.TerrainImprovements, wall);
 
+		spriteGrid = graphics.sprites().getSpriteGrid();
+		wall.setWallDamagedObserver(this);
+
 		undamagedFrames = Graphics.getTextureRegion1d(UNDAMAGED_TEXTURE_FILE, getClass());
 		damagedFrames[0] = Graphics.getTextureRegion1d(MINOR_DAMAGE_TEXTURE_FILE, getClass());
 		damagedFrames[1] = Graphics.getTextureRegion1d(MEDIUM_DAMAGE_TEXTURE_FILE, getClass());
@@ -41,6 +47,11 @@ class WallSprite extends AbstractEntitySprite<Wall> {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		TextureRegion[] frames;
@@ -52,6 +63,12 @@ class WallSprite extends AbstractEntitySprite<Wall> {
 		drawTexture(graphics, frames[getEntity().getTilingState()]);
 	}
 
+	@Override
+	public void onWallDamaged() {
+		// The wall is drawn from the terrain cache, so its chunk must be rebuilt to show the damage.
+		spriteGrid.markTerrainChanged(this);
+	}
+
 	/**
 	 * Returns the index into the damaged frames, or -1 if the wall is undamaged.
 	 */
@@ -33,6 +33,11 @@ class WaterSprite extends AbstractEntitySprite<Water> {
 		return textureFileHashCode;
 	}
 
+	@Override
+	protected boolean isTerrainCached() {
+		return true;
+	}
+
 	@Override
 	public void draw(Graphics graphics) {
 		int currentState = this.getEntity().getTilingState();
@@ -32,6 +32,9 @@ public class InputManager implements InputProcessor {
 		/** A request to change either to fullscreen (if graphics.isFullscreen() is false) or windowed (if graphics.isFullscreen() is true). */
 		FullscreenStatusChangeRequested,
 
+		/** A request to print the frame profiler's summary of the most recent frames. */
+		DumpFrameProfile,
+
 		Activate,
 		Cancel,
 
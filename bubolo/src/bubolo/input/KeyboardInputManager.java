@@ -61,6 +61,7 @@ class KeyboardInputManager implements InputProcessor {
 		processNextMenuGroupAction(actionsBackBuffer, keycode);
 		processShowDiplomacyMenu(actionsBackBuffer, keycode);
 		processFullscreenStatusChangeAction(actionsBackBuffer, keycode);
+		processDumpFrameProfileAction(actionsBackBuffer, keycode);
 		processActivateAction(actionsBackBuffer, keycode);
 		processCancelAction(actionsBackBuffer, keycode);
 		processQuitAction(actionsBackBuffer, keycode);
@@ -122,6 +123,12 @@ class KeyboardInputManager implements InputProcessor {
 		}
 	}
 
+	private static void processDumpFrameProfileAction(boolean[] actions, int keycode) {
+		if (keycode == Keys.F9) {
+			actions[Action.DumpFrameProfile.ordinal()] = true;
+		}
+	}
+
 	private static boolean isKeyPressed(int key) {
 		return input.isKeyPressed(key);
 	}
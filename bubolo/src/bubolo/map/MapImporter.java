@@ -19,7 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 import java.util.logging.Logger;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -38,6 +38,7 @@ import bubolo.world.Building;
 import bubolo.world.Crater;
 import bubolo.world.DeepWater;
 import bubolo.world.Entity;
+import bubolo.world.EntityTypes;
 import bubolo.world.GameWorld;
 import bubolo.world.Grass;
 import bubolo.world.Mine;
@@ -65,9 +66,9 @@ public class MapImporter {
 	private static class Tileset {
 		final String name;
 		/**
-		 * Map of tile IDs to Entity creation functions. The tile ID is the tile's gid minus the tileset's firstGid.
+		 * Map of tile IDs to entity type ids. The tile ID is the tile's gid minus the tileset's firstGid.
 		 */
-		final Map<Integer, BiFunction<World, Entity.ConstructionArgs, Entity>> tiles = new HashMap<>();
+		final Map<Integer, Byte> tiles = new HashMap<>();
 
 		int firstGid;
 
@@ -136,45 +137,45 @@ public class MapImporter {
 		// Add the known map tiles here.
 
 		Tileset stationaryElements = new Tileset("bubolo_tilset_stationaryElements");
-		stationaryElements.tiles.put(0, (world, args) -> world.addEntity(Pillbox.class, args));
-		stationaryElements.tiles.put(1, (world, args) -> world.addEntity(Tree.class, args));
-		stationaryElements.tiles.put(2, (world, args) -> world.addEntity(Mine.class, args));
-		stationaryElements.tiles.put(3, (world, args) -> world.addEntity(Wall.class, args));
-		stationaryElements.tiles.put(4, (world, args) -> world.addEntity(Base.class, args));
-		stationaryElements.tiles.put(5, (world, args) -> world.addEntity(Crater.class, args));
-		stationaryElements.tiles.put(6, (world, args) -> world.addEntity(Rubble.class, args));
-		stationaryElements.tiles.put(7, (world, args) -> world.addEntity(Spawn.class, args));
-		stationaryElements.tiles.put(8, (world, args) -> world.addEntity(Building.class, args));
+		stationaryElements.tiles.put(0, EntityTypes.id(Pillbox.class));
+		stationaryElements.tiles.put(1, EntityTypes.id(Tree.class));
+		stationaryElements.tiles.put(2, EntityTypes.id(Mine.class));
+		stationaryElements.tiles.put(3, EntityTypes.id(Wall.class));
+		stationaryElements.tiles.put(4, EntityTypes.id(Base.class));
+		stationaryElements.tiles.put(5, EntityTypes.id(Crater.class));
+		stationaryElements.tiles.put(6, EntityTypes.id(Rubble.class));
+		stationaryElements.tiles.put(7, EntityTypes.id(Spawn.class));
+		stationaryElements.tiles.put(8, EntityTypes.id(Building.class));
 		tilesets.put(stationaryElements.name, stationaryElements);
 
 		Tileset terrain = new Tileset("bubolo_tilset_terrain");
-		terrain.tiles.put(0, (world, args) -> world.addEntity(Grass.class, args));
-		terrain.tiles.put(1, (world, args) -> world.addEntity(Swamp.class, args));
-		terrain.tiles.put(2, (world, args) -> world.addEntity(Water.class, args));
-		terrain.tiles.put(3, (world, args) -> world.addEntity(DeepWater.class, args));
-		terrain.tiles.put(4, (world, args) -> world.addEntity(Road.class, args));
+		terrain.tiles.put(0, EntityTypes.id(Grass.class));
+		terrain.tiles.put(1, EntityTypes.id(Swamp.class));
+		terrain.tiles.put(2, EntityTypes.id(Water.class));
+		terrain.tiles.put(3, EntityTypes.id(DeepWater.class));
+		terrain.tiles.put(4, EntityTypes.id(Road.class));
 		tilesets.put(terrain.name, terrain);
 
 		// Tilesets for the original layout, which put rubble and craters in the terrain category.
 		// Needed so the Everard Island map will continue to work.
 		Tileset stationaryElements_oldLayout = new Tileset("bubolo_tilset_stationaryElements_oldLayout");
-		stationaryElements_oldLayout.tiles.put(0, (world, args) -> world.addEntity(Pillbox.class, args));
-		stationaryElements_oldLayout.tiles.put(1, (world, args) -> world.addEntity(Tree.class, args));
-		stationaryElements_oldLayout.tiles.put(2, (world, args) -> world.addEntity(Mine.class, args));
-		stationaryElements_oldLayout.tiles.put(3, (world, args) -> world.addEntity(Wall.class, args));
-		stationaryElements_oldLayout.tiles.put(4, (world, args) -> world.addEntity(Base.class, args));
-		stationaryElements_oldLayout.tiles.put(5, (world, args) -> world.addEntity(Spawn.class, args));
-		stationaryElements_oldLayout.tiles.put(6, (world, args) -> world.addEntity(Building.class, args));
+		stationaryElements_oldLayout.tiles.put(0, EntityTypes.id(Pillbox.class));
+		stationaryElements_oldLayout.tiles.put(1, EntityTypes.id(Tree.class));
+		stationaryElements_oldLayout.tiles.put(2, EntityTypes.id(Mine.class));
+		stationaryElements_oldLayout.tiles.put(3, EntityTypes.id(Wall.class));
+		stationaryElements_oldLayout.tiles.put(4, EntityTypes.id(Base.class));
+		stationaryElements_oldLayout.tiles.put(5, EntityTypes.id(Spawn.class));
+		stationaryElements_oldLayout.tiles.put(6, EntityTypes.id(Building.class));
 		tilesets.put(stationaryElements_oldLayout.name, stationaryElements_oldLayout);
 
 		Tileset terrain_oldLayout = new Tileset("bubolo_tilset_terrain_oldLayout");
-		terrain_oldLayout.tiles.put(0, (world, args) -> world.addEntity(Grass.class, args));
-		terrain_oldLayout.tiles.put(1, (world, args) -> world.addEntity(Swamp.class, args));
-		terrain_oldLayout.tiles.put(2, (world, args) -> world.addEntity(Water.class, args));
-		terrain_oldLayout.tiles.put(3, (world, args) -> world.addEntity(DeepWater.class, args));
-		terrain_oldLayout.tiles.put(4, (world, args) -> world.addEntity(Road.class, args));
-		terrain_oldLayout.tiles.put(5, (world, args) -> world.addEntity(Crater.class, args));
-		terrain_oldLayout.tiles.put(6, (world, args) -> world.addEntity(Rubble.class, args));
+		terrain_oldLayout.tiles.put(0, EntityTypes.id(Grass.class));
+		terrain_oldLayout.tiles.put(1, EntityTypes.id(Swamp.class));
+		terrain_oldLayout.tiles.put(2, EntityTypes.id(Water.class));
+		terrain_oldLayout.tiles.put(3, EntityTypes.id(DeepWater.class));
+		terrain_oldLayout.tiles.put(4, EntityTypes.id(Road.class));
+		terrain_oldLayout.tiles.put(5, EntityTypes.id(Crater.class));
+		terrain_oldLayout.tiles.put(6, EntityTypes.id(Rubble.class));
 		tilesets.put(terrain_oldLayout.name, terrain_oldLayout);
 	}
 
@@ -354,18 +355,12 @@ public class MapImporter {
 
 			JsonArray layers = (JsonArray) jsonTiledMap.get(Key.Layers.getKey());
 			diagnostics.layerCount = layers.size();
-			// Iterate through each map layer.
-			for (int layerIndex = 0; layerIndex < layers.size(); layerIndex++) {
-				JsonObject layer = (JsonObject) layers.get(layerIndex);
-				JsonArray layerTiles = (JsonArray) layer.get(Key.Data.getKey());
-
-				// Iterate through each tile GID in the map layer.
-				for (int row = 0; row < tileRows; row++) {
-					for (int col = 0; col < tileColumns; col++) {
-						int tileGid = layerTiles.getInteger(row * tileColumns + col);
-						addEntityIfGidRecognized(tileGid, world, row, col, diagnostics);
-					}
-				}
+
+			// Decode each layer's tiles in parallel, in bands of rows, and then add the decoded entities to the world on this
+			// thread as a single batch, in layer, row and column order.
+			var newEntities = decodeLayers(layers, tileColumns, tileRows);
+			for (Entity entity : world.addEntities(newEntities)) {
+				diagnostics.typesImported.add(entity.getClass().getSimpleName());
 			}
 
 			// Process a game tick, which finalizes the addition of the new entities to the world.
@@ -406,7 +401,42 @@ public class MapImporter {
 		}
 	}
 
-	void addEntityIfGidRecognized(int tileGid, World world, int row, int col, Diagnostics diagnostics) {
+	/** The number of map rows that are decoded by each parallel task. */
+	private static final int RowsPerBand = 16;
+
+	/**
+	 * Decodes the tiles in each layer into the entities that will be added to the world. The layers are split into bands of
+	 * rows, which are decoded in parallel on the common fork-join pool. Decoding doesn't change the world, so the bands'
+	 * entities are only joined, in order, once every band is decoded.
+	 *
+	 * @return the decoded entities, ordered by layer, then by row, and then by column.
+	 */
+	private List<World.NewEntity> decodeLayers(JsonArray layers, int tileColumns, int tileRows) {
+		int bandsPerLayer = (tileRows + RowsPerBand - 1) / RowsPerBand;
+		return IntStream.range(0, layers.size() * bandsPerLayer).parallel()
+				.mapToObj(band -> {
+					JsonObject layer = (JsonObject) layers.get(band / bandsPerLayer);
+					JsonArray layerTiles = (JsonArray) layer.get(Key.Data.getKey());
+					int startRow = (band % bandsPerLayer) * RowsPerBand;
+					int endRow = Math.min(startRow + RowsPerBand, tileRows);
+					return decodeBand(layerTiles, startRow, endRow, tileColumns, tileRows);
+				})
+				.flatMap(List::stream)
+				.toList();
+	}
+
+	private List<World.NewEntity> decodeBand(JsonArray layerTiles, int startRow, int endRow, int tileColumns, int tileRows) {
+		var newEntities = new ArrayList<World.NewEntity>((endRow - startRow) * tileColumns);
+		for (int row = startRow; row < endRow; row++) {
+			for (int col = 0; col < tileColumns; col++) {
+				int tileGid = layerTiles.getInteger(row * tileColumns + col);
+				decodeTileIfGidRecognized(tileGid, row, col, tileRows, newEntities);
+			}
+		}
+		return newEntities;
+	}
+
+	private void decodeTileIfGidRecognized(int tileGid, int row, int col, int tileRows, List<World.NewEntity> newEntities) {
 		// Zero represents an empty space in the layer, so skip it if encountered.
 		if (tileGid > 0) {
 			// Check the tile GID against the known GIDs in each tileset.
@@ -414,15 +444,13 @@ public class MapImporter {
 				// Add the entity if it is known to this tileset.
 				if (ts.isGidInThisTileset(tileGid)) {
 					// The game world is flipped from json map indexes (zero is the top in the map file, but the bottom in the world map).
-					int posY = (world.getTileRows() - row - 1) * Units.TileToWorldScale;
+					int posY = (tileRows - row - 1) * Units.TileToWorldScale;
 					int posX = col * Units.TileToWorldScale;
 					float rotation = 0;
 
 					// The x and y coords are flipped in the map.
 					var args = new Entity.ConstructionArgs(posX, posY, rotation);
-					Entity entity = ts.tiles.get(tileGid - ts.firstGid).apply(world, args);
-
-					diagnostics.typesImported.add(entity.getClass().getSimpleName());
+					newEntities.add(new World.NewEntity(EntityTypes.type(ts.tiles.get(tileGid - ts.firstGid)), args));
 				}
 			}
 		}
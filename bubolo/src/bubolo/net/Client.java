@@ -1,17 +1,19 @@
 package bubolo.net;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 
+import bubolo.Config;
 import bubolo.GameApplication;
 import bubolo.Systems;
 import bubolo.net.command.ClientConnected;
+import bubolo.net.command.ConnectedToServer;
+import bubolo.util.Nullable;
 
 /**
  * A game client. A network game can have multiple clients, but only one server.
@@ -24,7 +26,8 @@ class Client implements NetworkSubsystem, Runnable {
 	// Specifies whether the network system has shut down.
 	private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
-	private final Executor sender;
+	// Commands waiting to be sent to the server.
+	private final OutboundQueue sendQueue;
 
 	// Reference to the network system.
 	private final Network network;
@@ -32,7 +35,12 @@ class Client implements NetworkSubsystem, Runnable {
 	// The name of this player.
 	private String playerName;
 
-	private ObjectOutputStream serverStream;
+	private CommandWriter serverStream;
+
+	// Channel for state commands, such as tank movement. Null if the datagram socket couldn't be opened.
+	private @Nullable UnreliableChannel datagramChannel;
+	// The address of the server's datagram channel. Null until the server has confirmed that it has a datagram channel.
+	private volatile @Nullable InetSocketAddress serverDatagramAddress;
 
 	/**
 	 * Constructs a Client object.
@@ -41,7 +49,9 @@ class Client implements NetworkSubsystem, Runnable {
 	 */
 	Client(Network network) {
 		this.network = network;
-		this.sender = Executors.newSingleThreadExecutor();
+		this.sendQueue = new OutboundQueue("server", this::sendNow, OutboundQueue.DefaultCapacity,
+				OutboundQueue.DefaultSaturationTimeoutMillis, this::closeConnection);
+		network.metrics().setSendQueueDepthSource(sendQueue::size);
 	}
 
 	/**
@@ -59,8 +69,9 @@ class Client implements NetworkSubsystem, Runnable {
 			server = new Socket(serverIpAddress, NetworkInformation.GAME_PORT);
 			server.setTcpNoDelay(true);
 
-			serverStream = new ObjectOutputStream(server.getOutputStream());
-			send(new ClientConnected(playerName));
+			serverStream = new CommandWriter(server.getOutputStream(), network.metrics());
+			send(new ClientConnected(playerName, openDatagramChannel()));
+			sendQueue.start();
 
 			// Start the network reader thread.
 			Thread thread = new Thread(this, "net-client");
@@ -71,14 +82,64 @@ class Client implements NetworkSubsystem, Runnable {
 		}
 	}
 
+	/**
+	 * Opens the datagram channel. Failure to open the channel isn't fatal: state commands will be sent over TCP instead.
+	 *
+	 * @return the port of the datagram channel, or zero if it couldn't be opened.
+	 */
+	private int openDatagramChannel() {
+		try {
+			datagramChannel = new UnreliableChannel(0, network.metrics(), source -> source.equals(serverDatagramAddress),
+					(command, source) -> network.postToGameThread(command));
+			return datagramChannel.localPort();
+		} catch (NetworkException e) {
+			Logger.getLogger(Config.AppProgramaticTitle).warning("Unable to open datagram channel; using TCP only: " + e);
+			return 0;
+		}
+	}
+
 	@Override
 	public void send(NetworkCommand command) {
-		sender.execute(new NetworkSender(serverStream, command));
+		sendQueue.add(command);
+	}
+
+	/**
+	 * Sends a command to the server. State commands are sent over the datagram channel if the server has one; all other
+	 * commands are sent over TCP. Called on the send queue's thread.
+	 */
+	private void sendNow(NetworkCommand command) throws IOException {
+		var datagramTarget = serverDatagramAddress;
+		if (datagramTarget != null && command instanceof NetworkStateCommand stateCommand) {
+			datagramChannel.send(stateCommand, datagramTarget);
+		} else {
+			serverStream.write(command);
+		}
+	}
+
+	/**
+	 * Closes the connection to the server, which causes the reader thread to report the disconnection.
+	 */
+	private void closeConnection() {
+		try {
+			server.close();
+		} catch (IOException e) {
+		}
+	}
+
+	@Override
+	public void onEntityRemoved(UUID entityId) {
+		if (datagramChannel != null) {
+			datagramChannel.forgetEntity(entityId);
+		}
 	}
 
 	@Override
 	public void dispose() {
 		shutdown.set(true);
+		sendQueue.dispose();
+		if (datagramChannel != null) {
+			datagramChannel.dispose();
+		}
 	}
 
 	@Override
@@ -87,9 +148,22 @@ class Client implements NetworkSubsystem, Runnable {
 			throw new IllegalStateException("Unable to run client; the network system has not been started.");
 		}
 
-		try (ObjectInputStream inputStream = new ObjectInputStream(server.getInputStream())) {
+		try (CommandReader inputStream = new CommandReader(server.getInputStream(), network.metrics())) {
 			while (!shutdown.get()) {
-				NetworkCommand command = (NetworkCommand) inputStream.readObject();
+				NetworkCommand command = inputStream.read();
+				if (command instanceof Ping ping) {
+					send(new Pong(ping.sentNanos()));
+					continue;
+				} else if (command instanceof Pong pong) {
+					network.metrics().recordRoundTrip("Server", System.nanoTime() - pong.sentNanos());
+					continue;
+				}
+
+				// The server's datagram port is negotiated at connect time, and sent in the ConnectedToServer reply.
+				if (command instanceof ConnectedToServer connected && connected.getServerDatagramPort() > 0
+						&& datagramChannel != null && serverDatagramAddress == null) {
+					serverDatagramAddress = new InetSocketAddress(server.getInetAddress(), connected.getServerDatagramPort());
+				}
 				network.postToGameThread(command);
 			}
 		} catch (IOException | ClassNotFoundException e) {
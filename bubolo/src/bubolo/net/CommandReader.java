@@ -0,0 +1,51 @@
+package bubolo.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+
+import com.google.common.io.CountingInputStream;
+
+/**
+ * Reads network commands from a stream, and records the number of bytes read for each command.
+ *
+ * @author Christopher D. Canfield
+ */
+class CommandReader implements Closeable {
+	private final CountingInputStream countingStream;
+	private final ObjectInputStream stream;
+	private final NetworkMetrics metrics;
+
+	/**
+	 * Constructs a CommandReader. Blocks until the object stream header has been read.
+	 *
+	 * @param in the underlying input stream, such as a socket's input stream.
+	 * @param metrics the network metrics.
+	 * @throws IOException if the stream header can't be read.
+	 */
+	CommandReader(InputStream in, NetworkMetrics metrics) throws IOException {
+		this.countingStream = new CountingInputStream(in);
+		this.stream = new ObjectInputStream(countingStream);
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Blocks until the next command has been read.
+	 *
+	 * @return the next command.
+	 * @throws IOException if the command can't be read.
+	 * @throws ClassNotFoundException if the command's class isn't known.
+	 */
+	NetworkCommand read() throws IOException, ClassNotFoundException {
+		long startCount = countingStream.getCount();
+		NetworkCommand command = (NetworkCommand) stream.readObject();
+		metrics.recordReceived(command, countingStream.getCount() - startCount);
+		return command;
+	}
+
+	@Override
+	public void close() throws IOException {
+		stream.close();
+	}
+}
@@ -0,0 +1,65 @@
+package bubolo.net;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * Writes network commands to a stream, and records the number of bytes written for each command.
+ *
+ * @author Christopher D. Canfield
+ */
+class CommandWriter {
+	/**
+	 * The number of commands written between object stream resets. ObjectOutputStream keeps a reference to every object
+	 * written to it until it is reset, so without periodic resets its memory use grows for as long as the connection is open.
+	 */
+	static final int ResetInterval = 128;
+
+	private final CountingOutputStream countingStream;
+	private final ObjectOutputStream stream;
+	private final NetworkMetrics metrics;
+
+	private int writesSinceReset;
+
+	/**
+	 * Constructs a CommandWriter. This writes the object stream header to the output stream.
+	 *
+	 * @param out the underlying output stream, such as a socket's output stream.
+	 * @param metrics the network metrics.
+	 * @throws IOException if the stream header can't be written.
+	 */
+	CommandWriter(OutputStream out, NetworkMetrics metrics) throws IOException {
+		this.countingStream = new CountingOutputStream(out);
+		this.stream = new ObjectOutputStream(countingStream);
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Writes the command to the stream. Safe to call from multiple threads.
+	 *
+	 * @param command the command to write.
+	 * @throws IOException if the command can't be written.
+	 */
+	synchronized void write(NetworkCommand command) throws IOException {
+		long startCount = countingStream.getCount();
+		stream.writeObject(command);
+		if (++writesSinceReset >= ResetInterval) {
+			stream.reset();
+			writesSinceReset = 0;
+		}
+		metrics.recordSent(command, countingStream.getCount() - startCount);
+	}
+
+	/**
+	 * Closes the stream.
+	 */
+	void close() {
+		try {
+			stream.close();
+		} catch (IOException e) {
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package bubolo.net;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import bubolo.util.Nullable;
+
+/**
+ * A bounded, lock-free, multiple-producer single-consumer ring buffer. Unlike ConcurrentLinkedQueue, it doesn't allocate a
+ * node for each element, so a steady stream of offers and polls doesn't allocate.
+ * <p>
+ * Each slot has a sequence number that tells producers and the consumer whether the slot is free for the current lap around
+ * the buffer. Producers claim a slot by advancing the shared tail with compare-and-set, write the element, and then publish
+ * it by advancing the slot's sequence. The single consumer reads published slots in order.
+ * </p>
+ *
+ * @param <E> the element type.
+ *
+ * @author Christopher D. Canfield
+ */
+class MpscRingBuffer<E> {
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLongArray sequences;
+	private final int mask;
+
+	private final AtomicLong tail = new AtomicLong();
+	// Only written by the consumer thread, but read by size().
+	private volatile long head;
+
+	/**
+	 * Constructs a ring buffer.
+	 *
+	 * @param capacity the maximum number of elements. Must be a power of two.
+	 */
+	MpscRingBuffer(int capacity) {
+		assert capacity > 0 && Integer.bitCount(capacity) == 1 : "Capacity must be a power of two: " + capacity;
+
+		elements = new AtomicReferenceArray<>(capacity);
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+		mask = capacity - 1;
+	}
+
+	/**
+	 * Adds an element to the end of the buffer. Safe to call from any thread.
+	 *
+	 * @param element the element to add. Must not be null.
+	 * @return true if the element was added, or false if the buffer is full.
+	 */
+	boolean offer(E element) {
+		assert element != null;
+
+		while (true) {
+			long position = tail.get();
+			int index = (int) position & mask;
+			long sequence = sequences.get(index);
+			long difference = sequence - position;
+
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					elements.lazySet(index, element);
+					// Publish the element to the consumer.
+					sequences.set(index, position + 1);
+					return true;
+				}
+			} else if (difference < 0) {
+				// The consumer hasn't yet freed this slot from the previous lap: the buffer is full.
+				return false;
+			}
+			// Otherwise, another producer claimed this position first. Try again with the new tail.
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the front of the buffer. Must only be called from the consumer thread.
+	 *
+	 * @return the element at the front of the buffer, or null if the buffer is empty.
+	 */
+	@Nullable E poll() {
+		long position = head;
+		int index = (int) position & mask;
+		if (sequences.get(index) != position + 1) {
+			// Empty, or a producer has claimed the slot but not yet published its element.
+			return null;
+		}
+
+		E element = elements.get(index);
+		elements.lazySet(index, null);
+		// Free the slot for the producers' next lap around the buffer.
+		sequences.set(index, position + mask + 1);
+		head = position + 1;
+		return element;
+	}
+
+	/**
+	 * @return the approximate number of elements in the buffer.
+	 */
+	int size() {
+		return (int) Math.max(0, tail.get() - head);
+	}
+
+	/**
+	 * @return the maximum number of elements.
+	 */
+	int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Removes all elements. Must only be called from the consumer thread.
+	 */
+	void clear() {
+		while (poll() != null) {
+		}
+	}
+}
@@ -12,6 +12,7 @@ import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import bubolo.GameApplication;
 import bubolo.world.Spawn;
@@ -79,6 +80,14 @@ public interface Network {
 	 */
 	void update(GameApplication app);
 
+	/**
+	 * Notifies the network that an entity was removed from the world, so that any state that it keeps for the entity can be
+	 * discarded. Must be called on the game logic thread.
+	 *
+	 * @param entityId the removed entity's ID.
+	 */
+	void onEntityRemoved(UUID entityId);
+
 	/**
 	 * Runs a NetworkCommand in the game logic thread.
 	 *
@@ -108,6 +117,13 @@ public interface Network {
 	 */
 	void removeObserver(NetworkObserver observer);
 
+	/**
+	 * Returns the network load metrics, such as per-command throughput, queue depths and round trip times.
+	 *
+	 * @return the network metrics.
+	 */
+	NetworkMetrics metrics();
+
 	/**
 	 * Returns a reference to the observer notifier.
 	 *
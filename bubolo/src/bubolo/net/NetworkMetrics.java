@@ -0,0 +1,290 @@
+package bubolo.net;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import bubolo.util.Nullable;
+
+/**
+ * Network load metrics: messages and bytes per second for each network command type, the depth of the outbound send queue
+ * and of the game thread's posted command queue, and the round trip time to each connected peer.
+ * <p>
+ * The counters may be updated from any thread. The per-second rates are recalculated by {@code sample}, which is called
+ * by the network system once per {@code SampleIntervalMillis}.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+public class NetworkMetrics {
+	/**
+	 * The number of milliseconds between samples.
+	 */
+	public static final long SampleIntervalMillis = 1000;
+	private static final long SampleIntervalNanos = SampleIntervalMillis * 1_000_000;
+
+	/**
+	 * Messages and bytes per second for a network command type, over the most recent sample interval.
+	 */
+	public static record CommandRate(String commandName,
+			double sentMessagesPerSecond, double sentBytesPerSecond,
+			double receivedMessagesPerSecond, double receivedBytesPerSecond) {
+	}
+
+	private static class Counters {
+		final LongAdder sentMessages = new LongAdder();
+		final LongAdder sentBytes = new LongAdder();
+		final LongAdder receivedMessages = new LongAdder();
+		final LongAdder receivedBytes = new LongAdder();
+
+		// Totals as of the previous sample. Only accessed by the sampling thread.
+		long lastSentMessages;
+		long lastSentBytes;
+		long lastReceivedMessages;
+		long lastReceivedBytes;
+	}
+
+	private final Map<Class<?>, Counters> counters = new ConcurrentHashMap<>();
+
+	// Round trip times, in nanoseconds, keyed by peer name.
+	private final Map<String, Long> roundTripNanos = new ConcurrentHashMap<>();
+
+	private IntSupplier sendQueueDepthSource = () -> 0;
+
+	// The largest number of posted commands that were waiting at the start of a game tick during the current sample interval.
+	private int maxPostedCommandDepthThisSample;
+	// The largest number of posted commands that were carried over to the next game tick during the current sample interval.
+	private int maxCarriedOverCommandsThisSample;
+	private final LongAdder droppedStateCommands = new LongAdder();
+
+	private long lastSampleNanos;
+
+	// Values calculated during the most recent sample.
+	private volatile List<CommandRate> commandRates = List.of();
+	private volatile int sendQueueDepth;
+	private volatile int postedCommandDepth;
+	private volatile int carriedOverCommands;
+
+	private @Nullable NetworkMetricsLog log;
+
+	void recordSent(Object command, long bytes) {
+		var c = counters(command);
+		c.sentMessages.increment();
+		c.sentBytes.add(bytes);
+	}
+
+	void recordReceived(Object command, long bytes) {
+		var c = counters(command);
+		c.receivedMessages.increment();
+		c.receivedBytes.add(bytes);
+	}
+
+	private Counters counters(Object command) {
+		return counters.computeIfAbsent(command.getClass(), type -> new Counters());
+	}
+
+	/**
+	 * Records the number of posted commands that were waiting to be run at the start of a game tick. Called on the game thread.
+	 *
+	 * @param depth the number of posted commands that were waiting.
+	 */
+	void recordPostedCommandDepth(int depth) {
+		if (depth > maxPostedCommandDepthThisSample) {
+			maxPostedCommandDepthThisSample = depth;
+		}
+	}
+
+	/**
+	 * Records the number of posted commands that didn't fit in the game tick's budget, and were carried over to the next tick.
+	 * Called on the game thread.
+	 *
+	 * @param count the number of posted commands that were carried over.
+	 */
+	void recordCarriedOverCommands(int count) {
+		if (count > maxCarriedOverCommandsThisSample) {
+			maxCarriedOverCommandsThisSample = count;
+		}
+	}
+
+	/**
+	 * Records that a received state command was dropped because the posted command queue was full.
+	 */
+	void recordDroppedStateCommand() {
+		droppedStateCommands.increment();
+	}
+
+	void recordRoundTrip(String peerName, long nanos) {
+		roundTripNanos.put(peerName, nanos);
+	}
+
+	void removePeer(String peerName) {
+		roundTripNanos.remove(peerName);
+	}
+
+	/**
+	 * Sets the function that returns the number of commands waiting to be sent.
+	 */
+	void setSendQueueDepthSource(IntSupplier source) {
+		this.sendQueueDepthSource = source;
+	}
+
+	/**
+	 * Recalculates the rates if at least {@code SampleIntervalMillis} have passed since the previous sample, and writes them
+	 * to the metrics log, if one was started.
+	 *
+	 * @param nowNanos the current time, from {@code System.nanoTime()}.
+	 * @return true if a sample was taken.
+	 */
+	boolean sample(long nowNanos) {
+		if (lastSampleNanos == 0) {
+			lastSampleNanos = nowNanos;
+			return false;
+		}
+
+		long elapsedNanos = nowNanos - lastSampleNanos;
+		if (elapsedNanos < SampleIntervalNanos) {
+			return false;
+		}
+		lastSampleNanos = nowNanos;
+
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		var rates = new ArrayList<CommandRate>(counters.size());
+		for (var entry : counters.entrySet()) {
+			var c = entry.getValue();
+			long sentMessages = c.sentMessages.sum();
+			long sentBytes = c.sentBytes.sum();
+			long receivedMessages = c.receivedMessages.sum();
+			long receivedBytes = c.receivedBytes.sum();
+
+			rates.add(new CommandRate(entry.getKey().getSimpleName(),
+					(sentMessages - c.lastSentMessages) / seconds, (sentBytes - c.lastSentBytes) / seconds,
+					(receivedMessages - c.lastReceivedMessages) / seconds, (receivedBytes - c.lastReceivedBytes) / seconds));
+
+			c.lastSentMessages = sentMessages;
+			c.lastSentBytes = sentBytes;
+			c.lastReceivedMessages = receivedMessages;
+			c.lastReceivedBytes = receivedBytes;
+		}
+		rates.sort(Comparator.comparing(CommandRate::commandName));
+		commandRates = Collections.unmodifiableList(rates);
+
+		sendQueueDepth = sendQueueDepthSource.getAsInt();
+		postedCommandDepth = maxPostedCommandDepthThisSample;
+		maxPostedCommandDepthThisSample = 0;
+		carriedOverCommands = maxCarriedOverCommandsThisSample;
+		maxCarriedOverCommandsThisSample = 0;
+
+		if (log != null) {
+			log.write(this);
+		}
+		return true;
+	}
+
+	/**
+	 * Starts writing each sample to the specified file. Files with a .json extension are written as one json object per line;
+	 * all other files are written as CSV. Does nothing if a log was already started.
+	 *
+	 * @param file the log file. It is replaced if it already exists.
+	 * @throws IOException if the file can't be opened.
+	 */
+	public void startLog(Path file) throws IOException {
+		if (log == null) {
+			log = new NetworkMetricsLog(file);
+		}
+	}
+
+	/**
+	 * Closes the metrics log, if one was started.
+	 */
+	void dispose() {
+		if (log != null) {
+			log.close();
+			log = null;
+		}
+	}
+
+	/**
+	 * @return the per-command rates from the most recent sample, sorted by command name.
+	 */
+	public List<CommandRate> commandRates() {
+		return commandRates;
+	}
+
+	/**
+	 * @return the total bytes sent per second, over the most recent sample interval.
+	 */
+	public double sentBytesPerSecond() {
+		return commandRates.stream().mapToDouble(CommandRate::sentBytesPerSecond).sum();
+	}
+
+	/**
+	 * @return the total bytes received per second, over the most recent sample interval.
+	 */
+	public double receivedBytesPerSecond() {
+		return commandRates.stream().mapToDouble(CommandRate::receivedBytesPerSecond).sum();
+	}
+
+	/**
+	 * @return the number of commands that were waiting to be sent at the time of the most recent sample.
+	 */
+	public int sendQueueDepth() {
+		return sendQueueDepth;
+	}
+
+	/**
+	 * @return the largest number of received commands that were waiting to be run at the start of a game tick during the most
+	 *     recent sample interval.
+	 */
+	public int postedCommandDepth() {
+		return postedCommandDepth;
+	}
+
+	/**
+	 * @return the largest number of received commands that were carried over to the next game tick, because they didn't fit in
+	 *     the tick's budget, during the most recent sample interval.
+	 */
+	public int carriedOverCommands() {
+		return carriedOverCommands;
+	}
+
+	/**
+	 * @return the total number of received state commands that were dropped because the posted command queue was full.
+	 */
+	public long droppedStateCommands() {
+		return droppedStateCommands.sum();
+	}
+
+	/**
+	 * @return the most recent round trip time to each peer, in milliseconds, keyed by the peer's name.
+	 */
+	public Map<String, Double> roundTripMillis() {
+		var rtts = new TreeMap<String, Double>();
+		roundTripNanos.forEach((peer, nanos) -> rtts.put(peer, nanos / 1_000_000.0));
+		return rtts;
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder("Network Info:\n");
+		sb.append(String.format("   Sent / received (KB/s):     %.2f / %.2f%n", sentBytesPerSecond() / 1024, receivedBytesPerSecond() / 1024));
+		sb.append("   Send queue depth:           ").append(sendQueueDepth).append('\n');
+		sb.append("   Posted command depth:       ").append(postedCommandDepth).append('\n');
+		sb.append("   Carried over commands:      ").append(carriedOverCommands).append('\n');
+		sb.append("   Dropped state commands:     ").append(droppedStateCommands());
+		for (var rate : commandRates) {
+			sb.append(String.format("%n   %-27s sent %.1f msg/s (%.0f B/s), received %.1f msg/s (%.0f B/s)", rate.commandName() + ':',
+					rate.sentMessagesPerSecond(), rate.sentBytesPerSecond(),
+					rate.receivedMessagesPerSecond(), rate.receivedBytesPerSecond()));
+		}
+		roundTripMillis().forEach((peer, millis) -> sb.append(String.format("%n   Round trip to %s (ms): %.2f", peer, millis)));
+		return sb.toString();
+	}
+}
@@ -0,0 +1,103 @@
+package bubolo.net;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.logging.Logger;
+
+import com.github.cliftonlabs.json_simple.JsonArray;
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import bubolo.Config;
+
+/**
+ * Writes network metrics samples to a CSV or json file.
+ *
+ * @author Christopher D. Canfield
+ */
+class NetworkMetricsLog {
+	private static final String CsvHeader = "timestamp,command,sentMessagesPerSecond,sentBytesPerSecond,"
+			+ "receivedMessagesPerSecond,receivedBytesPerSecond,sendQueueDepth,postedCommandDepth,carriedOverCommands,"
+			+ "droppedStateCommands,peer,roundTripMillis";
+
+	private final BufferedWriter writer;
+	private final boolean json;
+
+	NetworkMetricsLog(Path file) throws IOException {
+		this.writer = Files.newBufferedWriter(file);
+		this.json = file.getFileName().toString().endsWith(".json");
+
+		if (!json) {
+			writer.write(CsvHeader);
+			writer.newLine();
+		}
+	}
+
+	void write(NetworkMetrics metrics) {
+		try {
+			String timestamp = Instant.now().toString();
+			if (json) {
+				writeJson(timestamp, metrics);
+			} else {
+				writeCsv(timestamp, metrics);
+			}
+			writer.flush();
+		} catch (IOException e) {
+			Logger.getLogger(Config.AppProgramaticTitle).warning("Unable to write network metrics: " + e);
+		}
+	}
+
+	private void writeCsv(String timestamp, NetworkMetrics metrics) throws IOException {
+		for (var rate : metrics.commandRates()) {
+			writer.write(String.format("%s,%s,%.2f,%.2f,%.2f,%.2f,%d,%d,%d,%d,,", timestamp, rate.commandName(),
+					rate.sentMessagesPerSecond(), rate.sentBytesPerSecond(),
+					rate.receivedMessagesPerSecond(), rate.receivedBytesPerSecond(),
+					metrics.sendQueueDepth(), metrics.postedCommandDepth(), metrics.carriedOverCommands(),
+					metrics.droppedStateCommands()));
+			writer.newLine();
+		}
+
+		// One row per peer, with the command rate columns left empty.
+		for (var roundTrip : metrics.roundTripMillis().entrySet()) {
+			writer.write(String.format("%s,,,,,,%d,%d,%d,%d,\"%s\",%.2f", timestamp,
+					metrics.sendQueueDepth(), metrics.postedCommandDepth(), metrics.carriedOverCommands(),
+					metrics.droppedStateCommands(), roundTrip.getKey().replace("\"", "\"\""), roundTrip.getValue()));
+			writer.newLine();
+		}
+	}
+
+	private void writeJson(String timestamp, NetworkMetrics metrics) throws IOException {
+		var commands = new JsonArray();
+		for (var rate : metrics.commandRates()) {
+			var command = new JsonObject();
+			command.put("command", rate.commandName());
+			command.put("sentMessagesPerSecond", rate.sentMessagesPerSecond());
+			command.put("sentBytesPerSecond", rate.sentBytesPerSecond());
+			command.put("receivedMessagesPerSecond", rate.receivedMessagesPerSecond());
+			command.put("receivedBytesPerSecond", rate.receivedBytesPerSecond());
+			commands.add(command);
+		}
+
+		var sample = new JsonObject();
+		sample.put("timestamp", timestamp);
+		sample.put("sendQueueDepth", metrics.sendQueueDepth());
+		sample.put("postedCommandDepth", metrics.postedCommandDepth());
+		sample.put("carriedOverCommands", metrics.carriedOverCommands());
+		sample.put("droppedStateCommands", metrics.droppedStateCommands());
+		sample.put("roundTripMillis", new JsonObject(metrics.roundTripMillis()));
+		sample.put("commands", commands);
+
+		writer.write(sample.toJson());
+		writer.newLine();
+	}
+
+	void close() {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			Logger.getLogger(Config.AppProgramaticTitle).warning("Unable to close network metrics: " + e);
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package bubolo.net;
+
+import java.util.UUID;
+
+/**
+ * A network game command that carries the complete, latest state of a single entity, such as its position. Each state command
+ * supersedes all earlier state commands for the same entity, so a lost or late state command can safely be discarded. Because of
+ * this, state commands are sent over the unreliable datagram channel when one has been negotiated, rather than over the reliable
+ * TCP stream. Commands that must arrive, such as entity creation or deaths, must not implement this interface.
+ *
+ * @author Christopher D. Canfield
+ */
+public interface NetworkStateCommand extends NetworkGameCommand {
+	/**
+	 * @return the ID of the entity whose state is carried by this command.
+	 */
+	UUID entityId();
+}
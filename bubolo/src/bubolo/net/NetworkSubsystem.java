@@ -1,5 +1,7 @@
 package bubolo.net;
 
+import java.util.UUID;
+
 /**
  * @author Christopher D. Canfield
  */
@@ -11,6 +13,13 @@ public interface NetworkSubsystem {
 	 */
 	void send(NetworkCommand command);
 
+	/**
+	 * Discards any state that the subsystem keeps for an entity that was removed from the world.
+	 *
+	 * @param entityId the removed entity's ID.
+	 */
+	void onEntityRemoved(UUID entityId);
+
 	/**
 	 * Shuts down the system.
 	 */
@@ -4,8 +4,8 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.net.InetAddress;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
 
 import bubolo.GameApplication;
 import bubolo.world.Spawn;
@@ -18,11 +18,26 @@ import bubolo.world.Spawn;
 public class NetworkSystem implements Network {
 	private NetworkSubsystem subsystem;
 
+	/** The maximum number of received commands that can wait to be run in the game thread. */
+	public static final int PostedCommandCapacity = 4096;
+
+	/** The default maximum number of received commands that are run per call to update. */
+	public static final int DefaultMaxCommandsPerUpdate = 1024;
+
+	/** The default maximum time, in milliseconds, that update spends running received commands. */
+	public static final long DefaultMaxMillisPerUpdate = 4;
+
 	// Queue of commands that should be run in the game thread.
-	private final Queue<NetworkCommand> postedCommands = new ConcurrentLinkedQueue<>();
+	private final MpscRingBuffer<NetworkCommand> postedCommands = new MpscRingBuffer<>(PostedCommandCapacity);
+
+	// The per-update budget for running received commands. Commands that don't fit in the budget are run in the next update.
+	private int maxCommandsPerUpdate = DefaultMaxCommandsPerUpdate;
+	private long maxNanosPerUpdate = DefaultMaxMillisPerUpdate * 1_000_000;
 
 	private final NetworkObserverNotifier observerNotifier = new NetworkObserverNotifier();
 
+	private final NetworkMetrics metrics = new NetworkMetrics();
+
 	// The name of the player, which is used when sending messages.
 	private String name;
 
@@ -94,11 +109,30 @@ public class NetworkSystem implements Network {
 		server.sendToClient(playerIndex, command);
 	}
 
+	/**
+	 * Sets the per-update budget for running received commands. Once either limit is reached, the remaining commands are
+	 * carried over to the next update. At least one command is run per update, regardless of the budget.
+	 *
+	 * @param maxCommands the maximum number of commands to run per update. > 0.
+	 * @param maxMillis the maximum time, in milliseconds, to spend running commands per update. > 0.
+	 */
+	public void setUpdateBudget(int maxCommands, long maxMillis) {
+		assert maxCommands > 0;
+		assert maxMillis > 0;
+		this.maxCommandsPerUpdate = maxCommands;
+		this.maxNanosPerUpdate = maxMillis * 1_000_000;
+	}
+
 	@Override
 	public void update(GameApplication app) {
-		// Execute all posted commands in the game logic thread.
+		metrics.recordPostedCommandDepth(postedCommands.size());
+
+		// Execute the posted commands in the game logic thread, until the budget has been used.
+		final long startNanos = System.nanoTime();
+		int commandCount = 0;
 		NetworkCommand c = null;
 		while ((c = postedCommands.poll()) != null) {
+			commandCount++;
 			if (c instanceof NetworkGameCommand gameCommand) {
 				gameCommand.execute(app.world());
 			} else if (c instanceof NetworkApplicationCommand appCommand) {
@@ -106,9 +140,32 @@ public class NetworkSystem implements Network {
 			} else {
 				throw new NetworkException("Unknown NetworkCommand received: " + c.getClass().toString());
 			}
+
+			if (commandCount >= maxCommandsPerUpdate || System.nanoTime() - startNanos >= maxNanosPerUpdate) {
+				break;
+			}
+		}
+		metrics.recordCarriedOverCommands(postedCommands.size());
+
+		long now = System.nanoTime();
+		if (metrics.sample(now) && subsystem != null) {
+			// Ping the other players once per sample, to measure the round trip time.
+			subsystem.send(new Ping(now));
 		}
 	}
 
+	@Override
+	public void onEntityRemoved(UUID entityId) {
+		if (subsystem != null) {
+			subsystem.onEntityRemoved(entityId);
+		}
+	}
+
+	@Override
+	public NetworkMetrics metrics() {
+		return metrics;
+	}
+
 	@Override
 	public void addObserver(NetworkObserver o) {
 		observerNotifier.addObserver(o);
@@ -119,9 +176,22 @@ public class NetworkSystem implements Network {
 		observerNotifier.removeObserver(o);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the queue of posted commands is full, state commands are dropped, since a newer state will follow. Any other command
+	 * blocks the calling network thread until the game thread has made room for it.
+	 * </p>
+	 */
 	@Override
 	public void postToGameThread(NetworkCommand command) {
-		postedCommands.add(command);
+		while (!postedCommands.offer(command)) {
+			if (command instanceof NetworkStateCommand) {
+				metrics.recordDroppedStateCommand();
+				return;
+			}
+			LockSupport.parkNanos(100_000);
+		}
 	}
 
 	@Override
@@ -133,5 +203,6 @@ public class NetworkSystem implements Network {
 		isServer = false;
 		name = null;
 		postedCommands.clear();
+		metrics.dispose();
 	}
 }
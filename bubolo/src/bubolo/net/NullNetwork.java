@@ -2,12 +2,14 @@ package bubolo.net;
 
 import java.net.InetAddress;
 import java.util.List;
+import java.util.UUID;
 
 import bubolo.GameApplication;
 import bubolo.world.Spawn;
 
 public class NullNetwork implements Network {
 	private String playerName;
+	private final NetworkMetrics metrics = new NetworkMetrics();
 
 	@Override
 	public boolean isServer() {
@@ -56,6 +58,15 @@ public class NullNetwork implements Network {
 	public void removeObserver(NetworkObserver observer) {
 	}
 
+	@Override
+	public void onEntityRemoved(UUID entityId) {
+	}
+
+	@Override
+	public NetworkMetrics metrics() {
+		return metrics;
+	}
+
 	@Override
 	public void dispose() {
 	}
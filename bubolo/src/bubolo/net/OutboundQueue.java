@@ -0,0 +1,220 @@
+package bubolo.net;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import bubolo.Config;
+
+/**
+ * A bounded queue of commands waiting to be sent to a single connection, with its own sender thread. Each connection has its
+ * own queue, so a slow or stalled connection doesn't delay the others.
+ * <p>
+ * Commands are sent in the order they were queued, with one exception: a {@code NetworkStateCommand} replaces any queued
+ * state command for the same entity, in place, since only the newest state matters. Reliable commands are never dropped.
+ * </p>
+ * <p>
+ * Once the queue reaches its capacity, the connection is considered saturated. New state commands are then only accepted if
+ * they replace a queued state. If the queue stays saturated for longer than the saturation timeout, or grows to
+ * {@code HardLimitMultiplier} times its capacity, the disconnect handler is called, which is expected to disconnect the
+ * connection, and the queue is disposed. The same happens if a command can't be sent.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class OutboundQueue {
+	/**
+	 * The default number of queued commands at which a connection is considered saturated.
+	 */
+	static final int DefaultCapacity = 1024;
+
+	/**
+	 * The default number of milliseconds that a connection may remain saturated before it is disconnected.
+	 */
+	static final long DefaultSaturationTimeoutMillis = 5000;
+
+	/**
+	 * The multiple of the capacity at which a connection is disconnected immediately.
+	 */
+	static final int HardLimitMultiplier = 4;
+
+	/**
+	 * Sends a command to the connection. Called on the queue's sender thread.
+	 */
+	interface Sink {
+		void send(NetworkCommand command) throws IOException;
+	}
+
+	// A queued command. State commands are replaced in place, so the command isn't final.
+	private static class Entry {
+		NetworkCommand command;
+
+		Entry(NetworkCommand command) {
+			this.command = command;
+		}
+	}
+
+	private final String name;
+	private final Sink sink;
+	private final Runnable disconnectHandler;
+	private final int capacity;
+	private final long saturationTimeoutNanos;
+
+	// All fields below are guarded by this.
+	private final Queue<Entry> queue = new ArrayDeque<>();
+	// The queued state command entries, keyed by entity ID.
+	private final Map<UUID, Entry> queuedStates = new HashMap<>();
+
+	// The time that the queue became saturated, or zero if it isn't saturated.
+	private long saturatedSinceNanos;
+	private boolean disposed;
+
+	/**
+	 * Constructs an OutboundQueue. Commands can be added immediately, but aren't sent until {@code start} is called.
+	 *
+	 * @param name the name of the connection, which is used to name the sender thread.
+	 * @param sink sends commands to the connection.
+	 * @param capacity the number of queued commands at which the connection is considered saturated.
+	 * @param saturationTimeoutMillis the number of milliseconds that the connection may remain saturated before it is
+	 *     disconnected.
+	 * @param disconnectHandler called, at most once, when the connection has been saturated for too long, or when a command
+	 *     can't be sent to it.
+	 */
+	OutboundQueue(String name, Sink sink, int capacity, long saturationTimeoutMillis, Runnable disconnectHandler) {
+		assert capacity > 0;
+		this.name = name;
+		this.sink = sink;
+		this.capacity = capacity;
+		this.saturationTimeoutNanos = saturationTimeoutMillis * 1_000_000;
+		this.disconnectHandler = disconnectHandler;
+	}
+
+	/**
+	 * Starts the sender thread.
+	 */
+	void start() {
+		Thread thread = new Thread(this::run, "net-sender-" + name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Queues a command to be sent.
+	 *
+	 * @param command the command to queue.
+	 * @return true if the command was queued or replaced a queued state command, or false if the command was dropped. Only state
+	 *     commands, or commands added after the queue was disposed, are dropped.
+	 */
+	boolean add(NetworkCommand command) {
+		boolean saturated = false;
+		synchronized (this) {
+			if (disposed) {
+				return false;
+			}
+
+			if (command instanceof NetworkStateCommand stateCommand) {
+				Entry queuedState = queuedStates.get(stateCommand.entityId());
+				if (queuedState != null) {
+					queuedState.command = stateCommand;
+					return true;
+				} else if (queue.size() >= capacity) {
+					// Newer states for this entity will follow, so it is safe to drop this one.
+					return false;
+				}
+			}
+
+			var entry = new Entry(command);
+			queue.add(entry);
+			if (command instanceof NetworkStateCommand stateCommand) {
+				queuedStates.put(stateCommand.entityId(), entry);
+			}
+			notify();
+
+			if (queue.size() >= capacity) {
+				saturated = isSaturatedTooLong();
+				if (saturated) {
+					disposeLocked();
+				}
+			}
+		}
+
+		if (saturated) {
+			Logger.getLogger(Config.AppProgramaticTitle).warning("Send queue for " + name + " is saturated; disconnecting.");
+			disconnectHandler.run();
+		}
+		return true;
+	}
+
+	private boolean isSaturatedTooLong() {
+		long now = System.nanoTime();
+		if (saturatedSinceNanos == 0) {
+			saturatedSinceNanos = now;
+		}
+		return queue.size() >= capacity * HardLimitMultiplier || now - saturatedSinceNanos >= saturationTimeoutNanos;
+	}
+
+	/**
+	 * @return the number of queued commands.
+	 */
+	synchronized int size() {
+		return queue.size();
+	}
+
+	/**
+	 * Stops the sender thread and discards any queued commands.
+	 */
+	synchronized void dispose() {
+		disposeLocked();
+	}
+
+	private void disposeLocked() {
+		disposed = true;
+		queue.clear();
+		queuedStates.clear();
+		notify();
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				NetworkCommand command;
+				synchronized (this) {
+					while (queue.isEmpty() && !disposed) {
+						wait();
+					}
+					if (disposed) {
+						return;
+					}
+
+					Entry entry = queue.remove();
+					command = entry.command;
+					if (command instanceof NetworkStateCommand stateCommand) {
+						queuedStates.remove(stateCommand.entityId());
+					}
+					if (queue.size() < capacity) {
+						saturatedSinceNanos = 0;
+					}
+				}
+
+				sink.send(command);
+			}
+		} catch (InterruptedException e) {
+			// Shutting down: this is fine.
+		} catch (IOException e) {
+			Logger.getLogger(Config.AppProgramaticTitle).severe("Unable to send to " + name + "; disconnecting: " + e);
+			boolean disconnect;
+			synchronized (this) {
+				// If the queue was already disposed, the connection is already being disconnected.
+				disconnect = !disposed;
+				disposeLocked();
+			}
+			if (disconnect) {
+				disconnectHandler.run();
+			}
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package bubolo.net;
+
+/**
+ * Requests a {@code Pong} reply, which is used to measure the round trip time to a peer. Pings are answered by the network
+ * reader thread, and are never posted to the game thread or relayed to other players.
+ *
+ * @param sentNanos the sender's {@code System.nanoTime()} when the ping was sent.
+ *
+ * @author Christopher D. Canfield
+ */
+record Ping(long sentNanos) implements NetworkCommand {
+}
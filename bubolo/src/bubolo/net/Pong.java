@@ -0,0 +1,11 @@
+package bubolo.net;
+
+/**
+ * The reply to a {@code Ping}.
+ *
+ * @param sentNanos the {@code sentNanos} value of the ping that this is a reply to.
+ *
+ * @author Christopher D. Canfield
+ */
+record Pong(long sentNanos) implements NetworkCommand {
+}
@@ -3,19 +3,20 @@ package bubolo.net;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketAddress;
 import java.net.SocketException;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 
 import com.badlogic.gdx.Gdx;
 
+import bubolo.Config;
 import bubolo.Systems;
 import bubolo.net.command.ClientConnected;
 import bubolo.net.command.ClientDisconnected;
@@ -41,8 +42,6 @@ class Server implements NetworkSubsystem {
 	// Specifies whether the game has started.
 	private final AtomicBoolean gameStarted = new AtomicBoolean(false);
 
-	private final Executor sender;
-
 	// Reference to the network system.
 	private final Network network;
 
@@ -54,6 +53,9 @@ class Server implements NetworkSubsystem {
 	// Thread that accepts new clients.
 	private Thread clientAcceptor;
 
+	// Channel for state commands, such as tank movement. Null if the datagram socket couldn't be opened.
+	private @Nullable UnreliableChannel datagramChannel;
+
 	/**
 	 * Constructs a Server object.
 	 *
@@ -64,7 +66,7 @@ class Server implements NetworkSubsystem {
 		this.network = network;
 		this.notifier = notifier;
 		this.clients = new CopyOnWriteArrayList<ClientSocket>();
-		this.sender = Executors.newSingleThreadExecutor();
+		network.metrics().setSendQueueDepthSource(() -> clients.stream().mapToInt(client -> client.getSendQueue().size()).sum());
 	}
 
 	private String getServerName() {
@@ -82,6 +84,7 @@ class Server implements NetworkSubsystem {
 		try {
 			this.serverPlayerName = serverName;
 			socket = new ServerSocket(NetworkInformation.GAME_PORT);
+			openDatagramChannel();
 
 			clientAcceptor = new Thread(new ClientAcceptor(shutdown, gameStarted, clients, socket, this, network));
 			clientAcceptor.setDaemon(true);
@@ -91,6 +94,52 @@ class Server implements NetworkSubsystem {
 		}
 	}
 
+	/**
+	 * Opens the datagram channel on the game port. Failure to open the channel isn't fatal: state commands will be sent over
+	 * TCP instead.
+	 */
+	private void openDatagramChannel() {
+		try {
+			datagramChannel = new UnreliableChannel(NetworkInformation.GAME_PORT, network.metrics(), this::isClientDatagramAddress,
+					this::onDatagramReceived);
+		} catch (NetworkException e) {
+			Logger.getLogger(Config.AppProgramaticTitle).warning("Unable to open datagram channel; using TCP only: " + e);
+		}
+	}
+
+	/**
+	 * @return the port of the server's datagram channel, or zero if the server doesn't have a datagram channel.
+	 */
+	private int getDatagramPort() {
+		return (datagramChannel != null) ? datagramChannel.localPort() : 0;
+	}
+
+	/**
+	 * Whether an address is the datagram address of a connected client. Called on the datagram receiver thread.
+	 */
+	private boolean isClientDatagramAddress(SocketAddress address) {
+		for (ClientSocket client : clients) {
+			if (address.equals(client.getDatagramAddress())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Relays a state command received over the datagram channel to the other clients, and then posts it to the game thread.
+	 * Datagrams from unknown addresses are ignored. Called on the datagram receiver thread.
+	 */
+	private void onDatagramReceived(NetworkStateCommand command, SocketAddress source) {
+		for (ClientSocket client : clients) {
+			if (source.equals(client.getDatagramAddress())) {
+				send(command, client);
+				network.postToGameThread(command);
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Notifies clients that the game is ready to start. This should not be called until the map data has been sent.
 	 *
@@ -120,12 +169,42 @@ class Server implements NetworkSubsystem {
 
 	public void sendToClient(int playerIndex, NetworkCommand command) {
 		var client = clients.get(playerIndex);
-		sender.execute(new NetworkSender(client.getOutputStream(), command));
+		sendToClient(client, command);
+	}
+
+	/**
+	 * Queues a command to be sent to a client.
+	 */
+	private void sendToClient(ClientSocket client, NetworkCommand command) {
+		client.getSendQueue().add(command);
+	}
+
+	/**
+	 * Sends a command to a client. State commands are sent over the datagram channel if the client has one; all other commands
+	 * are sent over TCP. Called on the client's send queue thread.
+	 */
+	private void sendNow(ClientSocket client, NetworkCommand command) throws IOException {
+		var datagramTarget = client.getDatagramAddress();
+		if (datagramTarget != null && command instanceof NetworkStateCommand stateCommand) {
+			datagramChannel.send(stateCommand, datagramTarget);
+		} else {
+			client.getOutputStream().write(command);
+		}
+	}
+
+	@Override
+	public void onEntityRemoved(UUID entityId) {
+		if (datagramChannel != null) {
+			datagramChannel.forgetEntity(entityId);
+		}
 	}
 
 	@Override
 	public void dispose() {
 		shutdown.set(true);
+		if (datagramChannel != null) {
+			datagramChannel.dispose();
+		}
 	}
 
 	/**
@@ -136,9 +215,14 @@ class Server implements NetworkSubsystem {
 	private void removeClient(ClientSocket client, @Nullable String clientName) {
 		client.dispose();
 		clients.remove(client);
+		var datagramAddress = client.getDatagramAddress();
+		if (datagramChannel != null && datagramAddress != null) {
+			datagramChannel.forgetPeer(datagramAddress);
+		}
 
 		// @TODO (cdc 2021-07-21): Consider consolidating the Messenger and the NetworkObserverNotifier.
 		notifier.notifyClientDisconnected(clientName);
+		network.metrics().removePeer(clientName);
 		Systems.messenger().notifyPlayerDisconnected(clientName);
 
 		send(new ClientDisconnected(clientName));
@@ -154,7 +238,7 @@ class Server implements NetworkSubsystem {
 	private void send(NetworkCommand command, @Nullable ClientSocket clientToIgnore) {
 		for (ClientSocket client : clients) {
 			if ((clientToIgnore == null) || (clientToIgnore != null && client != clientToIgnore)) {
-				sender.execute(new NetworkSender(client.getOutputStream(), command));
+				sendToClient(client, command);
 			}
 		}
 	}
@@ -198,7 +282,7 @@ class Server implements NetworkSubsystem {
 			// been started, or this thread has received an interrupt.
 			while (!shutdown.get() && !gameStarted.get() && !Thread.interrupted()) {
 				try {
-					ClientSocket clientSocket = new ClientSocket(socket.accept());
+					ClientSocket clientSocket = new ClientSocket(socket.accept(), server, network.metrics());
 					if (!shutdown.get() && !gameStarted.get() && !Thread.interrupted()) {
 						clients.add(clientSocket);
 						clientSocket.getClient().setTcpNoDelay(true);
@@ -252,14 +336,26 @@ class Server implements NetworkSubsystem {
 
 		@Override
 		public void run() {
-			try (ObjectInputStream inputStream = new ObjectInputStream(client.getClient().getInputStream())) {
-				ClientConnected welcomeCommand = (ClientConnected) inputStream.readObject();
+			try (CommandReader inputStream = new CommandReader(client.getClient().getInputStream(), network.metrics())) {
+				ClientConnected welcomeCommand = (ClientConnected) inputStream.read();
 				this.clientName = welcomeCommand.getClientName();
-				server.send(new ConnectedToServer(welcomeCommand.getClientName(), server.getServerName()));
+				// Clients that have a datagram channel include its port in their welcome command.
+				if (welcomeCommand.getDatagramPort() > 0 && server.getDatagramPort() > 0) {
+					client.setDatagramAddress(new InetSocketAddress(client.getClient().getInetAddress(), welcomeCommand.getDatagramPort()));
+				}
+				server.send(new ConnectedToServer(welcomeCommand.getClientName(), server.getServerName(), server.getDatagramPort()));
 				network.postToGameThread(welcomeCommand);
 
 				while (!shutdown.get()) {
-					NetworkCommand command = (NetworkCommand) inputStream.readObject();
+					NetworkCommand command = inputStream.read();
+					if (command instanceof Ping ping) {
+						server.sendToClient(client, new Pong(ping.sentNanos()));
+						continue;
+					} else if (command instanceof Pong pong) {
+						network.metrics().recordRoundTrip(clientName, System.nanoTime() - pong.sentNanos());
+						continue;
+					}
+
 					server.send(command, client);
 					network.postToGameThread(command);
 				}
@@ -299,20 +395,31 @@ class Server implements NetworkSubsystem {
 	 */
 	private static class ClientSocket {
 		private final Socket client;
-		private final ObjectOutputStream clientStream;
+		private final CommandWriter clientStream;
+		private final OutboundQueue sendQueue;
+		// The address of the client's datagram channel, or null if the client doesn't have one.
+		private volatile @Nullable InetSocketAddress datagramAddress;
 
 		/**
 		 * Constructs a new ClientSocket.
 		 *
 		 * @param client the connected client Socket object.
+		 * @param server the Server object.
+		 * @param metrics the network metrics.
 		 */
-		private ClientSocket(Socket client) {
+		private ClientSocket(Socket client, Server server, NetworkMetrics metrics) {
 			this.client = client;
 			try {
-				this.clientStream = new ObjectOutputStream(client.getOutputStream());
+				this.clientStream = new CommandWriter(client.getOutputStream(), metrics);
 			} catch (IOException e) {
 				throw new NetworkException(e);
 			}
+
+			// A client that is saturated, or that can't be sent to, is disconnected by closing its socket, which causes its reader
+			// to remove it.
+			this.sendQueue = new OutboundQueue(client.getInetAddress().getHostAddress(), command -> server.sendNow(this, command),
+					OutboundQueue.DefaultCapacity, OutboundQueue.DefaultSaturationTimeoutMillis, this::closeSocket);
+			sendQueue.start();
 		}
 
 		/**
@@ -325,20 +432,55 @@ class Server implements NetworkSubsystem {
 		}
 
 		/**
-		 * Returns the client's object output stream.
+		 * Returns the client's command writer.
 		 *
-		 * @return the client's object output stream.
+		 * @return the client's command writer.
 		 */
-		private ObjectOutputStream getOutputStream() {
+		private CommandWriter getOutputStream() {
 			return clientStream;
 		}
 
+		/**
+		 * Returns the queue of commands waiting to be sent to the client.
+		 *
+		 * @return the client's send queue.
+		 */
+		private OutboundQueue getSendQueue() {
+			return sendQueue;
+		}
+
+		/**
+		 * Returns the address of the client's datagram channel.
+		 *
+		 * @return the address of the client's datagram channel, or null if the client doesn't have one.
+		 */
+		private @Nullable InetSocketAddress getDatagramAddress() {
+			return datagramAddress;
+		}
+
+		/**
+		 * Sets the address of the client's datagram channel.
+		 *
+		 * @param datagramAddress the address of the client's datagram channel.
+		 */
+		private void setDatagramAddress(InetSocketAddress datagramAddress) {
+			this.datagramAddress = datagramAddress;
+		}
+
 		/**
 		 * Closes the connection.
 		 */
 		private void dispose() {
+			sendQueue.dispose();
+			clientStream.close();
+		}
+
+		/**
+		 * Closes the client's socket.
+		 */
+		private void closeSocket() {
 			try {
-				clientStream.close();
+				client.close();
 			} catch (IOException e) {
 			}
 		}
@@ -0,0 +1,219 @@
+package bubolo.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import bubolo.Config;
+
+/**
+ * An unreliable, unordered datagram channel for high-frequency entity state, such as tank movement. Unlike the TCP stream, a lost
+ * datagram doesn't delay the datagrams that follow it, which keeps movement smooth under packet loss.
+ * <p>
+ * Each datagram contains a sequence number followed by a single serialized {@code NetworkStateCommand}. The receiver tracks the
+ * latest sequence number seen from each peer for each entity, and drops any command that is older than the latest one, since a
+ * newer state for that entity has already been applied. The tracked sequences are discarded when the entity is removed or the
+ * peer disconnects. Datagrams from addresses other than the accepted peers are discarded before they are decoded.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class UnreliableChannel {
+	/**
+	 * The maximum size of an encoded datagram, in bytes.
+	 */
+	static final int MaxDatagramSize = 4096;
+
+	// The size of the sequence number header, in bytes.
+	private static final int HeaderSize = Integer.BYTES;
+
+	private final DatagramSocket socket;
+	private final NetworkMetrics metrics;
+	private final Predicate<SocketAddress> acceptedSources;
+	private final BiConsumer<NetworkStateCommand, SocketAddress> receiver;
+
+	private final AtomicInteger nextSequence = new AtomicInteger();
+
+	// The most recent sequence number received from each peer for each entity. Sequence numbers are only updated by the
+	// receiver thread, but entries are removed by the game and network threads.
+	private final Map<SocketAddress, Map<UUID, Integer>> latestSequences = new ConcurrentHashMap<>();
+
+	// The probability that an outgoing datagram will be dropped rather than sent. Used to simulate lossy networks.
+	private volatile float simulatedLoss;
+	private final Random random = new Random();
+
+	/**
+	 * Constructs an UnreliableChannel that is bound to the specified port, and starts the receiver thread.
+	 *
+	 * @param port the local port to bind to, or zero to use any free port.
+	 * @param metrics the network metrics.
+	 * @param acceptedSources returns whether datagrams from an address should be accepted. Called on the receiver thread,
+	 *     before the datagram is decoded.
+	 * @param receiver called, on the receiver thread, with each command that isn't stale and the address it was sent from.
+	 * @throws NetworkException if the socket can't be opened.
+	 */
+	UnreliableChannel(int port, NetworkMetrics metrics, Predicate<SocketAddress> acceptedSources,
+			BiConsumer<NetworkStateCommand, SocketAddress> receiver) throws NetworkException {
+		try {
+			this.socket = new DatagramSocket(port);
+			this.metrics = metrics;
+			this.acceptedSources = acceptedSources;
+			this.receiver = receiver;
+
+			Thread receiverThread = new Thread(this::receive, "net-datagram");
+			receiverThread.setDaemon(true);
+			receiverThread.start();
+		} catch (SocketException e) {
+			throw new NetworkException(e);
+		}
+	}
+
+	/**
+	 * @return the local port that this channel is bound to.
+	 */
+	int localPort() {
+		return socket.getLocalPort();
+	}
+
+	/**
+	 * Sets the probability that an outgoing datagram will be silently dropped. Used to test behavior under packet loss.
+	 *
+	 * @param lossProbability the probability, from 0 to 1, that a datagram will be dropped.
+	 */
+	void setSimulatedLoss(float lossProbability) {
+		assert lossProbability >= 0 && lossProbability <= 1;
+		this.simulatedLoss = lossProbability;
+	}
+
+	/**
+	 * Sends a state command to the specified address. Delivery is not guaranteed.
+	 *
+	 * @param command the command to send.
+	 * @param target the address of the target's datagram channel.
+	 */
+	void send(NetworkStateCommand command, SocketAddress target) {
+		byte[] data = encode(nextSequence.getAndIncrement(), command);
+		metrics.recordSent(command, data.length);
+		if (simulatedLoss > 0 && random.nextFloat() < simulatedLoss) {
+			return;
+		}
+
+		try {
+			socket.send(new DatagramPacket(data, data.length, target));
+		} catch (IOException e) {
+			// Datagrams are unreliable by design, so a failed send is treated the same as a lost packet.
+			Logger.getLogger(Config.AppProgramaticTitle).fine("Unable to send datagram: " + e);
+		}
+	}
+
+	/**
+	 * Discards the sequence numbers received for an entity. Called when the entity is removed from the world, so that the
+	 * tracked sequences don't grow as entities come and go.
+	 *
+	 * @param entityId the removed entity's ID.
+	 */
+	void forgetEntity(UUID entityId) {
+		for (Map<UUID, Integer> peerSequences : latestSequences.values()) {
+			peerSequences.remove(entityId);
+		}
+	}
+
+	/**
+	 * Discards the sequence numbers received from a peer. Called when the peer disconnects.
+	 *
+	 * @param peer the address of the peer's datagram channel.
+	 */
+	void forgetPeer(SocketAddress peer) {
+		latestSequences.remove(peer);
+	}
+
+	/**
+	 * Closes the channel, which also stops the receiver thread.
+	 */
+	void dispose() {
+		socket.close();
+	}
+
+	private void receive() {
+		var packet = new DatagramPacket(new byte[MaxDatagramSize], MaxDatagramSize);
+		while (!socket.isClosed()) {
+			try {
+				socket.receive(packet);
+				SocketAddress source = packet.getSocketAddress();
+				if (!acceptedSources.test(source)) {
+					continue;
+				}
+
+				int sequence = ByteBuffer.wrap(packet.getData(), packet.getOffset(), HeaderSize).getInt();
+				NetworkStateCommand command = decode(packet.getData(), packet.getOffset() + HeaderSize, packet.getLength() - HeaderSize);
+				if (command != null) {
+					metrics.recordReceived(command, packet.getLength());
+				}
+				if (command != null && isNewest(source, command.entityId(), sequence)) {
+					receiver.accept(command, source);
+				}
+			} catch (SocketException e) {
+				// Socket closed: this is fine.
+			} catch (IOException e) {
+				Logger.getLogger(Config.AppProgramaticTitle).warning("Datagram receive error: " + e);
+			}
+		}
+	}
+
+	/**
+	 * Records the sequence number if it is newer than the latest sequence received from the peer for the entity. Each peer
+	 * numbers its datagrams independently, so sequences are only compared with others from the same peer.
+	 *
+	 * @return true if the sequence number is newer than all previously received sequence numbers for the entity.
+	 */
+	private boolean isNewest(SocketAddress source, UUID entityId, int sequence) {
+		var peerSequences = latestSequences.computeIfAbsent(source, address -> new ConcurrentHashMap<>());
+		Integer latest = peerSequences.get(entityId);
+		// The subtraction handles sequence number wraparound.
+		if (latest == null || sequence - latest > 0) {
+			peerSequences.put(entityId, sequence);
+			return true;
+		}
+		return false;
+	}
+
+	static byte[] encode(int sequence, NetworkStateCommand command) {
+		try {
+			var bytes = new ByteArrayOutputStream(512);
+			bytes.write(ByteBuffer.allocate(HeaderSize).putInt(sequence).array());
+			try (var stream = new ObjectOutputStream(bytes)) {
+				stream.writeObject(command);
+			}
+			if (bytes.size() > MaxDatagramSize) {
+				throw new NetworkException("Datagram too large: " + command.getClass().getName() + " encoded to " + bytes.size() + " bytes.");
+			}
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new NetworkException(e);
+		}
+	}
+
+	private static NetworkStateCommand decode(byte[] data, int offset, int length) {
+		try (var stream = new ObjectInputStream(new ByteArrayInputStream(data, offset, length))) {
+			return (NetworkStateCommand) stream.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			Logger.getLogger(Config.AppProgramaticTitle).warning("Discarding malformed datagram: " + e);
+			return null;
+		}
+	}
+}
@@ -10,17 +10,31 @@ import bubolo.net.NetworkObserverNotifier;
  * @author Christopher D. Canfield
  */
 public class ClientConnected implements NetworkApplicationCommand {
-	private static final long serialVersionUID = 2L;
+	private static final long serialVersionUID = 3L;
 
 	private final String playerName;
 
+	// The client's datagram channel port, or zero if the client doesn't have a datagram channel.
+	private final int datagramPort;
+
 	/**
 	 * Constructs a ClientConnected object.
 	 *
 	 * @param playerName the name of the player that connected.
 	 */
 	public ClientConnected(String playerName) {
+		this(playerName, 0);
+	}
+
+	/**
+	 * Constructs a ClientConnected object.
+	 *
+	 * @param playerName the name of the player that connected.
+	 * @param datagramPort the port of the client's datagram channel, or zero if the client doesn't have a datagram channel.
+	 */
+	public ClientConnected(String playerName, int datagramPort) {
 		this.playerName = playerName;
+		this.datagramPort = datagramPort;
 	}
 
 	/**
@@ -32,6 +46,15 @@ public class ClientConnected implements NetworkApplicationCommand {
 		return playerName;
 	}
 
+	/**
+	 * Returns the port of the client's datagram channel.
+	 *
+	 * @return the port of the client's datagram channel, or zero if the client doesn't have a datagram channel.
+	 */
+	public int getDatagramPort() {
+		return datagramPort;
+	}
+
 	@Override
 	public void execute(GameApplication app, NetworkObserverNotifier notifier) {
 		notifier.notifyClientConnected(playerName);
@@ -10,11 +10,14 @@ import bubolo.net.NetworkObserverNotifier;
  * @author Christopher D. Canfield
  */
 public class ConnectedToServer implements NetworkApplicationCommand {
-	private static final long serialVersionUID = 4L;
+	private static final long serialVersionUID = 5L;
 
 	private final String clientName;
 	private final String serverName;
 
+	// The server's datagram channel port, or zero if the server doesn't have a datagram channel.
+	private final int serverDatagramPort;
+
 	/**
 	 * Constructs a ConnectedToServer object.
 	 *
@@ -22,8 +25,21 @@ public class ConnectedToServer implements NetworkApplicationCommand {
 	 * @param serverName the name of the server player.
 	 */
 	public ConnectedToServer(String clientName, String serverName) {
+		this(clientName, serverName, 0);
+	}
+
+	/**
+	 * Constructs a ConnectedToServer object.
+	 *
+	 * @param clientName the name of the client that connected.
+	 * @param serverName the name of the server player.
+	 * @param serverDatagramPort the port of the server's datagram channel, or zero if the server doesn't have a datagram
+	 *     channel.
+	 */
+	public ConnectedToServer(String clientName, String serverName, int serverDatagramPort) {
 		this.clientName = clientName;
 		this.serverName = serverName;
+		this.serverDatagramPort = serverDatagramPort;
 	}
 
 	@Override
@@ -48,4 +64,13 @@ public class ConnectedToServer implements NetworkApplicationCommand {
 	String getServerName() {
 		return serverName;
 	}
+
+	/**
+	 * Gets the port of the server's datagram channel.
+	 *
+	 * @return the port of the server's datagram channel, or zero if the server doesn't have a datagram channel.
+	 */
+	public int getServerDatagramPort() {
+		return serverDatagramPort;
+	}
 }
@@ -10,6 +10,7 @@ import bubolo.util.GameLogicException;
 import bubolo.util.Nullable;
 import bubolo.world.ActorEntity;
 import bubolo.world.Entity;
+import bubolo.world.EntityTypes;
 import bubolo.world.World;
 
 /**
@@ -18,9 +19,10 @@ import bubolo.world.World;
  * @author Christopher D. Canfield
  */
 public class CreateActor implements NetworkGameCommand {
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
 
-	private final Class<? extends ActorEntity> type;
+	// The actor's EntityTypes id.
+	private final byte typeId;
 	private final UUID id;
 
 	private final float x;
@@ -41,7 +43,7 @@ public class CreateActor implements NetworkGameCommand {
 	 * @param ownerId [optional] the id of the entity that owns the actor. May be null.
 	 */
 	public CreateActor(Class<? extends ActorEntity> type, UUID id, float x, float y, float rotation, @Nullable UUID ownerId) {
-		this.type = type;
+		this.typeId = EntityTypes.id(type);
 		this.id = id;
 		this.x = x;
 		this.y = y;
@@ -63,7 +65,7 @@ public class CreateActor implements NetworkGameCommand {
 	 */
 	public CreateActor(Class<? extends ActorEntity> type, UUID id, float x, float y, float rotation,
 			@Nullable UUID ownerId, @Nullable ControllerFactory factory) {
-		this.type = type;
+		this.typeId = EntityTypes.id(type);
 		this.id = id;
 		this.x = x;
 		this.y = y;
@@ -74,7 +76,7 @@ public class CreateActor implements NetworkGameCommand {
 
 	@Override
 	public void execute(World world) {
-		var entity = (ActorEntity) world.addEntity(type, new Entity.ConstructionArgs(id, x, y, rotation), factory);
+		var entity = (ActorEntity) world.addEntity(EntityTypes.type(typeId), new Entity.ConstructionArgs(id, x, y, rotation), factory);
 
 		if (ownerId != null) {
 			try {
@@ -82,7 +84,7 @@ public class CreateActor implements NetworkGameCommand {
 				entity.setOwner(owner);
 			} catch (GameLogicException e) {
 				Logger.getLogger(Config.AppProgramaticTitle)
-						.severe("CreateActor net command: Setting the entity's owner failed. Entity type: " + type);
+						.severe("CreateActor net command: Setting the entity's owner failed. Entity type: " + EntityTypes.type(typeId).getSimpleName());
 			}
 		}
 	}
@@ -9,6 +9,7 @@ import bubolo.net.NetworkGameCommand;
 import bubolo.util.GameLogicException;
 import bubolo.util.Nullable;
 import bubolo.world.Entity;
+import bubolo.world.EntityTypes;
 import bubolo.world.World;
 
 /**
@@ -17,9 +18,10 @@ import bubolo.world.World;
  * @author Christopher D. Canfield
  */
 public class CreateEntity implements NetworkGameCommand {
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
 
-	private final Class<? extends Entity> type;
+	// The entity's EntityTypes id.
+	private final byte typeId;
 	private final UUID id;
 
 	private final short x;
@@ -60,7 +62,7 @@ public class CreateEntity implements NetworkGameCommand {
 	 * @param factory [optional] factory for adding custom controllers to this entity. Can be null.
 	 */
 	public CreateEntity(Class<? extends Entity> type, UUID id, short x, short y, @Nullable ControllerFactory factory) {
-		this.type = type;
+		this.typeId = EntityTypes.id(type);
 		this.id = id;
 		this.x = x;
 		this.y = y;
@@ -71,7 +73,7 @@ public class CreateEntity implements NetworkGameCommand {
 	public void execute(World world) {
 		try {
 			var args = new Entity.ConstructionArgs(id, Short.toUnsignedInt(x), Short.toUnsignedInt(y), 0);
-			world.addEntity(type, args, factory);
+			world.addEntity(EntityTypes.type(typeId), args, factory);
 		} catch (GameLogicException e) {
 			Logger.getLogger(Config.AppProgramaticTitle).severe("CreateEntity net command: Entity was not created. ID: " + id);
 		}
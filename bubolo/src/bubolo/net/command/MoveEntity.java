@@ -5,17 +5,17 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import bubolo.Config;
-import bubolo.net.NetworkGameCommand;
+import bubolo.net.NetworkStateCommand;
 import bubolo.util.GameLogicException;
 import bubolo.world.ActorEntity;
 import bubolo.world.World;
 
 /**
- * Moves an entity in the world.
+ * Moves an entity in the world. This is a state command, so it may be sent over the unreliable datagram channel.
  *
  * @author Christopher D. Canfield
  */
-public class MoveEntity implements NetworkGameCommand {
+public class MoveEntity implements NetworkStateCommand {
 	private static final long serialVersionUID = 1L;
 
 	private final UUID id;
@@ -37,6 +37,11 @@ public class MoveEntity implements NetworkGameCommand {
 		this.rotation = entity.rotation();
 	}
 
+	@Override
+	public UUID entityId() {
+		return id;
+	}
+
 	@Override
 	public void execute(World world) {
 		try {
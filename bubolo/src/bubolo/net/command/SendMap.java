@@ -11,6 +11,7 @@ import bubolo.net.Network;
 import bubolo.net.NetworkApplicationCommand;
 import bubolo.net.NetworkObserverNotifier;
 import bubolo.world.Entity;
+import bubolo.world.EntityTypes;
 import bubolo.world.GameWorld;
 import bubolo.world.World;
 
@@ -21,7 +22,7 @@ import bubolo.world.World;
  * @author Christopher D. Canfield
  */
 public class SendMap implements NetworkApplicationCommand {
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
 
 	private final List<EntitySerializationData> entities = new ArrayList<>();
 
@@ -41,7 +42,7 @@ public class SendMap implements NetworkApplicationCommand {
 		assert !worldEntities.isEmpty() : "Empty world passed to SendMap network command.";
 
 		for (Entity e : worldEntities) {
-			var serializationData = new EntitySerializationData(e.getClass(), e.id(), e.x(), e.y(), e.rotation());
+			var serializationData = new EntitySerializationData(EntityTypes.id(e.getClass()), e.id(), e.x(), e.y(), e.rotation());
 			entities.add(serializationData);
 		}
 	}
@@ -51,11 +52,13 @@ public class SendMap implements NetworkApplicationCommand {
 		World world = new GameWorld(Short.toUnsignedInt(columns), Short.toUnsignedInt(rows));
 		app.setWorld(world);
 
+		var newEntities = new ArrayList<World.NewEntity>(entities.size());
 		for (var entityData : entities) {
 			var args = new Entity.ConstructionArgs(entityData.id(), entityData.x(), entityData.y(),
 					entityData.rotation());
-			world.addEntity(entityData.type(), args);
+			newEntities.add(new World.NewEntity(EntityTypes.type(entityData.typeId()), args));
 		}
+		world.addEntities(newEntities);
 
 		// Process a game tick, which finalizes the addition of the new entities to the world.
 		world.update();
@@ -66,8 +69,9 @@ public class SendMap implements NetworkApplicationCommand {
 		notifier.notifyClientReady(net.getPlayerName());
 	}
 
-	// Minimal data record for sending map data to remote players.
-	private static record EntitySerializationData(Class<? extends Entity> type, UUID id, float x, float y,
+	// Minimal data record for sending map data to remote players. The type is an EntityTypes id, which is far smaller on the
+	// wire than a serialized Class reference.
+	private static record EntitySerializationData(byte typeId, UUID id, float x, float y,
 			float rotation) implements Serializable {
 	}
 }
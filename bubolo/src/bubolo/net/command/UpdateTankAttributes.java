@@ -2,16 +2,16 @@ package bubolo.net.command;
 
 import java.util.UUID;
 
-import bubolo.net.NetworkGameCommand;
+import bubolo.net.NetworkStateCommand;
 import bubolo.world.Tank;
 import bubolo.world.World;
 
 /**
- * Updates a tank's attributes.
+ * Updates a tank's attributes. This is a state command, so it may be sent over the unreliable datagram channel.
  *
  * @author Christopher D. Canfield
  */
-public class UpdateTankAttributes implements NetworkGameCommand {
+public class UpdateTankAttributes implements NetworkStateCommand {
 	private static final long serialVersionUID = 1L;
 
 	private final UUID id;
@@ -39,9 +39,19 @@ public class UpdateTankAttributes implements NetworkGameCommand {
 		this.carriedPillboxId = tank.carriedPillboxId();
 	}
 
+	@Override
+	public UUID entityId() {
+		return id;
+	}
+
 	@Override
 	public void execute(World world) {
-		Tank tank = (Tank) world.getEntity(id);
+		// Datagrams can arrive before the tank's CreateTank command, or after the tank was removed. The state is dropped
+		// in either case, since a newer update will follow if the tank still exists.
+		if (!(world.getEntityOrNull(id) instanceof Tank tank) || tank.isDisposed()) {
+			return;
+		}
+
 		tank.setNetAttributes(new NetTankAttributes(speed, health, carriedPillboxId));
 		tank.setPosition(x, y);
 		tank.setRotation(rotation);
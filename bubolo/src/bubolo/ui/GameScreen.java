@@ -5,7 +5,6 @@ import java.text.DecimalFormat;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
@@ -40,7 +39,7 @@ public class GameScreen extends AbstractScreen implements TankInventoryObserver,
 	private static final String bulletTextureFile = "bullet.png";
 	private static final String mineTextureFile = "mine.png";
 
-	private final Texture bulletTexture;
+	private final TextureRegion bulletTexture;
 	private final TextureRegion[][] mineTexture;
 
 	private static final Color uiBoxColor = new Color(50 / 255f, 50 / 255f, 50 / 255f, 110 / 255f);
@@ -62,7 +61,7 @@ public class GameScreen extends AbstractScreen implements TankInventoryObserver,
 	private final DiplomacyScreen diplomacyScreen;
 
 	public GameScreen(Player player) {
-		bulletTexture = Graphics.getTexture(bulletTextureFile);
+		bulletTexture = Graphics.getTextureRegion(bulletTextureFile);
 		mineTexture = Graphics.getTextureRegion2d(mineTextureFile, 21, 20);
 
 		addMessageBar();
@@ -129,8 +128,8 @@ public class GameScreen extends AbstractScreen implements TankInventoryObserver,
 
 		float screenHalfWidth = graphics.camera().viewportWidth / 2.0f;
 		float screenHeight = graphics.camera().viewportHeight;
-		float bulletWidth = bulletTexture.getWidth() * 2;
-		float bulletHeight = bulletTexture.getHeight() * 2;
+		float bulletWidth = bulletTexture.getRegionWidth() * 2;
+		float bulletHeight = bulletTexture.getRegionHeight() * 2;
 		// Draw the bullet texture.
 		spriteBatch.draw(bulletTexture, screenHalfWidth - 100, screenHeight - 20, bulletWidth, bulletHeight);
 
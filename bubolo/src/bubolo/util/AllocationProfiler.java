@@ -0,0 +1,208 @@
+package bubolo.util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import com.sun.management.ThreadMXBean;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Measures the bytes that the game thread allocates in each phase of a tick. The phases are the constants of an enum, and
+ * are marked in order: each call to {@code mark} attributes the bytes allocated since the previous mark, or since the start of
+ * the tick, to the specified phase. The profiler keeps the per-tick totals of the most recent {@code WindowTicks} ticks.
+ * <p>
+ * The profiler is disabled by default, and all methods other than {@code setEnabled} do nothing until it is enabled. It can
+ * also start a Java Flight Recorder recording, which records the stack traces of sampled allocations, to find the code that
+ * is responsible for a phase's allocations.
+ * </p>
+ *
+ * @param <E> the enum whose constants are the phases.
+ *
+ * @author Christopher D. Canfield
+ */
+public class AllocationProfiler<E extends Enum<E>> {
+	/** The number of recent ticks that the statistics are calculated over. */
+	public static final int WindowTicks = 600;
+
+	private static final @Nullable ThreadMXBean threadBean = threadBean();
+
+	private final E[] phases;
+	private final RollingPercentiles tickBytes = new RollingPercentiles(WindowTicks);
+	private final RollingPercentiles[] phaseBytes;
+	private final long[] currentTickPhaseBytes;
+
+	private boolean enabled;
+	private boolean inTick;
+	private long tickStartBytes;
+	private long lastMarkBytes;
+
+	// The process's flight recording, if one was started. There is at most one per process, regardless of the number of
+	// profilers.
+	private static @Nullable Recording recording;
+
+	/**
+	 * @param phaseType the enum whose constants are the phases.
+	 */
+	public AllocationProfiler(Class<E> phaseType) {
+		phases = phaseType.getEnumConstants();
+		phaseBytes = new RollingPercentiles[phases.length];
+		for (int i = 0; i < phases.length; i++) {
+			phaseBytes[i] = new RollingPercentiles(WindowTicks);
+		}
+		currentTickPhaseBytes = new long[phases.length];
+	}
+
+	private static @Nullable ThreadMXBean threadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+			bean.setThreadAllocatedMemoryEnabled(true);
+			return bean;
+		}
+		return null;
+	}
+
+	/**
+	 * @return whether the JVM can measure the bytes allocated by a thread. If it can't, the profiler can't be enabled.
+	 */
+	public static boolean isSupported() {
+		return threadBean != null;
+	}
+
+	/**
+	 * Enables or disables the profiler. Enabling the profiler clears its statistics.
+	 *
+	 * @param enabled whether the profiler is enabled.
+	 */
+	public void setEnabled(boolean enabled) {
+		if (enabled && !this.enabled) {
+			tickBytes.clear();
+			for (var bytes : phaseBytes) {
+				bytes.clear();
+			}
+		}
+		this.enabled = enabled && isSupported();
+		inTick = false;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts measuring a tick.
+	 */
+	public void beginTick() {
+		if (enabled) {
+			inTick = true;
+			tickStartBytes = lastMarkBytes = threadBean.getCurrentThreadAllocatedBytes();
+		}
+	}
+
+	/**
+	 * Attributes the bytes allocated since the previous mark, or since the start of the tick, to a phase.
+	 *
+	 * @param phase the phase that just finished.
+	 */
+	public void mark(E phase) {
+		if (inTick) {
+			long bytes = threadBean.getCurrentThreadAllocatedBytes();
+			currentTickPhaseBytes[phase.ordinal()] += bytes - lastMarkBytes;
+			lastMarkBytes = bytes;
+		}
+	}
+
+	/**
+	 * Finishes measuring a tick. Bytes allocated since the last mark aren't attributed to a phase, but are included in the
+	 * tick's total.
+	 */
+	public void endTick() {
+		if (inTick) {
+			inTick = false;
+			tickBytes.add(threadBean.getCurrentThreadAllocatedBytes() - tickStartBytes);
+			for (int i = 0; i < phases.length; i++) {
+				phaseBytes[i].add(currentTickPhaseBytes[i]);
+				currentTickPhaseBytes[i] = 0;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of ticks that the statistics are calculated over.
+	 */
+	public int ticks() {
+		return tickBytes.count();
+	}
+
+	/**
+	 * @return the mean number of bytes allocated per tick, over the most recent ticks.
+	 */
+	public double meanBytesPerTick() {
+		return tickBytes.mean();
+	}
+
+	/**
+	 * @param phase the phase.
+	 * @return the mean number of bytes allocated per tick by the phase, over the most recent ticks.
+	 */
+	public double meanBytesPerTick(E phase) {
+		return phaseBytes[phase.ordinal()].mean();
+	}
+
+	/**
+	 * @param phase the phase.
+	 * @return the 99th percentile of the bytes allocated per tick by the phase, over the most recent ticks.
+	 */
+	public long p99BytesPerTick(E phase) {
+		return phaseBytes[phase.ordinal()].percentile(99);
+	}
+
+	/**
+	 * @return a human-readable report of the bytes allocated per tick by each phase.
+	 */
+	public String report() {
+		var sb = new StringBuilder("Allocations per Tick (last ").append(ticks()).append(" ticks):\n");
+		sb.append(String.format("   %-24s %12s %12s%n", "Phase", "mean bytes", "p99 bytes"));
+		for (E phase : phases) {
+			sb.append(String.format("   %-24s %12.0f %12d%n", phase.name() + ':', meanBytesPerTick(phase), p99BytesPerTick(phase)));
+		}
+		sb.append(String.format("   %-24s %12.0f %12d", "Total:", meanBytesPerTick(), tickBytes.percentile(99)));
+		return sb.toString();
+	}
+
+	/**
+	 * Starts a Java Flight Recorder recording that uses the JDK's profiling settings, which include sampled allocations and
+	 * their stack traces. The recording is written to the specified file when it is stopped. Does nothing if a recording was
+	 * already started.
+	 *
+	 * @param file the file that the recording is written to.
+	 * @throws IOException if the profiling settings can't be read, or the file can't be written.
+	 */
+	public static synchronized void startJfrRecording(Path file) throws IOException {
+		if (recording == null) {
+			try {
+				var newRecording = new Recording(Configuration.getConfiguration("profile"));
+				newRecording.setName("Bubolo allocation profile");
+				newRecording.setDestination(file);
+				newRecording.setToDisk(true);
+				newRecording.start();
+				recording = newRecording;
+			} catch (ParseException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Stops the Java Flight Recorder recording, if one was started, and writes it to its file.
+	 */
+	public static synchronized void stopJfrRecording() {
+		if (recording != null) {
+			recording.stop();
+			recording.close();
+			recording = null;
+		}
+	}
+}
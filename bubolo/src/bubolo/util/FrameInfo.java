@@ -1,5 +1,6 @@
 package bubolo.util;
 
+import bubolo.Systems;
 import bubolo.graphics.Graphics;
 
 public class FrameInfo {
@@ -28,6 +29,7 @@ public class FrameInfo {
 				+ "   Frame Time (ms):            " + ((frameEndNanos - frameStartNanos) / 1_000_000.0) + '\n'
 				+ "   Time since last frame (ms): " + (nanosSinceLastFrame / 1_000_000.0) + '\n'
 				+ "   Batched draw calls:         " + graphics.getBatchedRenderCalls() + '\n'
-				+ "   Max sprites in batch:       " + graphics.getMaxSpritesInScalingBatch();
+				+ "   Max sprites in batch:       " + graphics.getMaxSpritesInScalingBatch() + '\n'
+				+ Systems.network().metrics();
 	}
 }
@@ -0,0 +1,269 @@
+package bubolo.util;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Measures the time and memory that each phase of a frame takes. For each phase, and for the frame as a whole, the profiler
+ * keeps the durations and allocated bytes of the most recent {@code WindowFrames} frames, from which it reports the p50,
+ * p95 and p99 durations and the mean allocation. It also counts the garbage collections that happened during the window.
+ * <p>
+ * Recording a phase doesn't allocate, so the profiler is always enabled. Summaries are only built when {@code snapshot} or
+ * {@code dump} is called, or once per {@code LogIntervalMillis} if a session log was started with {@code startLog}. The log
+ * is written on a background thread. All other methods must be called from the game thread.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+public class FrameProfiler {
+	/**
+	 * The phases of a frame, in the order that they run.
+	 */
+	public enum Phase {
+		Messenger,
+		Input,
+		WorldUpdate,
+		NetworkUpdate,
+		Cull,
+		DrawWorld,
+		DrawUi
+	}
+
+	/** The number of recent frames that the percentiles are calculated over: ten seconds at 60 frames per second. */
+	public static final int WindowFrames = 600;
+
+	/** The number of milliseconds between the summaries that are written to the session log. */
+	public static final long LogIntervalMillis = 1000;
+
+	private static final Phase[] phases = Phase.values();
+
+	/**
+	 * Timing and allocation statistics for a phase, or for the frame as a whole, over the profiler's window.
+	 */
+	public static record PhaseSummary(String name, int frames, double p50Millis, double p95Millis, double p99Millis,
+			double meanMillis, double meanAllocatedBytes) {
+	}
+
+	/**
+	 * A summary of the profiler's window.
+	 *
+	 * @param timestampMillis the time that the snapshot was taken, from {@code System.currentTimeMillis()}.
+	 * @param frame the statistics for whole frames.
+	 * @param phases the statistics for each phase, in the order that the phases run.
+	 * @param gcCollections the number of garbage collections that ran during the window's frames.
+	 * @param gcMillis the approximate time spent in garbage collection during the window's frames.
+	 */
+	public static record Snapshot(long timestampMillis, PhaseSummary frame, List<PhaseSummary> phases, long gcCollections,
+			long gcMillis) {
+		@Override
+		public String toString() {
+			var sb = new StringBuilder("Frame Profile (last ").append(frame.frames()).append(" frames):\n");
+			sb.append(String.format("   %-16s %8s %8s %8s %12s%n", "Phase", "p50 ms", "p95 ms", "p99 ms", "alloc KB"));
+			appendPhase(sb, frame);
+			for (var phase : phases) {
+				appendPhase(sb, phase);
+			}
+			sb.append(String.format("   GC collections: %d (%d ms)", gcCollections, gcMillis));
+			return sb.toString();
+		}
+
+		private static void appendPhase(StringBuilder sb, PhaseSummary phase) {
+			sb.append(String.format("   %-16s %8.3f %8.3f %8.3f %12.2f%n", phase.name() + ':', phase.p50Millis(),
+					phase.p95Millis(), phase.p99Millis(), phase.meanAllocatedBytes() / 1024));
+		}
+	}
+
+	// Null if the JVM can't measure the bytes allocated by a thread.
+	private final @Nullable ThreadMXBean threadBean;
+	private final List<GarbageCollectorMXBean> gcBeans;
+
+	private final RollingPercentiles frameNanos = new RollingPercentiles(WindowFrames);
+	private final RollingPercentiles frameAllocatedBytes = new RollingPercentiles(WindowFrames);
+	private final RollingPercentiles frameGcCollections = new RollingPercentiles(WindowFrames);
+	private final RollingPercentiles frameGcMillis = new RollingPercentiles(WindowFrames);
+	private final RollingPercentiles[] phaseNanos = new RollingPercentiles[phases.length];
+	private final RollingPercentiles[] phaseAllocatedBytes = new RollingPercentiles[phases.length];
+
+	private final long[] phaseStartNanos = new long[phases.length];
+	private final long[] phaseStartBytes = new long[phases.length];
+
+	private boolean inFrame;
+	private long frameStartNanos;
+	private long frameStartBytes;
+	private long lastGcCollections;
+	private long lastGcMillis;
+
+	private long lastLogMillis;
+	private @Nullable FrameProfilerLog log;
+
+	public FrameProfiler() {
+		if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+			threadBean = bean;
+		} else {
+			threadBean = null;
+		}
+		gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
+		for (int i = 0; i < phases.length; i++) {
+			phaseNanos[i] = new RollingPercentiles(WindowFrames);
+			phaseAllocatedBytes[i] = new RollingPercentiles(WindowFrames);
+		}
+
+		lastGcCollections = gcCollections();
+		lastGcMillis = gcMillis();
+	}
+
+	/**
+	 * Starts measuring a frame. Phases are only recorded between calls to beginFrame and endFrame.
+	 */
+	public void beginFrame() {
+		inFrame = true;
+		frameStartNanos = System.nanoTime();
+		frameStartBytes = allocatedBytes();
+	}
+
+	/**
+	 * Finishes measuring a frame, and writes a summary to the session log if one is due.
+	 */
+	public void endFrame() {
+		if (!inFrame) {
+			return;
+		}
+		inFrame = false;
+
+		frameNanos.add(System.nanoTime() - frameStartNanos);
+		frameAllocatedBytes.add(allocatedBytes() - frameStartBytes);
+
+		long collections = gcCollections();
+		long millis = gcMillis();
+		frameGcCollections.add(collections - lastGcCollections);
+		frameGcMillis.add(millis - lastGcMillis);
+		lastGcCollections = collections;
+		lastGcMillis = millis;
+
+		if (log != null) {
+			long now = System.currentTimeMillis();
+			if (now - lastLogMillis >= LogIntervalMillis) {
+				lastLogMillis = now;
+				log.write(snapshot());
+			}
+		}
+	}
+
+	/**
+	 * Starts measuring a phase. Does nothing if a frame isn't being measured.
+	 *
+	 * @param phase the phase.
+	 */
+	public void begin(Phase phase) {
+		if (inFrame) {
+			phaseStartNanos[phase.ordinal()] = System.nanoTime();
+			phaseStartBytes[phase.ordinal()] = allocatedBytes();
+		}
+	}
+
+	/**
+	 * Finishes measuring a phase. Does nothing if a frame isn't being measured.
+	 *
+	 * @param phase the phase.
+	 */
+	public void end(Phase phase) {
+		if (inFrame) {
+			int index = phase.ordinal();
+			phaseNanos[index].add(System.nanoTime() - phaseStartNanos[index]);
+			phaseAllocatedBytes[index].add(allocatedBytes() - phaseStartBytes[index]);
+		}
+	}
+
+	/**
+	 * @return the number of bytes that have been allocated by the current thread, or 0 if the JVM doesn't support measuring
+	 *     allocations.
+	 */
+	long allocatedBytes() {
+		return (threadBean != null) ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+	}
+
+	/**
+	 * @return whether the JVM can measure the bytes allocated by a thread. If it can't, all allocation counts are zero.
+	 */
+	public boolean isAllocationMeasured() {
+		return threadBean != null;
+	}
+
+	private long gcCollections() {
+		long collections = 0;
+		for (int i = 0; i < gcBeans.size(); i++) {
+			collections += Math.max(0, gcBeans.get(i).getCollectionCount());
+		}
+		return collections;
+	}
+
+	private long gcMillis() {
+		long millis = 0;
+		for (int i = 0; i < gcBeans.size(); i++) {
+			millis += Math.max(0, gcBeans.get(i).getCollectionTime());
+		}
+		return millis;
+	}
+
+	/**
+	 * @return a summary of the most recent frames.
+	 */
+	public Snapshot snapshot() {
+		var phaseSummaries = new ArrayList<PhaseSummary>(phases.length);
+		for (Phase phase : phases) {
+			phaseSummaries.add(summarize(phase.name(), phaseNanos[phase.ordinal()], phaseAllocatedBytes[phase.ordinal()]));
+		}
+
+		return new Snapshot(System.currentTimeMillis(),
+				summarize("Frame", frameNanos, frameAllocatedBytes),
+				Collections.unmodifiableList(phaseSummaries),
+				Math.round(frameGcCollections.mean() * frameGcCollections.count()),
+				Math.round(frameGcMillis.mean() * frameGcMillis.count()));
+	}
+
+	private static PhaseSummary summarize(String name, RollingPercentiles nanos, RollingPercentiles allocatedBytes) {
+		return new PhaseSummary(name, nanos.count(),
+				nanos.percentile(50) / 1_000_000.0, nanos.percentile(95) / 1_000_000.0, nanos.percentile(99) / 1_000_000.0,
+				nanos.mean() / 1_000_000.0, allocatedBytes.mean());
+	}
+
+	/**
+	 * @return a human-readable summary of the most recent frames.
+	 */
+	public String dump() {
+		return snapshot().toString();
+	}
+
+	/**
+	 * Starts writing a summary to the specified file once per {@code LogIntervalMillis}. Files with a .json extension are
+	 * written as one json object per line; all other files are written as CSV. The file is written on a background thread.
+	 * Does nothing if a log was already started.
+	 *
+	 * @param file the log file. It is replaced if it already exists.
+	 * @throws IOException if the file can't be opened.
+	 */
+	public void startLog(Path file) throws IOException {
+		if (log == null) {
+			log = new FrameProfilerLog(file);
+		}
+	}
+
+	/**
+	 * Closes the session log, if one was started, after the pending summaries are written.
+	 */
+	public void dispose() {
+		if (log != null) {
+			log.close();
+			log = null;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package bubolo.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.github.cliftonlabs.json_simple.JsonArray;
+import com.github.cliftonlabs.json_simple.JsonObject;
+
+import bubolo.Config;
+import bubolo.util.FrameProfiler.PhaseSummary;
+import bubolo.util.FrameProfiler.Snapshot;
+
+/**
+ * Writes frame profiler summaries to a CSV or json file. Summaries are formatted and written on a background thread, so
+ * that file I/O doesn't add to the frame time that is being measured.
+ *
+ * @author Christopher D. Canfield
+ */
+class FrameProfilerLog {
+	private static final String CsvHeader = "timestamp,phase,frames,p50Millis,p95Millis,p99Millis,meanMillis,"
+			+ "meanAllocatedBytes,gcCollections,gcMillis";
+
+	private final BufferedWriter writer;
+	private final boolean json;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		var thread = new Thread(runnable, "Frame Profiler Log");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	FrameProfilerLog(Path file) throws IOException {
+		this.writer = Files.newBufferedWriter(file);
+		this.json = file.getFileName().toString().endsWith(".json");
+
+		if (!json) {
+			writer.write(CsvHeader);
+			writer.newLine();
+		}
+	}
+
+	/**
+	 * Queues a summary to be written.
+	 *
+	 * @param snapshot the summary.
+	 */
+	void write(Snapshot snapshot) {
+		executor.execute(() -> {
+			try {
+				String timestamp = Instant.ofEpochMilli(snapshot.timestampMillis()).toString();
+				if (json) {
+					writeJson(timestamp, snapshot);
+				} else {
+					writeCsv(timestamp, snapshot);
+				}
+				writer.flush();
+			} catch (IOException e) {
+				Logger.getLogger(Config.AppProgramaticTitle).warning("Unable to write frame profile: " + e);
+			}
+		});
+	}
+
+	private void writeCsv(String timestamp, Snapshot snapshot) throws IOException {
+		writeCsvRow(timestamp, snapshot, snapshot.frame());
+		for (var phase : snapshot.phases()) {
+			writeCsvRow(timestamp, snapshot, phase);
+		}
+	}
+
+	private void writeCsvRow(String timestamp, Snapshot snapshot, PhaseSummary phase) throws IOException {
+		writer.write(String.format("%s,%s,%d,%.4f,%.4f,%.4f,%.4f,%.1f,%d,%d", timestamp, phase.name(), phase.frames(),
+				phase.p50Millis(), phase.p95Millis(), phase.p99Millis(), phase.meanMillis(), phase.meanAllocatedBytes(),
+				snapshot.gcCollections(), snapshot.gcMillis()));
+		writer.newLine();
+	}
+
+	private void writeJson(String timestamp, Snapshot snapshot) throws IOException {
+		var phases = new JsonArray();
+		for (var phase : snapshot.phases()) {
+			phases.add(toJson(phase));
+		}
+
+		var sample = new JsonObject();
+		sample.put("timestamp", timestamp);
+		sample.put("frame", toJson(snapshot.frame()));
+		sample.put("phases", phases);
+		sample.put("gcCollections", snapshot.gcCollections());
+		sample.put("gcMillis", snapshot.gcMillis());
+
+		writer.write(sample.toJson());
+		writer.newLine();
+	}
+
+	private static JsonObject toJson(PhaseSummary phase) {
+		var json = new JsonObject();
+		json.put("phase", phase.name());
+		json.put("frames", phase.frames());
+		json.put("p50Millis", phase.p50Millis());
+		json.put("p95Millis", phase.p95Millis());
+		json.put("p99Millis", phase.p99Millis());
+		json.put("meanMillis", phase.meanMillis());
+		json.put("meanAllocatedBytes", phase.meanAllocatedBytes());
+		return json;
+	}
+
+	/**
+	 * Closes the file after the queued summaries have been written.
+	 */
+	void close() {
+		executor.execute(() -> {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				Logger.getLogger(Config.AppProgramaticTitle).warning("Unable to close frame profile: " + e);
+			}
+		});
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,90 @@
+package bubolo.util;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent samples in a fixed size window, and calculates percentiles and the mean over the window. Adding a
+ * sample doesn't allocate. The window is sorted lazily, the first time a percentile is requested after samples were added.
+ *
+ * @author Christopher D. Canfield
+ */
+class RollingPercentiles {
+	private final long[] samples;
+	private final long[] sorted;
+	private int count;
+	private int next;
+	private long sum;
+	private boolean sortedIsCurrent;
+
+	/**
+	 * @param windowSize the number of recent samples that are kept.
+	 */
+	RollingPercentiles(int windowSize) {
+		assert windowSize > 0;
+		samples = new long[windowSize];
+		sorted = new long[windowSize];
+	}
+
+	/**
+	 * Adds a sample, replacing the oldest sample if the window is full.
+	 *
+	 * @param value the sample.
+	 */
+	void add(long value) {
+		if (count == samples.length) {
+			sum -= samples[next];
+		} else {
+			count++;
+		}
+		samples[next] = value;
+		sum += value;
+		next = (next + 1) % samples.length;
+		sortedIsCurrent = false;
+	}
+
+	/**
+	 * @return the number of samples in the window.
+	 */
+	int count() {
+		return count;
+	}
+
+	/**
+	 * @return the mean of the samples in the window, or 0 if there are no samples.
+	 */
+	double mean() {
+		return (count == 0) ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * Returns the sample at the specified percentile, using the nearest-rank method.
+	 *
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the sample at the specified percentile, or 0 if there are no samples.
+	 */
+	long percentile(double percentile) {
+		assert percentile >= 0 && percentile <= 100;
+		if (count == 0) {
+			return 0;
+		}
+
+		if (!sortedIsCurrent) {
+			System.arraycopy(samples, 0, sorted, 0, count);
+			Arrays.sort(sorted, 0, count);
+			sortedIsCurrent = true;
+		}
+
+		int rank = (int) Math.ceil(percentile / 100.0 * count);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * Removes all samples.
+	 */
+	void clear() {
+		count = 0;
+		next = 0;
+		sum = 0;
+		sortedIsCurrent = false;
+	}
+}
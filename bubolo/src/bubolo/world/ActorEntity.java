@@ -1,7 +1,6 @@
 package bubolo.world;
 
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Polygon;
 
 import bubolo.Systems;
 import bubolo.controllers.Controller;
@@ -46,6 +45,21 @@ public abstract class ActorEntity extends Entity implements Collidable {
 		boundingBox = new BoundingBox(this);
 	}
 
+	/**
+	 * Resets the actor's position, rotation, owner and controller. Used when a pooled actor is reused.
+	 *
+	 * @param args the actor's new construction arguments.
+	 */
+	void resetActor(ConstructionArgs args) {
+		reuse(args.id());
+		this.x = args.x();
+		this.y = args.y();
+		this.rotation = args.rotationRadians();
+		this.owner = null;
+		this.controller = nullController;
+		updateBounds();
+	}
+
 	@Override
 	public float rotation() {
 		return rotation;
@@ -190,8 +204,8 @@ public abstract class ActorEntity extends Entity implements Collidable {
 	}
 
 	@Override
-	public Polygon bounds() {
-		return boundingBox.bounds();
+	public BoundingBox boundingBox() {
+		return boundingBox;
 	}
 
 	@Override
@@ -1,5 +1,8 @@
 package bubolo.world;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import bubolo.Config;
 import bubolo.Systems;
 import bubolo.net.command.ActorEntityCaptured;
@@ -59,6 +62,9 @@ public class Base extends ActorEntity implements Damageable, TerrainImprovement
 	private static final int width = 32;
 	private static final int height = 32;
 
+	/** Reused when checking for nearby tanks, to avoid allocating a new list each tick. */
+	private final List<Tank> nearbyTanks = new ArrayList<>(4);
+
 	private static final TerrainTravelSpeed terrainTravelSpeed = TerrainTravelSpeed.VerySlow;
 
 	/**
@@ -82,7 +88,8 @@ public class Base extends ActorEntity implements Damageable, TerrainImprovement
 
 		/* @NOTE (cdc 2021-05-25): Switched to the index-based for loop, rather than for-each (my preference), b/c the
 		 * 			iterator for the UnmodifiableList was creating a weirdly large amount of garbage according to the profiler. */
-		var tanks = world.getTanks();
+		// Tanks that overlap the base are well within width + height of its position, so only those tanks need to be tested.
+		var tanks = world.getTanksWithinDistance(nearbyTanks, x(), y(), width() + height());
 		for (int i = 0; i < tanks.size(); i++) {
 			var tank = tanks.get(i);
 			if (overlapsEntity(tank)) {
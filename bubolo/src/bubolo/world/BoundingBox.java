@@ -1,15 +1,28 @@
 package bubolo.world;
 
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Intersector.MinimumTranslationVector;
 import com.badlogic.gdx.math.Polygon;
 
+import bubolo.util.Nullable;
+
 /**
- * Contains bounds updating functionality, and an underlying Polygon for collision detection.
+ * An axis-aligned bounding box, centered on its entity's position, that is used for collision detection. The box is stored
+ * as four floats, so moving it and testing it for overlaps are cheap and don't allocate. Collidable bounds are never
+ * rotated, so the polygon that represents the box is only built for callers that request it.
  *
  * @author Christopher D. Canfield
  * @since 0.4.0
  */
 public class BoundingBox {
-	private Polygon bounds = new Polygon(new float[8]);
+	private float left;
+	private float bottom;
+	private float right;
+	private float top;
+
+	private final Polygon polygon = new Polygon(new float[8]);
+	// Whether the polygon must be rebuilt before it is returned.
+	private boolean polygonDirty = true;
 
 	public BoundingBox(Entity entity) {
 		this(entity.x(), entity.y(), entity.width(), entity.height());
@@ -20,31 +33,207 @@ public class BoundingBox {
 	}
 
 	public void updateBounds(Entity entity) {
-		updateBounds(entity.x(), entity.y(), entity.height(), entity.width());
+		updateBounds(entity.x(), entity.y(), entity.width(), entity.height());
 	}
 
+	/**
+	 * Moves and resizes the box.
+	 *
+	 * @param x the box's center x position.
+	 * @param y the box's center y position.
+	 * @param width the box's width.
+	 * @param height the box's height.
+	 */
 	public void updateBounds(float x, float y, int width, int height) {
-		float w = width;
-		float h = height;
+		float halfWidth = width / 2f;
+		float halfHeight = height / 2f;
 
-		float[] corners = bounds.getVertices();
-		corners[0] = w / 2f;
-		corners[1] = h / 2f;
+		left = x - halfWidth;
+		right = x + halfWidth;
+		bottom = y - halfHeight;
+		top = y + halfHeight;
 
-		corners[2] = w / 2f;
-		corners[3] = -h / 2f;
+		polygonDirty = true;
+	}
 
-		corners[4] = -w / 2f;
-		corners[5] = h / 2f;
+	public float left() {
+		return left;
+	}
 
-		corners[6] = w / 2f;
-		corners[7] = -h / 2f;
+	public float bottom() {
+		return bottom;
+	}
+
+	public float right() {
+		return right;
+	}
+
+	public float top() {
+		return top;
+	}
 
-		bounds.setPosition(x, y);
-		bounds.dirty();
+	/**
+	 * Whether this box overlaps a rectangle. Boxes that only share an edge don't overlap.
+	 *
+	 * @param otherLeft the rectangle's left position.
+	 * @param otherBottom the rectangle's bottom position.
+	 * @param otherRight the rectangle's right position.
+	 * @param otherTop the rectangle's top position.
+	 * @return true if this box overlaps the rectangle.
+	 */
+	public boolean overlaps(float otherLeft, float otherBottom, float otherRight, float otherTop) {
+		return left < otherRight && right > otherLeft && bottom < otherTop && top > otherBottom;
 	}
 
+	/**
+	 * Whether this box overlaps another. Boxes that only share an edge don't overlap.
+	 *
+	 * @param other the box to check against.
+	 * @return true if this box overlaps the other box.
+	 */
+	public boolean overlaps(BoundingBox other) {
+		return overlaps(other.left, other.bottom, other.right, other.top);
+	}
+
+	/**
+	 * Tests whether this box overlaps another.
+	 *
+	 * @param other the box to check against.
+	 * @param collisionVector [optional] if present, and the boxes overlap, this will be populated with the minimum magnitude
+	 * vector required to push this box out of the other box.
+	 * @return true if this box overlaps the other box.
+	 */
+	public boolean overlaps(BoundingBox other, @Nullable MinimumTranslationVector collisionVector) {
+		if (!overlaps(other)) {
+			return false;
+		}
+
+		if (collisionVector != null) {
+			float overlapX = Math.min(right, other.right) - Math.max(left, other.left);
+			float overlapY = Math.min(top, other.top) - Math.max(bottom, other.bottom);
+			if (overlapX < overlapY) {
+				collisionVector.normal.set((left + right < other.left + other.right) ? -1 : 1, 0);
+				collisionVector.depth = overlapX;
+			} else {
+				collisionVector.normal.set(0, (bottom + top < other.bottom + other.top) ? -1 : 1);
+				collisionVector.depth = overlapY;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Whether this box overlaps a circle.
+	 *
+	 * @param circle the circle to check against.
+	 * @return true if this box overlaps the circle.
+	 */
+	public boolean overlaps(Circle circle) {
+		float dx = circle.x - Math.max(left, Math.min(circle.x, right));
+		float dy = circle.y - Math.max(bottom, Math.min(circle.y, top));
+		return dx * dx + dy * dy < circle.radius * circle.radius;
+	}
+
+	/**
+	 * @param x the point's x position.
+	 * @param y the point's y position.
+	 * @return true if the point is in the box, or on its edge.
+	 */
+	public boolean contains(float x, float y) {
+		return x >= left && x <= right && y >= bottom && y <= top;
+	}
+
+	/**
+	 * Returns the segment parameter, from 0 to 1, at which a segment enters the box, or Float.MAX_VALUE if the segment doesn't
+	 * touch the box. Returns 0 if the segment starts inside the box.
+	 *
+	 * @param startX the segment's starting x position.
+	 * @param startY the segment's starting y position.
+	 * @param dx the segment's length along the x axis.
+	 * @param dy the segment's length along the y axis.
+	 * @return the segment parameter at which the segment enters the box, or Float.MAX_VALUE if it doesn't.
+	 */
+	public float segmentEntry(float startX, float startY, float dx, float dy) {
+		return segmentEntry(startX, startY, dx, dy, 0, 0);
+	}
+
+	/**
+	 * Returns the segment parameter, from 0 to 1, at which a box that is moved along a segment first touches this box, or
+	 * Float.MAX_VALUE if it doesn't. Returns 0 if the moving box already overlaps this box at the start of the segment. This
+	 * is the same as testing the segment against this box widened by the moving box's half extents.
+	 *
+	 * @param startX the moving box's starting center x position.
+	 * @param startY the moving box's starting center y position.
+	 * @param dx the segment's length along the x axis.
+	 * @param dy the segment's length along the y axis.
+	 * @param halfWidth half of the moving box's width. 0 to test a point.
+	 * @param halfHeight half of the moving box's height. 0 to test a point.
+	 * @return the segment parameter at which the moving box touches this box, or Float.MAX_VALUE if it doesn't.
+	 */
+	public float segmentEntry(float startX, float startY, float dx, float dy, float halfWidth, float halfHeight) {
+		float sweptLeft = left - halfWidth;
+		float sweptRight = right + halfWidth;
+		float sweptBottom = bottom - halfHeight;
+		float sweptTop = top + halfHeight;
+
+		if (startX >= sweptLeft && startX <= sweptRight && startY >= sweptBottom && startY <= sweptTop) {
+			return 0;
+		}
+
+		float entryT = 0;
+		float exitT = 1;
+
+		if (dx == 0) {
+			if (startX < sweptLeft || startX > sweptRight) {
+				return Float.MAX_VALUE;
+			}
+		} else {
+			float t1 = (sweptLeft - startX) / dx;
+			float t2 = (sweptRight - startX) / dx;
+			entryT = Math.max(entryT, Math.min(t1, t2));
+			exitT = Math.min(exitT, Math.max(t1, t2));
+		}
+
+		if (dy == 0) {
+			if (startY < sweptBottom || startY > sweptTop) {
+				return Float.MAX_VALUE;
+			}
+		} else {
+			float t1 = (sweptBottom - startY) / dy;
+			float t2 = (sweptTop - startY) / dy;
+			entryT = Math.max(entryT, Math.min(t1, t2));
+			exitT = Math.min(exitT, Math.max(t1, t2));
+		}
+
+		return (entryT <= exitT) ? entryT : Float.MAX_VALUE;
+	}
+
+	/**
+	 * @return a polygon that represents the box. The polygon is rebuilt only if the box changed since it was last requested.
+	 */
 	public Polygon bounds() {
-		return bounds;
+		if (polygonDirty) {
+			polygonDirty = false;
+
+			float halfWidth = (right - left) / 2f;
+			float halfHeight = (top - bottom) / 2f;
+
+			float[] corners = polygon.getVertices();
+			corners[0] = halfWidth;
+			corners[1] = halfHeight;
+
+			corners[2] = halfWidth;
+			corners[3] = -halfHeight;
+
+			corners[4] = -halfWidth;
+			corners[5] = -halfHeight;
+
+			corners[6] = -halfWidth;
+			corners[7] = halfHeight;
+
+			polygon.setPosition(left + halfWidth, bottom + halfHeight);
+			polygon.dirty();
+		}
+		return polygon;
 	}
 }
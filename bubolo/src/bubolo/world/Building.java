@@ -1,7 +1,5 @@
 package bubolo.world;
 
-import com.badlogic.gdx.math.Polygon;
-
 import bubolo.Systems;
 import bubolo.audio.Sfx;
 import bubolo.audio.SfxRateLimiter;
@@ -34,8 +32,8 @@ public class Building extends StaticEntity implements TerrainImprovement, Collid
 	}
 
 	@Override
-	public Polygon bounds() {
-		return boundingBox.bounds();
+	public BoundingBox boundingBox() {
+		return boundingBox;
 	}
 
 	@Override
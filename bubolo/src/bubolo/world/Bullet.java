@@ -1,7 +1,12 @@
 package bubolo.world;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
 import bubolo.Systems;
 import bubolo.audio.Sfx;
+import bubolo.util.Nullable;
 
 /**
  * Bullets are shot by Tanks and Pillboxes, and can cause damage to StationaryElements and other Actors.
@@ -9,7 +14,7 @@ import bubolo.audio.Sfx;
  * @author BU CS673 - Clone Productions
  * @author Christopher D. Canfield
  */
-public class Bullet extends ActorEntity {
+public class Bullet extends ActorEntity implements ReusableEntity, ParallelActor {
 	// The max distance the bullet can travel, in world units.
 	private static final float maxDistance = 600;
 
@@ -44,6 +49,28 @@ public class Bullet extends ActorEntity {
 
 	private BulletHitObjectObserver observer;
 
+	// Whether prepareUpdate found the first object other than a tank that is in the bullet's path in its next move, and the
+	// object, if there is one.
+	private boolean hitPrepared;
+	private @Nullable Collidable preparedHit;
+	// The world's pillbox move count when the hit was prepared.
+	private int preparedPillboxMoveCount;
+
+	// Reused to hold the tanks near the bullet's path, to avoid allocating a new list each tick. Bullets are pooled, so the
+	// list is reused across shots.
+	private final List<Tank> nearbyTanks = new ArrayList<>(4);
+
+	// Whether the bullet can hit a collidable. Created once per bullet, so that raycasting doesn't allocate.
+	private final Predicate<Collidable> hitFilter = collidable -> {
+		Entity e = (Entity) collidable;
+		return collidable instanceof Damageable && e != owner() && !isBaseAlliedOrBroken(e);
+	};
+
+	// The objects that are checked by prepareUpdate. Tanks are excluded, since they can move during the tick. Bases are
+	// included whatever their state, since a base can be captured or destroyed during the tick.
+	private final Predicate<Collidable> prepareFilter =
+			collidable -> collidable instanceof Damageable && !(collidable instanceof Tank) && collidable != owner();
+
 	public static final int Width = 4;
 	public static final int Height = 8;
 
@@ -60,6 +87,32 @@ public class Bullet extends ActorEntity {
 		Systems.audio().play(Sfx.CannonFired, args.x(), args.y());
 	}
 
+	@Override
+	public void reset(ConstructionArgs args, World world) {
+		distanceTraveled = 0;
+		initialized = false;
+		observer = null;
+		hitPrepared = false;
+		preparedHit = null;
+
+		Systems.audio().play(Sfx.CannonFired, args.x(), args.y());
+	}
+
+	/**
+	 * Finds the first object other than a tank, if any, that is in the bullet's path when it next moves. Tanks are checked
+	 * during the update, since a tank that is updated before this bullet may move into or out of its path.
+	 */
+	@Override
+	public void prepareUpdate(World world) {
+		if (!initialized) {
+			initialize();
+		}
+
+		preparedHit = world.sweepBox(x(), y(), x() + movementX, y() + movementY, Width / 2f, Height / 2f, prepareFilter);
+		preparedPillboxMoveCount = world.pillboxMoveCount();
+		hitPrepared = true;
+	}
+
 	@Override
 	protected void onUpdate(World world) {
 		if (!initialized) {
@@ -92,28 +145,89 @@ public class Bullet extends ActorEntity {
 		float newY = y() + movementY;
 
 		if (distanceTraveled > maxDistance || !world.containsPoint(newX, newY)) {
+			hitPrepared = false;
+			preparedHit = null;
 			dispose();
 			return;
 		}
 
+		float startX = x();
+		float startY = y();
+
 		setPosition(x() + movementX, y() + movementY);
 		distanceTraveled += Math.abs(movementX) + Math.abs(movementY);
 
-		processCollisions(world);
+		processCollisions(world, startX, startY);
 	}
 
-	private void processCollisions(World world) {
-		for (Collidable collidable : world.getCollidablesWithinTileDistance(this, 1, false, Damageable.class)) {
-			Entity e = (Entity) collidable;
-			if (e != owner() && overlapsEntity(collidable) && !isBaseAlliedOrBroken(e)) {
-				// We know the collision object is Damageable, because we filtered for that in the getNearbyCollidables method.
-				Damageable collisionObject = (Damageable) e;
-				collisionObject.receiveDamage(world, damage, owner());
-				observer.onBulletHitObject();
-				dispose();
-				break;
+	/**
+	 * Sweeps the bullet's bounding box from its previous position to its new position, and damages the first object that it
+	 * hits. Sweeping, rather than only checking the new position, prevents the bullet from passing through thin objects.
+	 */
+	private void processCollisions(World world, float startX, float startY) {
+		Collidable collidable;
+		// Use the object found by prepareUpdate, unless it was destroyed, or can no longer be hit, because of an actor that
+		// was updated before this bullet. New objects are only added to the tile map at the end of the tick, but a tank can
+		// place or pick up a pillbox during its update, so the prepared object is also discarded if a pillbox was moved onto
+		// or off of the tile map. Tanks can move during the tick, so they are always checked again.
+		if (hitPrepared && preparedPillboxMoveCount == world.pillboxMoveCount() && (preparedHit == null
+				|| (!((Entity) preparedHit).isDisposed() && hitFilter.test(preparedHit)))) {
+			collidable = firstTankHit(world, startX, startY, preparedHit);
+		} else {
+			collidable = sweep(world, startX, startY, x(), y());
+		}
+		hitPrepared = false;
+		preparedHit = null;
+
+		if (collidable != null) {
+			// We know the collision object is Damageable, because the hit filter only accepts damageable objects.
+			Damageable collisionObject = (Damageable) collidable;
+			collisionObject.receiveDamage(world, damage, owner());
+			observer.onBulletHitObject();
+			dispose();
+		}
+	}
+
+	/**
+	 * Returns the first object that the bullet's bounding box touches as it moves between two positions. The whole box is
+	 * swept, rather than only its center, so shots that clip the edge of an object hit it.
+	 */
+	private @Nullable Collidable sweep(World world, float startX, float startY, float endX, float endY) {
+		return world.sweepBox(startX, startY, endX, endY, Width / 2f, Height / 2f, hitFilter);
+	}
+
+	/**
+	 * Returns the first tank that the bullet's bounding box touches as it moves from the start position to its current
+	 * position, if the tank is touched no later than the specified object. Otherwise, returns the object. Tanks win ties,
+	 * to match the order in which World.sweepBox tests objects.
+	 *
+	 * @param otherHit the first object other than a tank in the bullet's path, or null if there is none.
+	 */
+	private @Nullable Collidable firstTankHit(World world, float startX, float startY, @Nullable Collidable otherHit) {
+		float dx = x() - startX;
+		float dy = y() - startY;
+		float halfWidth = Width / 2f;
+		float halfHeight = Height / 2f;
+
+		Collidable closestHit = otherHit;
+		float closestHitT = (otherHit != null)
+				? otherHit.boundingBox().segmentEntry(startX, startY, dx, dy, halfWidth, halfHeight)
+				: Float.MAX_VALUE;
+
+		float searchDistance = (float) Math.sqrt(dx * dx + dy * dy) / 2 + Entity.EntityMaxSize + halfHeight;
+		var tanks = world.getTanksWithinDistance(nearbyTanks, startX + dx / 2, startY + dy / 2, searchDistance);
+		for (int i = 0; i < tanks.size(); i++) {
+			Tank tank = tanks.get(i);
+			if (!tank.isDisposed() && hitFilter.test(tank)) {
+				float t = tank.boundingBox().segmentEntry(startX, startY, dx, dy, halfWidth, halfHeight);
+				if (t < closestHitT || (t == closestHitT && t != Float.MAX_VALUE && !(closestHit instanceof Tank))) {
+					closestHit = tank;
+					closestHitT = t;
+				}
 			}
 		}
+		tanks.clear();
+		return closestHit;
 	}
 
 	/**
@@ -19,12 +19,20 @@ public interface Collidable {
 	boolean isSolid();
 
 	/**
-	 * @return The collidable object's bounding polygon.
+	 * @return The collidable object's axis-aligned bounding box, which is used for collision detection.
 	 */
-	Polygon bounds();
+	BoundingBox boundingBox();
 
 	/**
-	 * Updates the object's bounding polygon.
+	 * @return The collidable object's bounding polygon. The polygon is built from the bounding box when it is requested, so
+	 * prefer the bounding box's tests where possible.
+	 */
+	default Polygon bounds() {
+		return boundingBox().bounds();
+	}
+
+	/**
+	 * Updates the object's bounding box.
 	 */
 	void updateBounds();
 
@@ -47,6 +55,6 @@ public interface Collidable {
 	 * @return true if this collidable object overlaps the passed in collidable.
 	 */
 	default boolean overlapsEntity(Collidable collidable, @Nullable Intersector.MinimumTranslationVector collisionVector) {
-		return Intersector.overlapConvexPolygons(bounds(), collidable.bounds(), collisionVector);
+		return boundingBox().overlaps(collidable.boundingBox(), collisionVector);
 	}
 }
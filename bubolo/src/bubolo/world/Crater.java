@@ -1,5 +1,7 @@
 package bubolo.world;
 
+import java.util.List;
+
 import bubolo.util.TileUtil;
 
 /**
@@ -61,12 +63,13 @@ public class Crater extends StaticEntity implements TerrainImprovement, EdgeMatc
 	}
 
 	/**
-	 * Disposes the crater, and replaces it and its underlying terrain with a water tile. If the crater is already
-	 * disposed, this is a no-op.
+	 * Disposes the crater and its underlying terrain, and adds the water tile that replaces them to a batch of new entities.
+	 * The caller adds the batch to the world. If the crater is already disposed, this is a no-op.
 	 *
 	 * @param world reference to the game world.
+	 * @param newEntities the batch that the water tile is added to.
 	 */
-	public void replaceWithWater(World world) {
+	void replaceWithWater(World world, List<World.NewEntity> newEntities) {
 		if (!isDisposed()) {
 			dispose();
 
@@ -74,7 +77,7 @@ public class Crater extends StaticEntity implements TerrainImprovement, EdgeMatc
 			terrain.dispose();
 
 			var args = new Entity.ConstructionArgs(x(), y(), 0);
-			world.addEntity(Water.class, args);
+			newEntities.add(new World.NewEntity(Water.class, args));
 		}
 	}
 
@@ -83,7 +86,7 @@ public class Crater extends StaticEntity implements TerrainImprovement, EdgeMatc
 	}
 
 	/**
-	 * Starts flooding the crater, if it is not already flooding.
+	 * Starts flooding the crater, if it is not already flooding. The crater is replaced with water after FloodTimeSeconds.
 	 *
 	 * @param world reference to the game world.
 	 */
@@ -97,9 +100,7 @@ public class Crater extends StaticEntity implements TerrainImprovement, EdgeMatc
 				mine.explode(world);
 			}
 
-			world.timer().scheduleSeconds(FloodTimeSeconds, w -> {
-				replaceWithWater(world);
-			});
+			world.scheduleCraterFlood(this);
 		}
 	}
 }
@@ -0,0 +1,98 @@
+package bubolo.world;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bubolo.util.Time;
+
+/**
+ * Replaces flooding craters with water. Flooding craters are kept in a frontier queue, ordered by the tick on which they
+ * finish flooding. Each tick, at most MaxCratersFloodedPerTick craters are replaced, and their water tiles are added to
+ * the world as a single batch. Craters beyond the budget are replaced on the following ticks, so a large field of craters
+ * floods without a spike in entity churn.
+ * <p>
+ * The water tiles that are added cause their neighbouring craters to start flooding, so a trench of craters still floods
+ * one crater at a time.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class CraterFloodSystem {
+	/** The maximum number of craters that are replaced with water in a single tick. */
+	static final int MaxCratersFloodedPerTick = 8;
+
+	private static final int floodTicks = Time.secondsToTicks(Crater.FloodTimeSeconds);
+
+	// Circular queue of flooding craters and the tick on which each finishes flooding. The craters themselves are stored, rather
+	// than their tiles, so that a crater that is destroyed and replaced while flooding doesn't inherit the old crater's due tick.
+	private Crater[] frontierCraters = new Crater[16];
+	private int[] frontierDueTicks = new int[16];
+	private int head;
+	private int size;
+
+	private int tick;
+
+	// Reused to batch the new water tiles.
+	private final List<World.NewEntity> newWater = new ArrayList<>(MaxCratersFloodedPerTick);
+
+	/**
+	 * Schedules a crater to be replaced with water once it has finished flooding.
+	 *
+	 * @param crater the flooding crater.
+	 */
+	void schedule(Crater crater) {
+		if (size == frontierCraters.length) {
+			grow();
+		}
+		int index = (head + size) % frontierCraters.length;
+		frontierCraters[index] = crater;
+		frontierDueTicks[index] = tick + floodTicks;
+		size++;
+	}
+
+	/**
+	 * The number of craters that are waiting to be replaced with water.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Replaces the craters that have finished flooding with water, up to the per-tick limit.
+	 *
+	 * @param world reference to the game world.
+	 */
+	void update(World world) {
+		tick++;
+
+		int processed = 0;
+		while (size > 0 && processed < MaxCratersFloodedPerTick && frontierDueTicks[head] <= tick) {
+			Crater crater = frontierCraters[head];
+			frontierCraters[head] = null;
+			head = (head + 1) % frontierCraters.length;
+			size--;
+			processed++;
+
+			// The crater may have been removed while it was flooding, in which case this is a no-op.
+			crater.replaceWithWater(world, newWater);
+		}
+
+		if (!newWater.isEmpty()) {
+			world.addEntities(newWater);
+			newWater.clear();
+		}
+	}
+
+	private void grow() {
+		Crater[] craters = new Crater[frontierCraters.length * 2];
+		int[] dueTicks = new int[frontierCraters.length * 2];
+		for (int i = 0; i < size; i++) {
+			int index = (head + i) % frontierCraters.length;
+			craters[i] = frontierCraters[index];
+			dueTicks[i] = frontierDueTicks[index];
+		}
+		frontierCraters = craters;
+		frontierDueTicks = dueTicks;
+		head = 0;
+	}
+}
@@ -15,7 +15,8 @@ import bubolo.util.Units;
  * <p>
  * {@code EntityType(Entity.ConstructionArgs args, World world)}
  * </p>
- * The constructor does not need to be public.
+ * The constructor does not need to be public. New entity types should also be registered in {@link EntityTypes}, which allows
+ * them to be constructed without reflection and sent over the network.
  *
  * @author Christopher D. Canfield
  * @since 0.4.0
@@ -59,7 +60,8 @@ public abstract class Entity {
 		}
 	}
 
-	private final UUID id;
+	// Not final, because reusable entities are given a new ID each time they are reused.
+	private UUID id;
 	private boolean disposed;
 
 	private final byte width;
@@ -152,6 +154,19 @@ public abstract class Entity {
 		}
 	}
 
+	/**
+	 * Gives a reusable entity a new ID, and clears its disposed flag. Only called by the game world, when a pooled
+	 * {@code ReusableEntity} is reused.
+	 *
+	 * @param newId the entity's new ID.
+	 */
+	void reuse(UUID newId) {
+		assert this instanceof ReusableEntity;
+		assert disposed;
+		this.id = newId;
+		this.disposed = false;
+	}
+
 	/**
 	 * Called when dispose is called.
 	 */
@@ -1,5 +1,7 @@
 package bubolo.world;
 
+import java.util.List;
+
 /**
  * An observer that is notified by the world when an entity is created or destroyed. EntityLifetimeObservers
  * are added to the world using the {@code world.addEntityLifetimeObserver} method.
@@ -22,6 +24,18 @@ public interface EntityLifetimeObserver extends EntityRemovedObserver {
 	 */
 	void onEntityAdded(Entity entity);
 
+	/**
+	 * Called once when a batch of entities is added to the world using {@code World.addEntities}. By default, this calls
+	 * onEntityAdded for each entity.
+	 *
+	 * @param entities unmodifiable list of the entities that were added.
+	 */
+	default void onEntitiesAdded(List<Entity> entities) {
+		for (int i = 0; i < entities.size(); i++) {
+			onEntityAdded(entities.get(i));
+		}
+	}
+
 	/**
 	 * Called when an entity is removed from the world.
 	 *
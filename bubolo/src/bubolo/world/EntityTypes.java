@@ -0,0 +1,111 @@
+package bubolo.world;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import bubolo.util.GameLogicException;
+import bubolo.util.Nullable;
+
+/**
+ * Registry of the entity types that can be added to the world. Each type is registered once, with a function that constructs
+ * it and a compact type id. The game world constructs registered types using their functions rather than by reflection, and
+ * network commands and the map importer refer to types by their ids rather than by their Class objects.
+ * <p>
+ * Type ids are assigned in registration order, so all players that run the same version of the game agree on them. New types
+ * must be added to the end of the registration list.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+public final class EntityTypes {
+	/**
+	 * Constructs an entity of a specific type.
+	 *
+	 * @param <T> the entity's type.
+	 */
+	@FunctionalInterface
+	interface Factory<T extends Entity> {
+		T create(Entity.ConstructionArgs args, World world);
+	}
+
+	private static record Registration(Class<? extends Entity> type, byte id, Factory<? extends Entity> factory) {
+	}
+
+	private static final List<Registration> registrationsById = new ArrayList<>();
+	private static final Map<Class<? extends Entity>, Registration> registrationsByType = new HashMap<>();
+
+	static {
+		register(Tank.class, Tank::new);
+		register(Bullet.class, Bullet::new);
+		register(Mine.class, Mine::new);
+		register(MineExplosion.class, MineExplosion::new);
+		register(Pillbox.class, Pillbox::new);
+		register(Base.class, Base::new);
+		register(Building.class, Building::new);
+		register(Wall.class, Wall::new);
+		register(Tree.class, Tree::new);
+		register(Rubble.class, Rubble::new);
+		register(Crater.class, Crater::new);
+		register(Spawn.class, Spawn::new);
+		register(Grass.class, Grass::new);
+		register(Swamp.class, Swamp::new);
+		register(Road.class, Road::new);
+		register(Water.class, Water::new);
+		register(DeepWater.class, DeepWater::new);
+	}
+
+	private EntityTypes() {
+	}
+
+	private static <T extends Entity> void register(Class<T> type, Factory<T> factory) {
+		assert !registrationsByType.containsKey(type) : "Entity type registered twice: " + type.getName();
+		assert registrationsById.size() <= Byte.MAX_VALUE : "Too many entity types registered.";
+
+		var registration = new Registration(type, (byte) registrationsById.size(), factory);
+		registrationsById.add(registration);
+		registrationsByType.put(type, registration);
+	}
+
+	/**
+	 * Returns the compact id of the specified entity type.
+	 *
+	 * @param type the entity's class.
+	 * @return the type's id.
+	 * @throws GameLogicException if the type isn't registered.
+	 */
+	public static byte id(Class<? extends Entity> type) {
+		var registration = registrationsByType.get(type);
+		if (registration == null) {
+			throw new GameLogicException("Entity type is not registered: " + type.getName());
+		}
+		return registration.id();
+	}
+
+	/**
+	 * Returns the entity type that has the specified id.
+	 *
+	 * @param id the type's id.
+	 * @return the entity's class.
+	 * @throws GameLogicException if no type has the specified id.
+	 */
+	public static Class<? extends Entity> type(int id) {
+		if (id < 0 || id >= registrationsById.size()) {
+			throw new GameLogicException("Unknown entity type id: " + id);
+		}
+		return registrationsById.get(id).type();
+	}
+
+	/**
+	 * Returns the function that constructs the specified type, or null if the type isn't registered.
+	 *
+	 * @param type the entity's class.
+	 * @return the type's construction function, or null if the type isn't registered.
+	 */
+	@SuppressWarnings("unchecked")
+	static @Nullable <T extends Entity> Factory<T> factory(Class<T> type) {
+		var registration = registrationsByType.get(type);
+		return (registration != null) ? (Factory<T>) registration.factory() : null;
+	}
+}
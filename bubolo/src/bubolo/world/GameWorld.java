@@ -3,9 +3,12 @@ package bubolo.world;
 import static bubolo.util.Units.TileToWorldScale;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -13,6 +16,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
@@ -23,9 +27,9 @@ import bubolo.controllers.ControllerFactory;
 import bubolo.controllers.Controllers;
 import bubolo.net.Network;
 import bubolo.net.command.DestroyEntity;
+import bubolo.util.AllocationProfiler;
 import bubolo.util.GameLogicException;
 import bubolo.util.Nullable;
-import bubolo.util.Rect;
 import bubolo.util.Timer;
 import bubolo.util.Units;
 
@@ -36,9 +40,24 @@ import bubolo.util.Units;
  * @author Christopher D. Canfield
  */
 public class GameWorld implements World {
+	/**
+	 * The phases of an update, which the allocation profiler attributes allocations to.
+	 */
+	public enum UpdatePhase {
+		ReleaseRemovedEntities,
+		Timers,
+		CraterFlooding,
+		Controllers,
+		PrepareActors,
+		Actors,
+		RemoveDisposedEntities,
+		AddNewEntities,
+		Retiling
+	}
+
 	private final List<EntityLifetimeObserver> entityLifetimeObservers = new ArrayList<>();
 
-	private final List<Entity> entities = new ArrayList<>();
+	private final ArrayList<Entity> entities = new ArrayList<>();
 	private final List<Entity> entitiesUnmodifiableView = Collections.unmodifiableList(entities);
 	private final Map<UUID, Entity> entityMap = new HashMap<>();
 
@@ -50,21 +69,46 @@ public class GameWorld implements World {
 
 	private final List<Spawn> spawns = new ArrayList<>();
 
+	// Grid of tank positions, used by pillboxes, mines and bases to find nearby tanks. Rebuilt at most once per tick.
+	private final TankProximityGrid tankProximityGrid;
+
+	// Raycasters aren't thread safe, so each thread that raycasts has its own. Parallel actors raycast from pool threads.
+	private final ThreadLocal<TileRaycaster> raycasters = ThreadLocal.withInitial(() -> new TileRaycaster(this));
+
+	// Prepares parallel actors on a fork-join pool, if parallel actor updates are enabled.
+	private final ParallelActorUpdater parallelActorUpdater;
+	private boolean parallelActorUpdates;
+
 	// first: column; second: row.
 	private final Terrain[][] terrain;
 	private final TerrainImprovement[][] terrainImprovements;
-	private final Map<Tile, Mine> mines = new HashMap<>();
+	private final Mine[][] mines;
 
 	// The entities to remove.
 	private final Set<Entity> entitiesToRemove = new HashSet<>();
 
 	// The list of entities to add. The entities array can't be modified while it is
 	// being iterated over.
-	private final List<Entity> entitiesToAdd = new ArrayList<>();
+	private final ArrayList<Entity> entitiesToAdd = new ArrayList<>();
+
+	// Pools of removed reusable entities, keyed by type. Reusing these short-lived entities, rather than constructing new
+	// ones, prevents each shot or explosion from allocating a new entity and bounding box.
+	private final Map<Class<? extends Entity>, Deque<Entity>> entityPools = new HashMap<>();
+	private static final int maxPooledEntitiesPerType = 128;
+
+	// Reusable entities that were removed during the previous update. They aren't returned to their pools until the next
+	// update, so that observers, such as sprites, see that they were disposed before they are reused.
+	private final List<Entity> entitiesToRelease = new ArrayList<>();
 
-	// The craters that will be flooded.
+	// The craters that will start flooding at the end of the current update.
 	private final Set<Crater> cratersToFlood = new HashSet<>(4);
 
+	// Replaces flooding craters with water.
+	private final CraterFloodSystem craterFloodSystem;
+
+	// The number of times that a pillbox has been moved onto or off of the tile map.
+	private int pillboxMoveCount;
+
 	// List of world controllers.
 	private final List<Controller> worldControllers = new ArrayList<>();
 
@@ -74,7 +118,13 @@ public class GameWorld implements World {
 	// Reducing the number of calls to updateTilingState significantly reduced the time that update takes,
 	// and reduced total memory usage (primarily by reducing a large number of boolean[] allocations).
 	private List<EdgeMatchable> adaptables = new ArrayList<EdgeMatchable>();
-	private boolean adaptableTileModified = false;
+	// Whether every adaptable must be retiled. Otherwise, only the adaptables around the modified tiles are retiled.
+	private boolean retileAllAdaptables = true;
+	// The tiles, packed as column * rows + row, whose adaptables were added or removed since the last update.
+	private int[] modifiedAdaptableTiles = new int[16];
+	private int modifiedAdaptableTileCount;
+	// If more tiles than this are modified in an update, all adaptables are retiled instead.
+	private static final int maxModifiedAdaptableTiles = 256;
 
 	// Width in world units.
 	private final int width;
@@ -88,8 +138,11 @@ public class GameWorld implements World {
 	// @TODO (cdc 2021-07-29): Set the seed.
 	private final Random randomGenerator = new Random();
 
-	// The world is divided into six zones for the purpose of notifications and player spawning.
-	private final Rect[] zones;
+	// The world is divided into nine zones for the purpose of notifications and player spawning.
+	private final WorldZones zones;
+
+	// Measures the bytes allocated by each phase of an update. Disabled unless allocation profiling is requested.
+	private final AllocationProfiler<UpdatePhase> allocationProfiler = new AllocationProfiler<>(UpdatePhase.class);
 
 	/**
 	 * Constructs a GameWorld object.
@@ -105,43 +158,18 @@ public class GameWorld implements World {
 
 		terrain = new Terrain[worldTileColumns][worldTileRows];
 		terrainImprovements = new TerrainImprovement[worldTileColumns][worldTileRows];
+		mines = new Mine[worldTileColumns][worldTileRows];
 
 		width = worldTileColumns * Units.TileToWorldScale;
 		height = worldTileRows * Units.TileToWorldScale;
 
-		zones = constructZones(worldTileColumns, worldTileRows);
-	}
-
-	private static Rect[] constructZones(int worldTileColumns, int worldTileRows) {
-		final int zoneColumns = 3;
-		final int zoneRows = 3;
-
-		// If there are fewer columns or rows than zones, just create a single zone for the world.
-		if (worldTileColumns / zoneRows == 0 || worldTileRows / zoneRows == 0) {
-			Rect[] zones = new Rect[1];
-			zones[0] = new Rect(0, 0, worldTileColumns, worldTileRows, "Central");
-			return zones;
-		}
-
-		int tileColumnsPerZone = worldTileColumns / zoneColumns;
-		// Count tile columns that couldn't be evenly distributed to the other zones.
-		int extraTileColumns = worldTileColumns % zoneColumns;
-		int tileRowsPerZone = worldTileRows / zoneRows;
-		// Count tile rows that couldn't be evenly distributed to the other zones.
-		int extraTileRows = worldTileRows % zoneRows;
+		zones = new WorldZones(worldTileColumns, worldTileRows);
+		tankProximityGrid = new TankProximityGrid(width, height);
+		craterFloodSystem = new CraterFloodSystem();
+		parallelActorUpdater = new ParallelActorUpdater(width, height, ForkJoinPool.commonPool());
 
-		Rect[] zones = new Rect[zoneColumns * zoneRows];
-		zones[0] = new Rect(0, 0, tileColumnsPerZone, tileRowsPerZone, "Southwest");
-		zones[1] = new Rect(0, zones[0].top() + 1, tileColumnsPerZone, tileRowsPerZone, "West");
-		zones[2] = new Rect(0, zones[1].top() + 1, tileColumnsPerZone, tileRowsPerZone + extraTileRows, "Northwest");
-		zones[3] = new Rect(zones[0].right() + 1, 0, tileColumnsPerZone, tileRowsPerZone, "South Central");
-		zones[4] = new Rect(zones[0].right() + 1, zones[0].top() + 1, tileColumnsPerZone, tileRowsPerZone, "Central");
-		zones[5] = new Rect(zones[0].right() + 1, zones[1].top() + 1, tileColumnsPerZone, tileRowsPerZone + extraTileRows, "North Central");
-		zones[6] = new Rect(zones[3].right() + 1, 0, tileColumnsPerZone + extraTileColumns, tileRowsPerZone, "Southeast");
-		zones[7] = new Rect(zones[3].right() + 1, zones[0].top() + 1, tileColumnsPerZone + extraTileColumns, tileRowsPerZone, "East");
-		zones[8] = new Rect(zones[3].right() + 1, zones[1].top() + 1, tileColumnsPerZone + extraTileColumns, tileRowsPerZone + extraTileRows, "Northeast");
-
-		return zones;
+		entityPools.put(Bullet.class, new ArrayDeque<>());
+		entityPools.put(MineExplosion.class, new ArrayDeque<>());
 	}
 
 	@Override
@@ -164,20 +192,48 @@ public class GameWorld implements World {
 	@Override
 	public <T extends Entity> T addEntity(Class<T> c, Entity.ConstructionArgs args, ControllerFactory controllerFactory)
 			throws GameLogicException, IllegalStateException {
+		T entity = addEntityWithoutNotifyingObservers(c, args, controllerFactory);
+
+		for (var observer : entityLifetimeObservers) {
+			observer.onEntityAdded(entity);
+		}
+
+		return entity;
+	}
+
+	@Override
+	public List<Entity> addEntities(List<NewEntity> newEntities) throws GameLogicException {
+		var addedEntities = new ArrayList<Entity>(newEntities.size());
+		var addedEntitiesView = Collections.unmodifiableList(addedEntities);
+		entitiesToAdd.ensureCapacity(entitiesToAdd.size() + newEntities.size());
+
+		try {
+			for (int i = 0; i < newEntities.size(); i++) {
+				var newEntity = newEntities.get(i);
+				addedEntities.add(addEntityWithoutNotifyingObservers(newEntity.type(), newEntity.args(), null));
+			}
+		} finally {
+			// Notify the observers even if an entity failed, since the entities before it were added to the world.
+			if (!addedEntities.isEmpty()) {
+				for (var observer : entityLifetimeObservers) {
+					observer.onEntitiesAdded(addedEntitiesView);
+				}
+			}
+		}
+
+		return addedEntitiesView;
+	}
+
+	private <T extends Entity> T addEntityWithoutNotifyingObservers(Class<T> c, Entity.ConstructionArgs args,
+			@Nullable ControllerFactory controllerFactory) {
 		if (entityMap.containsKey(args.id())) {
 			throw new GameLogicException("The specified entity already exists. Entity id: " + args.id() + ". Entity type: "
 					+ entityMap.get(args.id()).getClass().getName());
 		}
 
-		T entity;
-		try {
-			var constructor = c.getDeclaredConstructor(Entity.ConstructionArgs.class, World.class);
-			entity = constructor.newInstance(args, this);
-		} catch (InstantiationException | IllegalAccessException | NoSuchMethodException | SecurityException
-				| IllegalArgumentException | InvocationTargetException e) {
-			e.printStackTrace();
-			String cause = (e.getCause() != null) ? e.getCause().toString() : "No cause reported.";
-			throw new GameLogicException(String.format("%s: \n%s", e.toString(), cause));
+		T entity = reusePooledEntity(c, args);
+		if (entity == null) {
+			entity = constructEntity(c, args);
 		}
 
 		assert entity.x() <= getWidth();
@@ -196,16 +252,65 @@ public class GameWorld implements World {
 		entityMap.put(entity.id(), entity);
 		processNewTank(entity);
 
-		for (var observer : entityLifetimeObservers) {
-			observer.onEntityAdded(entity);
+		return entity;
+	}
+
+	/**
+	 * Constructs a new entity of the specified type. Registered types are constructed using their EntityTypes factory; any
+	 * other type is constructed by reflection.
+	 */
+	private <T extends Entity> T constructEntity(Class<T> c, Entity.ConstructionArgs args) {
+		var factory = EntityTypes.factory(c);
+		if (factory != null) {
+			return factory.create(args, this);
+		}
+
+		try {
+			var constructor = c.getDeclaredConstructor(Entity.ConstructionArgs.class, World.class);
+			return constructor.newInstance(args, this);
+		} catch (InstantiationException | IllegalAccessException | NoSuchMethodException | SecurityException
+				| IllegalArgumentException | InvocationTargetException e) {
+			e.printStackTrace();
+			String cause = (e.getCause() != null) ? e.getCause().toString() : "No cause reported.";
+			throw new GameLogicException(String.format("%s: \n%s", e.toString(), cause));
+		}
+	}
+
+	/**
+	 * Reinitializes and returns a pooled entity of the specified type, if one is available.
+	 *
+	 * @return a reinitialized pooled entity, or null if the type isn't pooled or its pool is empty.
+	 */
+	private @Nullable <T extends Entity> T reusePooledEntity(Class<T> c, Entity.ConstructionArgs args) {
+		var pool = entityPools.get(c);
+		if (pool == null || pool.isEmpty()) {
+			return null;
 		}
 
+		T entity = c.cast(pool.pop());
+		((ActorEntity) entity).resetActor(args);
+		((ReusableEntity) entity).reset(args, this);
 		return entity;
 	}
 
+	/**
+	 * Returns the reusable entities that were removed during the previous update to their pools.
+	 */
+	private void releaseRemovedEntities() {
+		for (Entity entity : entitiesToRelease) {
+			var pool = entityPools.get(entity.getClass());
+			if (pool != null && pool.size() < maxPooledEntitiesPerType) {
+				pool.push(entity);
+			}
+		}
+		entitiesToRelease.clear();
+	}
+
 	private void processNewTank(Entity entity) {
 		if (entity instanceof Tank tank) {
 			tanks.add(tank);
+			tankProximityGrid.markDirty();
+			zones.markTanksDirty();
 		}
 	}
 
@@ -218,13 +323,66 @@ public class GameWorld implements World {
 	private void processNewSpawn(Entity entity) {
 		if (entity instanceof Spawn spawn) {
 			spawns.add(spawn);
+			zones.addSpawn(spawn);
 		}
 	}
 
 	private void processNewAdaptable(Entity entity) {
 		if (entity instanceof EdgeMatchable adaptable) {
 			adaptables.add(adaptable);
-			adaptableTileModified = true;
+			markAdaptableTileModified(entity);
+		}
+	}
+
+	private void markAdaptableTileModified(Entity entity) {
+		if (retileAllAdaptables) {
+			return;
+		}
+
+		if (modifiedAdaptableTileCount == maxModifiedAdaptableTiles) {
+			retileAllAdaptables = true;
+			modifiedAdaptableTileCount = 0;
+		} else {
+			if (modifiedAdaptableTileCount == modifiedAdaptableTiles.length) {
+				modifiedAdaptableTiles = Arrays.copyOf(modifiedAdaptableTiles, modifiedAdaptableTiles.length * 2);
+			}
+			modifiedAdaptableTiles[modifiedAdaptableTileCount++] = entity.tileColumn() * getTileRows() + entity.tileRow();
+		}
+	}
+
+	/**
+	 * Updates the tiling state of the adaptables that were added or removed since the last update, and of their neighbours.
+	 * An adaptable's tiling state depends only on the eight tiles that surround it: the tiles above, below, left and right
+	 * of it, and, for water and deep water, the diagonal tiles that determine their corner matches.
+	 */
+	private void retileModifiedAdaptables() {
+		if (retileAllAdaptables) {
+			adaptables.forEach(adaptable -> adaptable.updateTilingState(this));
+			retileAllAdaptables = false;
+		} else {
+			int rows = getTileRows();
+			for (int i = 0; i < modifiedAdaptableTileCount; i++) {
+				int column = modifiedAdaptableTiles[i] / rows;
+				int row = modifiedAdaptableTiles[i] % rows;
+				for (int neighbourColumn = column - 1; neighbourColumn <= column + 1; neighbourColumn++) {
+					for (int neighbourRow = row - 1; neighbourRow <= row + 1; neighbourRow++) {
+						retileAdaptablesInTile(neighbourColumn, neighbourRow);
+					}
+				}
+			}
+		}
+		modifiedAdaptableTileCount = 0;
+	}
+
+	private void retileAdaptablesInTile(int column, int row) {
+		if (isValidTile(column, row)) {
+			if (terrain[column][row] instanceof EdgeMatchable adaptable && !terrain[column][row].isDisposed()) {
+				adaptable.updateTilingState(this);
+			}
+			var terrainImprovement = terrainImprovements[column][row];
+			if (terrainImprovement instanceof EdgeMatchable adaptable && !((Entity) terrainImprovement).isDisposed()) {
+				adaptable.updateTilingState(this);
+			}
 		}
 	}
 
@@ -299,29 +457,35 @@ public class GameWorld implements World {
 
 	private void processNewMine(Entity entity) {
 		if (entity instanceof Mine mine) {
-			// Add the terrain improvement. If one already exists, ensure that it has been disposed.
-			Tile tile = new Tile(entity.tileColumn(), entity.tileRow());
-			Mine existingMine = mines.get(tile);
+			// Add the mine. If one already exists, ensure that it has been disposed.
+			int column = mine.tileColumn();
+			int row = mine.tileRow();
+			Mine existingMine = mines[column][row];
 			if (existingMine != null) {
-				assert mine.isDisposed() : String.format("Mine added to tile (%d,%d), which already has a mine.",
-						mine.tileColumn(), mine.tileRow());
+				assert existingMine.isDisposed() : String.format("Mine added to tile (%d,%d), which already has a mine.",
+						column, row);
 			}
-			mines.put(tile, mine);
+			mines[column][row] = mine;
 		}
 	}
 
 	@Override
 	public <T extends Terrain> void populateEmptyTilesWith(Class<T> terrainType) {
+		var newTerrain = new ArrayList<NewEntity>();
 		for (int column = 0; column < getTileColumns(); column++) {
 			for (int row = 0; row < getTileRows(); row++) {
 				if (terrain[column][row] == null) {
 					float x = column * Units.TileToWorldScale;
 					float y = row * Units.TileToWorldScale;
 					var args = new Entity.ConstructionArgs(Entity.nextId(), x, y, 0);
-					addEntity(terrainType, args);
+					newTerrain.add(new NewEntity(terrainType, args));
 				}
 			}
 		}
+
+		if (!newTerrain.isEmpty()) {
+			addEntities(newTerrain);
+		}
 	}
 
 	@Override
@@ -351,6 +515,7 @@ public class GameWorld implements World {
 //				pillbox.tileRow(),
 //				String.valueOf(existingPillbox));
 		terrainImprovements[pillbox.tileColumn()][pillbox.tileRow()] = null;
+		pillboxMoveCount++;
 	}
 
 	// @HACK (cdc 2021-06-08): This is a hack to fix a network crashing issue with moving pillboxes.
@@ -382,11 +547,21 @@ public class GameWorld implements World {
 
 		terrainImprovements[column][row] = pillbox;
 		pillbox.setPosition(column * TileToWorldScale, row * TileToWorldScale);
+		pillboxMoveCount++;
+	}
+
+	@Override
+	public int pillboxMoveCount() {
+		return pillboxMoveCount;
 	}
 
 	@Override
 	public Mine getMine(int column, int row) {
-		var mine = mines.get(new Tile(column, row));
+		if (!isValidTile(column, row)) {
+			return null;
+		}
+
+		var mine = mines[column][row];
 		if (mine != null && !mine.isDisposed()) {
 			return mine;
 		} else {
@@ -421,25 +596,51 @@ public class GameWorld implements World {
 
 	@Override
 	public void update() {
+		allocationProfiler.beginTick();
+
+		releaseRemovedEntities();
+		tankProximityGrid.markDirty();
+		zones.markTanksDirty();
+		allocationProfiler.mark(UpdatePhase.ReleaseRemovedEntities);
+
 		timer.update(this);
+		allocationProfiler.mark(UpdatePhase.Timers);
+		craterFloodSystem.update(this);
+		allocationProfiler.mark(UpdatePhase.CraterFlooding);
 
 		// Update all world controllers
-		for (Controller c : worldControllers) {
-			c.update(this);
+		for (int i = 0; i < worldControllers.size(); i++) {
+			worldControllers.get(i).update(this);
+		}
+		allocationProfiler.mark(UpdatePhase.Controllers);
+
+		// Prepare the parallel actors' updates against the world as it is before any actor is updated.
+		if (parallelActorUpdates) {
+			tankProximityGrid.rebuildIfDirty(tanks);
+			parallelActorUpdater.prepareActors(actors, this);
 		}
+		allocationProfiler.mark(UpdatePhase.PrepareActors);
 
 		// Update all non-disposed actors.
-		for (var actor : actors) {
+		for (int i = 0; i < actors.size(); i++) {
+			var actor = actors.get(i);
 			if (!actor.isDisposed()) {
 				actor.update(this);
 			}
 		}
+		allocationProfiler.mark(UpdatePhase.Actors);
 
 		// Check for disposed entities.
-		entitiesToRemove.addAll(entities.stream().filter(e -> e.isDisposed()).toList());
+		for (int i = 0; i < entities.size(); i++) {
+			var entity = entities.get(i);
+			if (entity.isDisposed()) {
+				entitiesToRemove.add(entity);
+			}
+		}
 
 		removeEntities(entitiesToRemove);
 		entitiesToRemove.clear();
+		allocationProfiler.mark(UpdatePhase.RemoveDisposedEntities);
 
 		if (!entitiesToAdd.isEmpty()) {
 			entities.addAll(entitiesToAdd);
@@ -457,19 +658,45 @@ public class GameWorld implements World {
 			}
 			entitiesToAdd.clear();
 		}
+		allocationProfiler.mark(UpdatePhase.AddNewEntities);
 
 		// Start the flooding process for craters that are adjacent to water.
-		for (Crater crater : cratersToFlood) {
-			crater.flood(this);
+		if (!cratersToFlood.isEmpty()) {
+			for (Crater crater : cratersToFlood) {
+				crater.flood(this);
+			}
+			cratersToFlood.clear();
 		}
-		cratersToFlood.clear();
 
-		if (adaptableTileModified) {
-			adaptables.forEach(adaptable -> adaptable.updateTilingState(this));
-		}
-		adaptableTileModified = false;
+		retileModifiedAdaptables();
+		allocationProfiler.mark(UpdatePhase.Retiling);
 
 		isFirstUpdate = false;
+		allocationProfiler.endTick();
+	}
+
+	/**
+	 * Sets whether actors that implement ParallelActor are prepared in parallel at the start of each update. Their updates
+	 * are then applied in order on the game thread, so the world is only modified by one thread at a time. Disabled by
+	 * default.
+	 *
+	 * @param enabled whether parallel actors are prepared in parallel.
+	 */
+	public void setParallelActorUpdates(boolean enabled) {
+		parallelActorUpdates = enabled;
+	}
+
+	public boolean isParallelActorUpdates() {
+		return parallelActorUpdates;
+	}
+
+	/**
+	 * Returns the profiler that measures the bytes allocated by each phase of an update. The profiler is disabled by default.
+	 *
+	 * @return the update's allocation profiler.
+	 */
+	public AllocationProfiler<UpdatePhase> allocationProfiler() {
+		return allocationProfiler;
 	}
 
 	/**
@@ -483,10 +710,12 @@ public class GameWorld implements World {
 			entities.removeAll(markedForRemoval);
 			entityMap.values().removeAll(markedForRemoval);
 
-			tanks.removeAll(markedForRemoval);
+			if (tanks.removeAll(markedForRemoval)) {
+				tankProximityGrid.markDirty();
+				zones.markTanksDirty();
+			}
 			actors.removeAll(markedForRemoval);
 			spawns.removeAll(markedForRemoval);
-			mines.values().removeAll(markedForRemoval);
 
 			for (var toBeRemoved : markedForRemoval) {
 				// Remove if terrain improvement
@@ -496,12 +725,25 @@ public class GameWorld implements World {
 					if (toBeRemoved == terrainImprovements[col][row]) {
 						terrainImprovements[col][row] = null;
 					}
+				} else if (toBeRemoved instanceof Mine) {
+					// Remove if mine
+					var col = toBeRemoved.tileColumn();
+					var row = toBeRemoved.tileRow();
+					if (toBeRemoved == mines[col][row]) {
+						mines[col][row] = null;
+					}
+				} else if (toBeRemoved instanceof Spawn spawn) {
+					zones.removeSpawn(spawn);
 				}
 
 				// Notify lifetime observers.
 				for (var observer : entityLifetimeObservers) {
 					observer.onEntityRemoved(toBeRemoved);
 				}
+
+				if (toBeRemoved instanceof ReusableEntity) {
+					entitiesToRelease.add(toBeRemoved);
+				}
 			}
 
 			// Notify the network players.
@@ -509,10 +751,15 @@ public class GameWorld implements World {
 			markedForRemoval.stream().filter(e -> !(e instanceof Bullet && !(e instanceof Mine))).forEach(e -> {
 				network.send(new DestroyEntity(e.id()));
 			});
+			for (Entity removed : markedForRemoval) {
+				network.onEntityRemoved(removed.id());
+			}
 
 			var adaptablesToRemove = markedForRemoval.stream().filter(e -> e instanceof EdgeMatchable).map(e -> (EdgeMatchable) e)
 					.toList();
-			adaptableTileModified = adaptableTileModified || adaptables.removeAll(adaptablesToRemove);
+			if (adaptables.removeAll(adaptablesToRemove)) {
+				adaptablesToRemove.forEach(adaptable -> markAdaptableTileModified((Entity) adaptable));
+			}
 		}
 	}
 
@@ -602,20 +849,14 @@ public class GameWorld implements World {
 
 	private Spawn getRandomSpawn(@Nullable List<Spawn> spawnsToExclude) {
 		assert !spawns.isEmpty();
+		final int minimumTileDistanceBetweenSpawns = 10;
 
-		List<Integer> zoneIndexes = new ArrayList<>(zones.length);
-		for (int i = 0; i < zones.length; i++) {
-			zoneIndexes.add(i);
-		}
-		Collections.shuffle(zoneIndexes);
-
-		Spawn spawn = null;
 		// Attempt to find a spawn that isn't in the exclusion list and is in a different zone than other tanks.
-		for (int zoneIndex : zoneIndexes) {
-			if (!zoneContainsTank(zoneIndex)) {
-				spawn = getSpawnFromZone(zones[zoneIndex], spawnsToExclude);
+		for (int zoneIndex : zones.shuffledZoneOrder(randomGenerator)) {
+			if (!zones.containsLiveTank(tanks, zoneIndex)) {
+				Spawn spawn = zones.randomSpawn(zoneIndex, spawnsToExclude, minimumTileDistanceBetweenSpawns, randomGenerator);
 				if (spawn != null) {
-					System.out.println("Found spawn in zone " + zones[zoneIndex].name());
+					System.out.println("Found spawn in zone " + zones.name(zoneIndex));
 					return spawn;
 				}
 			}
@@ -625,7 +866,7 @@ public class GameWorld implements World {
 		// that isn't excluded.
 		if (spawnsToExclude != null && !spawnsToExclude.isEmpty()) {
 			for (int attempts = 0; attempts < spawns.size(); attempts++) {
-				spawn = spawns.get(randomGenerator.nextInt(spawns.size()));
+				Spawn spawn = spawns.get(randomGenerator.nextInt(spawns.size()));
 				// Return the spawn if it is not in the exclusion list.
 				if (!spawnsToExclude.contains(spawn)) {
 					return spawn;
@@ -638,55 +879,6 @@ public class GameWorld implements World {
 		return spawns.get(randomGenerator.nextInt(spawns.size()));
 	}
 
-	private boolean zoneContainsTank(int zoneIndex) {
-		Rect zone = zones[zoneIndex];
-		for (Tank tank : tanks) {
-			if (tank.isAlive() && zone.contains(tank.tileColumn(), tank.tileRow())) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * Returns a spawn from the specified zone, or null if there are no spawns in the zone.
-	 *
-	 * @param zone the zone that the spawn must be located in.
-	 * @param spawnsToExclude spawns that the found spawn must not overlap or be too close to.
-	 * @return a spawn from the specified zone, or null if there are no spawns in the zone.
-	 */
-	private Spawn getSpawnFromZone(Rect zone, List<Spawn> spawnsToExclude) {
-		final int minimumTileDistanceBetweenSpawns = 10;
-		Collections.shuffle(spawns);
-		for (Spawn spawn : spawns) {
-			if (zone.contains(spawn.tileColumn(), spawn.tileRow())) {
-				if (spawnsToExclude != null && !spawnsToExclude.isEmpty()) {
-					boolean validSpawnFound = true;
-					for (Spawn excludedSpawn : spawnsToExclude) {
-						if (!isMinimumTileDistanceFromExcludedSpawn(spawn, excludedSpawn, minimumTileDistanceBetweenSpawns)) {
-							validSpawnFound = false;
-							break;
-						}
-					}
-
-					// Return the spawn if it does not overlap with, or is too near to, a spawn in the exclusion list.
-					if (validSpawnFound) {
-						return spawn;
-					}
-				// Return the spawn, because it is in the zone and there is no exclusion list.
-				} else {
-					return spawn;
-				}
-			}
-		}
-		return null;
-	}
-
-	private static boolean isMinimumTileDistanceFromExcludedSpawn(Spawn spawn, Spawn excludedSpawn, int minimumTileDistance) {
-		return Math.abs(spawn.tileColumn() - excludedSpawn.tileColumn()) > minimumTileDistance
-				&& Math.abs(spawn.tileRow() - excludedSpawn.tileRow()) > minimumTileDistance;
-	}
-
 	/**
 	 * Returns the zone name from a tile position.
 	 *
@@ -696,12 +888,7 @@ public class GameWorld implements World {
 	 */
 	@Override
 	public String getZoneFromTile(int column, int row) {
-		for (Rect zone : zones) {
-			if (zone.contains(column, row)) {
-				return zone.name();
-			}
-		}
-		throw new GameLogicException("Unable to locate zone for object in " + column + ", row " + row + ".");
+		return zones.name(zones.zoneIndex(column, row));
 	}
 
 	@Override
@@ -715,6 +902,28 @@ public class GameWorld implements World {
 		return getCollidablesWithinTileDistance(new ArrayList<>(), entity, tileMaxDistance, onlyIncludeSolidObjects, typeFilter);
 	}
 
+	@Override
+	public List<Tank> getTanksWithinDistance(List<Tank> listToPopulate, float x, float y, float maxDistance) {
+		return tankProximityGrid.getTanksWithinDistance(tanks, listToPopulate, x, y, maxDistance);
+	}
+
+	@Override
+	public @Nullable Collidable raycast(float startX, float startY, float endX, float endY,
+			@Nullable Predicate<Collidable> filter) {
+		return raycasters.get().raycast(startX, startY, endX, endY, 0, 0, filter);
+	}
+
+	@Override
+	public @Nullable Collidable sweepBox(float startX, float startY, float endX, float endY, float halfWidth, float halfHeight,
+			@Nullable Predicate<Collidable> filter) {
+		return raycasters.get().raycast(startX, startY, endX, endY, halfWidth, halfHeight, filter);
+	}
+
+	@Override
+	public void scheduleCraterFlood(Crater crater) {
+		craterFloodSystem.schedule(crater);
+	}
+
 	@Override
 	public List<Collidable> getCollidablesWithinTileDistance(List<Collidable> listToPopulate, Entity entity, int tileMaxDistance, boolean onlyIncludeSolidObjects, @Nullable Class<?> typeFilter) {
 		assert tileMaxDistance >= 0;
@@ -1,6 +1,7 @@
 package bubolo.world;
 
-import com.badlogic.gdx.math.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
 
 import bubolo.Config;
 import bubolo.Systems;
@@ -30,6 +31,9 @@ public class Mine extends ActorEntity implements Damageable {
 	/** Whether the local player can see this mine. */
 	private boolean canBeSeenByLocalPlayer;
 
+	/** Reused when checking for nearby tanks, to avoid allocating a new list each tick. */
+	private final List<Tank> nearbyTanks = new ArrayList<>(4);
+
 	/**
 	 * Constructs a new Mine.
 	 *
@@ -52,11 +56,12 @@ public class Mine extends ActorEntity implements Damageable {
 		if (!canBeSeenByLocalPlayer) {
 			float visibleLeft = centerX() - Config.CameraWorldUnitWidth / 2;
 			float visibleBottom = centerY() - Config.CameraWorldUnitHeight / 2;
-			Rectangle visibleRect = new Rectangle(visibleLeft, visibleBottom, Config.CameraWorldUnitWidth, Config.CameraWorldUnitHeight);
+			float visibleRight = visibleLeft + Config.CameraWorldUnitWidth;
+			float visibleTop = visibleBottom + Config.CameraWorldUnitHeight;
 
 			var tanks = world.getTanks();
 			for (Tank tank : tanks) {
-				if (tank.isAlliedWithLocalPlayer() && visibleRect.overlaps(tank.bounds().getBoundingRectangle())) {
+				if (tank.isAlliedWithLocalPlayer() && tank.boundingBox().overlaps(visibleLeft, visibleBottom, visibleRight, visibleTop)) {
 					canBeSeenByLocalPlayer = true;
 				}
 			}
@@ -77,9 +82,11 @@ public class Mine extends ActorEntity implements Damageable {
 	@Override
 	protected void onUpdate(World world) {
 		if (isArmed()) {
-			// Check if any tanks are touching this mine. If they are, explode the mine.
-			for (Tank tank : world.getTanks()) {
-				if (tank.overlapsEntity(this)) {
+			// Check if any tanks are touching this mine. If they are, explode the mine. Tanks that overlap the mine are well
+			// within width + height of its position, so only those tanks need to be tested.
+			var tanks = world.getTanksWithinDistance(nearbyTanks, x(), y(), width() + height());
+			for (int i = 0; i < tanks.size(); i++) {
+				if (tanks.get(i).overlapsEntity(this)) {
 					explode(world);
 					return;
 				}
@@ -1,5 +1,7 @@
 package bubolo.world;
 
+import java.util.function.Consumer;
+
 import bubolo.util.Time;
 import bubolo.util.Units;
 
@@ -9,7 +11,7 @@ import bubolo.util.Units;
  * @author BU CS673 - Clone Productions
  * @author Christopher D. Canfield
  */
-public class MineExplosion extends ActorEntity {
+public class MineExplosion extends ActorEntity implements ReusableEntity {
 	/** The explosion's lifetime, in seconds */
 	public static final float LifetimeSeconds = 0.75f;
 
@@ -21,6 +23,9 @@ public class MineExplosion extends ActorEntity {
 
 	private static final int blastRadiusTiles = 1;
 
+	// Stored so that a new lambda isn't allocated each time the explosion is reused.
+	private final Consumer<World> disposeAction = w -> dispose();
+
 	/**
 	 * Constructs a new MineExplosion.
 	 *
@@ -31,9 +36,12 @@ public class MineExplosion extends ActorEntity {
 		super(args, width, height);
 		updateBounds();
 
-		world.timer().scheduleSeconds(LifetimeSeconds, w -> {
-			dispose();
-		});
+		world.timer().scheduleSeconds(LifetimeSeconds, disposeAction);
+	}
+
+	@Override
+	public void reset(ConstructionArgs args, World world) {
+		world.timer().scheduleSeconds(LifetimeSeconds, disposeAction);
 	}
 
 	@Override
@@ -0,0 +1,26 @@
+package bubolo.world;
+
+/**
+ * Actors whose update can be split into two phases: a read-only phase that finds what the actor will do this tick, and the
+ * actor's normal update, which applies it. When the game world updates actors in parallel, it calls {@code prepareUpdate}
+ * on every parallel actor, on multiple threads, before any actor is updated. The actors are then updated in order on the
+ * game thread, so all changes to the world are still made in a deterministic order.
+ * <p>
+ * {@code prepareUpdate} may run at the same time as other actors' {@code prepareUpdate} methods. It must only record its
+ * results in the actor's own fields, and must not change the world or any other entity. It may only read from the world
+ * using {@code World.getTanksWithinDistance}, {@code World.raycast}, {@code World.sweepBox}, {@code World.containsPoint},
+ * {@code World.pillboxMoveCount}, and the getters of entities. The update that follows must work whether or not
+ * {@code prepareUpdate} was called this tick, and must redo any prepared work whose result was invalidated by an actor that
+ * was updated earlier in the tick.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+interface ParallelActor {
+	/**
+	 * Reads the world to find what this actor will do in its next update, and records the result in the actor.
+	 *
+	 * @param world reference to the game world. Must not be modified.
+	 */
+	void prepareUpdate(World world);
+}
@@ -0,0 +1,162 @@
+package bubolo.world;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import bubolo.util.Units;
+
+/**
+ * Runs the prepare phase of the world's parallel actors on a fork-join pool. Each tick, the actors are sorted into square
+ * regions of the world, using a counting sort so that no per-region lists are needed, and each fork-join task prepares the
+ * actors in a contiguous range of regions. Actors that are near each other usually read the same tiles and tanks, so
+ * keeping them in the same task keeps those reads local to one core.
+ * <p>
+ * If there are too few parallel actors to be worth splitting, they are prepared on the calling thread. The results are the
+ * same either way, since preparing an actor doesn't change the world.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class ParallelActorUpdater {
+	/** The width and height of each region, in world units. */
+	static final int RegionSize = 8 * Units.TileToWorldScale;
+
+	/** Tasks that contain this many actors or fewer aren't split further. */
+	static final int MinActorsPerTask = 64;
+
+	private final ForkJoinPool pool;
+
+	private final int columns;
+	private final int rows;
+
+	// The index of the first actor in each region within regionActors. The actors in region i are stored in
+	// regionActors[regionStarts[i]] to regionActors[regionStarts[i + 1] - 1].
+	private final int[] regionStarts;
+	private ParallelActor[] regionActors = new ParallelActor[64];
+
+	// The parallel actors found in the world's actor list, and the region that each is in.
+	private ParallelActor[] foundActors = new ParallelActor[64];
+	private int[] foundActorRegions = new int[64];
+
+	/**
+	 * @param worldWidth the world's width, in world units.
+	 * @param worldHeight the world's height, in world units.
+	 * @param pool the pool that actors are prepared on.
+	 */
+	ParallelActorUpdater(int worldWidth, int worldHeight, ForkJoinPool pool) {
+		this.pool = pool;
+		this.columns = Math.max(1, (worldWidth + RegionSize - 1) / RegionSize);
+		this.rows = Math.max(1, (worldHeight + RegionSize - 1) / RegionSize);
+		this.regionStarts = new int[columns * rows + 1];
+	}
+
+	/**
+	 * Calls prepareUpdate on each of the non-disposed parallel actors in the list. Returns once all of them are prepared.
+	 *
+	 * @param actors the world's actors. Actors that aren't parallel actors are skipped.
+	 * @param world reference to the game world.
+	 */
+	void prepareActors(List<ActorEntity> actors, World world) {
+		int actorCount = findParallelActors(actors);
+		if (actorCount == 0) {
+			return;
+		}
+
+		if (actorCount <= MinActorsPerTask) {
+			for (int i = 0; i < actorCount; i++) {
+				foundActors[i].prepareUpdate(world);
+			}
+		} else {
+			sortByRegion(actorCount);
+			pool.invoke(new PrepareRegionsTask(world, 0, columns * rows));
+			Arrays.fill(regionActors, 0, actorCount, null);
+		}
+
+		// Release references to actors that may be removed from the world.
+		Arrays.fill(foundActors, 0, actorCount, null);
+	}
+
+	private int findParallelActors(List<ActorEntity> actors) {
+		int actorCount = 0;
+		for (int i = 0; i < actors.size(); i++) {
+			ActorEntity actor = actors.get(i);
+			if (actor instanceof ParallelActor parallelActor && !actor.isDisposed()) {
+				if (actorCount == foundActors.length) {
+					foundActors = Arrays.copyOf(foundActors, actorCount * 2);
+					foundActorRegions = Arrays.copyOf(foundActorRegions, actorCount * 2);
+				}
+				foundActors[actorCount] = parallelActor;
+				foundActorRegions[actorCount] = regionRow(actor.y()) * columns + regionColumn(actor.x());
+				actorCount++;
+			}
+		}
+		return actorCount;
+	}
+
+	private void sortByRegion(int actorCount) {
+		if (regionActors.length < actorCount) {
+			regionActors = new ParallelActor[foundActors.length];
+		}
+
+		// Count the actors in each region, and then convert the counts to the index after each region's last actor.
+		Arrays.fill(regionStarts, 0);
+		for (int i = 0; i < actorCount; i++) {
+			regionStarts[foundActorRegions[i]]++;
+		}
+		for (int region = 1; region < regionStarts.length - 1; region++) {
+			regionStarts[region] += regionStarts[region - 1];
+		}
+		regionStarts[regionStarts.length - 1] = actorCount;
+
+		// Fill each region from its end, which leaves regionStarts pointing at the first actor in each region.
+		for (int i = actorCount - 1; i >= 0; i--) {
+			regionActors[--regionStarts[foundActorRegions[i]]] = foundActors[i];
+		}
+	}
+
+	private int regionColumn(float x) {
+		return clamp((int) (x / RegionSize), columns);
+	}
+
+	private int regionRow(float y) {
+		return clamp((int) (y / RegionSize), rows);
+	}
+
+	private static int clamp(int value, int count) {
+		return Math.max(0, Math.min(value, count - 1));
+	}
+
+	/**
+	 * Prepares the actors in a range of regions, splitting the range in half until each half has few enough actors.
+	 */
+	private class PrepareRegionsTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final World world;
+		private final int firstRegion;
+		private final int endRegion;
+
+		PrepareRegionsTask(World world, int firstRegion, int endRegion) {
+			this.world = world;
+			this.firstRegion = firstRegion;
+			this.endRegion = endRegion;
+		}
+
+		@Override
+		protected void compute() {
+			int firstActor = regionStarts[firstRegion];
+			int endActor = regionStarts[endRegion];
+			if (endRegion - firstRegion == 1 || endActor - firstActor <= MinActorsPerTask) {
+				for (int i = firstActor; i < endActor; i++) {
+					regionActors[i].prepareUpdate(world);
+				}
+			} else {
+				int middleRegion = (firstRegion + endRegion) >>> 1;
+				invokeAll(new PrepareRegionsTask(world, firstRegion, middleRegion),
+						new PrepareRegionsTask(world, middleRegion, endRegion));
+			}
+		}
+	}
+}
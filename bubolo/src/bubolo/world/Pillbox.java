@@ -2,9 +2,6 @@ package bubolo.world;
 
 import static bubolo.util.Units.worldUnitToTile;
 
-import com.badlogic.gdx.math.Intersector;
-import com.badlogic.gdx.math.Polygon;
-
 import bubolo.Config;
 import bubolo.Systems;
 import bubolo.audio.Sfx;
@@ -104,8 +101,8 @@ public class Pillbox extends ActorEntity implements Damageable, TerrainImproveme
 	/**
 	 * @return The area within which a tank can capture a pillbox.
 	 */
-	public Polygon captureBounds() {
-		return captureBounds.bounds();
+	public BoundingBox captureBounds() {
+		return captureBounds;
 	}
 
 	@Override
@@ -310,7 +307,7 @@ public class Pillbox extends ActorEntity implements Damageable, TerrainImproveme
 				float targetY = Units.TileToWorldScale * tileY;
 				targetLocationBoundingBox.updateBounds(targetX, targetY, Units.TileToWorldScale, Units.TileToWorldScale);
 				for (Tank tank : world.getTanks()) {
-					if (Intersector.overlapConvexPolygons(tank.bounds(), targetLocationBoundingBox.bounds())) {
+					if (tank.boundingBox().overlaps(targetLocationBoundingBox)) {
 						return BuildLocationValidity.InvalidTankInTheWay;
 					}
 				}
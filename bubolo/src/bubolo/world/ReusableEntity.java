@@ -0,0 +1,22 @@
+package bubolo.world;
+
+/**
+ * Short-lived entities, such as bullets, that are reused by the game world rather than reconstructed each time one is
+ * added. When a reusable entity is removed from the world, it is returned to a pool, and the next call to
+ * {@code World.addEntity} for its type reinitializes it with new construction arguments instead of constructing a new object.
+ * <p>
+ * By the time {@code reset} is called, the entity's ID, disposed flag, position, rotation, owner and controller have already
+ * been reset. Implementations must reset any other state, and repeat any side effects of their constructor.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+interface ReusableEntity {
+	/**
+	 * Reinitializes the entity so it can be added to the world again.
+	 *
+	 * @param args the entity's new construction arguments.
+	 * @param world reference to the game world.
+	 */
+	void reset(Entity.ConstructionArgs args, World world);
+}
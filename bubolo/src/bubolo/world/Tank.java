@@ -10,7 +10,6 @@ import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Intersector.MinimumTranslationVector;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
 
 import bubolo.Config;
 import bubolo.Systems;
@@ -531,13 +530,13 @@ public class Tank extends ActorEntity implements Damageable {
 				float targetLineX = (float) Math.cos(rotation()) * maxDistanceWorldUnits + centerX();
 				float targetLineY = (float) Math.sin(rotation()) * maxDistanceWorldUnits + centerY();
 
-				var tankPosition = new Vector2(x(), y());
-				var lineEndPosition = new Vector2(targetLineX, targetLineY);
+				float lineLengthX = targetLineX - x();
+				float lineLengthY = targetLineY - y();
 				for (Collidable collidable : pillboxes) {
 					// It's safe to cast to Pillbox, because we filtered to ensure only pillboxes were returned.
 					Pillbox pillbox = (Pillbox) collidable;
 					if (pillbox.isOwnedByLocalPlayer() &&
-							Intersector.intersectSegmentPolygon(tankPosition, lineEndPosition, pillbox.bounds())) {
+							pillbox.boundingBox().segmentEntry(x(), y(), lineLengthX, lineLengthY) != Float.MAX_VALUE) {
 
 						carriedPillbox = (Pillbox) collidable;
 						return true;
@@ -781,7 +780,7 @@ public class Tank extends ActorEntity implements Damageable {
 		for (var collider : adjacentCollidables) {
 			// Ensure that network tanks can dead-reckon through their own base.
 			if (!(collider instanceof Base base && base.hasOwner() && id().equals(base.owner().id()))) {
-				if (Intersector.overlaps(boundingCircle, collider.bounds().getBoundingRectangle())) {
+				if (collider.boundingBox().overlaps(boundingCircle)) {
 					float newX = previousX + (-dirX * collisionBounce);
 					float newY = previousY + (-dirY * collisionBounce);
 					setPosition(newX, newY);
@@ -798,7 +797,7 @@ public class Tank extends ActorEntity implements Damageable {
 		for (var collider : adjacentCollidables) {
 			// Ensure that network tanks can dead-reckon through their own base.
 			if (!(collider instanceof Base base && base.hasOwner() && id().equals(base.owner().id()))) {
-				if (Intersector.overlaps(boundingCircle, collider.bounds().getBoundingRectangle())) {
+				if (collider.boundingBox().overlaps(boundingCircle)) {
 					setPosition(previousX, previousY);
 
 					break;
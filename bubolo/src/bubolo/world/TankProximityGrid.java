@@ -0,0 +1,147 @@
+package bubolo.world;
+
+import java.util.Arrays;
+import java.util.List;
+
+import bubolo.util.Units;
+
+/**
+ * A coarse grid of tank positions, used to find the tanks that are near a point without testing every tank in the world.
+ * The grid is rebuilt at most once per tick, the first time it is queried after being marked dirty. Tanks move a short
+ * distance during the rest of the tick, so queries search the grid with a small margin, and then test each candidate's
+ * current position using squared distances.
+ *
+ * @author Christopher D. Canfield
+ */
+class TankProximityGrid {
+	/** The width and height of each grid cell, in world units. */
+	static final int CellSize = 4 * Units.TileToWorldScale;
+
+	// The extra distance that is searched around each query, to account for tanks that moved since the grid was rebuilt.
+	private static final float PositionMargin = Units.TileToWorldScale;
+
+	private final int columns;
+	private final int rows;
+
+	// The index of the first tank in each cell within cellTanks. The tanks in cell i are stored in
+	// cellTanks[cellStarts[i]] to cellTanks[cellStarts[i + 1] - 1].
+	private final int[] cellStarts;
+	private Tank[] cellTanks = new Tank[16];
+	// The cell that each tank was placed in during the last rebuild, in the order of the world's tank list.
+	private int[] tankCells = new int[16];
+
+	private boolean dirty = true;
+
+	/**
+	 * @param worldWidth the world's width, in world units.
+	 * @param worldHeight the world's height, in world units.
+	 */
+	TankProximityGrid(int worldWidth, int worldHeight) {
+		this.columns = Math.max(1, (worldWidth + CellSize - 1) / CellSize);
+		this.rows = Math.max(1, (worldHeight + CellSize - 1) / CellSize);
+		this.cellStarts = new int[columns * rows + 1];
+	}
+
+	/**
+	 * Marks the grid as out of date. It will be rebuilt the next time it is queried.
+	 */
+	void markDirty() {
+		dirty = true;
+	}
+
+	/**
+	 * Rebuilds the grid now if it is out of date. Once the grid is up to date, queries only read from it, so they can be
+	 * made from multiple threads until the grid is marked dirty again.
+	 *
+	 * @param tanks the world's tanks.
+	 */
+	void rebuildIfDirty(List<Tank> tanks) {
+		if (dirty) {
+			rebuild(tanks);
+		}
+	}
+
+	/**
+	 * Populates a list with the tanks whose positions are within the specified distance of a point.
+	 *
+	 * @param tanks the world's tanks. Used to rebuild the grid if it is out of date.
+	 * @param listToPopulate the list to populate. The list will be cleared.
+	 * @param x the point's x position, in world units.
+	 * @param y the point's y position, in world units.
+	 * @param maxDistance the maximum distance between the point and a tank's position, in world units.
+	 * @return reference to the listToPopulate list.
+	 */
+	List<Tank> getTanksWithinDistance(List<Tank> tanks, List<Tank> listToPopulate, float x, float y, float maxDistance) {
+		listToPopulate.clear();
+		if (dirty) {
+			rebuild(tanks);
+		}
+
+		float searchDistance = maxDistance + PositionMargin;
+		int startColumn = cellColumn(x - searchDistance);
+		int endColumn = cellColumn(x + searchDistance);
+		int startRow = cellRow(y - searchDistance);
+		int endRow = cellRow(y + searchDistance);
+
+		float maxDistanceSquared = maxDistance * maxDistance;
+		for (int row = startRow; row <= endRow; row++) {
+			for (int column = startColumn; column <= endColumn; column++) {
+				int cell = row * columns + column;
+				for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+					Tank tank = cellTanks[i];
+					float dx = tank.x() - x;
+					float dy = tank.y() - y;
+					if (dx * dx + dy * dy <= maxDistanceSquared) {
+						listToPopulate.add(tank);
+					}
+				}
+			}
+		}
+		return listToPopulate;
+	}
+
+	/**
+	 * Rebuilds the grid from the tanks' current positions, using a counting sort so that no per-cell lists are needed.
+	 */
+	private void rebuild(List<Tank> tanks) {
+		int tankCount = tanks.size();
+		if (cellTanks.length < tankCount) {
+			cellTanks = new Tank[tankCount * 2];
+			tankCells = new int[tankCount * 2];
+		}
+
+		// Count the tanks in each cell, and then convert the counts to the index after each cell's last tank.
+		Arrays.fill(cellStarts, 0);
+		for (int i = 0; i < tankCount; i++) {
+			Tank tank = tanks.get(i);
+			int cell = cellRow(tank.y()) * columns + cellColumn(tank.x());
+			tankCells[i] = cell;
+			cellStarts[cell]++;
+		}
+		for (int cell = 1; cell < cellStarts.length - 1; cell++) {
+			cellStarts[cell] += cellStarts[cell - 1];
+		}
+		cellStarts[cellStarts.length - 1] = tankCount;
+
+		// Fill each cell from its end, which leaves cellStarts pointing at the first tank in each cell.
+		for (int i = tankCount - 1; i >= 0; i--) {
+			cellTanks[--cellStarts[tankCells[i]]] = tanks.get(i);
+		}
+		// Release references to tanks that are no longer in the world.
+		Arrays.fill(cellTanks, tankCount, cellTanks.length, null);
+
+		dirty = false;
+	}
+
+	private int cellColumn(float x) {
+		return clamp((int) (x / CellSize), columns);
+	}
+
+	private int cellRow(float y) {
+		return clamp((int) (y / CellSize), rows);
+	}
+
+	private static int clamp(int cell, int cellCount) {
+		return (cell < 0) ? 0 : (cell >= cellCount) ? cellCount - 1 : cell;
+	}
+}
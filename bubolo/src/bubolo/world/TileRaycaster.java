@@ -0,0 +1,140 @@
+package bubolo.world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import bubolo.util.Nullable;
+import bubolo.util.Units;
+
+/**
+ * Finds the first collidable along a line segment. The tiles that the segment crosses are visited in order using the
+ * Amanatides-Woo grid traversal, so only the terrain improvements and mines around those tiles are tested. Tanks are found
+ * using the world's tank proximity grid. Each candidate's bounding box is tested against the segment, and the candidate
+ * with the nearest entry point is returned.
+ * <p>
+ * Raycasts don't allocate, but the raycaster is not thread safe.
+ * </p>
+ *
+ * @author Christopher D. Canfield
+ */
+class TileRaycaster {
+	private static final int TileSize = Units.TileToWorldScale;
+
+	private final World world;
+
+	// Reused to hold the tanks near the segment.
+	private final List<Tank> nearbyTanks = new ArrayList<>();
+
+	// The closest hit found so far during the current raycast.
+	private @Nullable Collidable closestHit;
+	private float closestHitT;
+
+	// Half the size of the box that is swept along the current raycast's segment. Zero for a point.
+	private float sweptHalfWidth;
+	private float sweptHalfHeight;
+
+	TileRaycaster(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * @see World#raycast(float, float, float, float, Predicate)
+	 * @see World#sweepBox(float, float, float, float, float, float, Predicate)
+	 */
+	@Nullable Collidable raycast(float startX, float startY, float endX, float endY, float halfWidth, float halfHeight,
+			@Nullable Predicate<Collidable> filter) {
+		// Candidates are only searched for in the tiles around the segment, so the swept box can't reach past them.
+		assert halfWidth >= 0 && halfWidth <= TileSize / 2f;
+		assert halfHeight >= 0 && halfHeight <= TileSize / 2f;
+
+		closestHit = null;
+		closestHitT = Float.MAX_VALUE;
+		sweptHalfWidth = halfWidth;
+		sweptHalfHeight = halfHeight;
+
+		final float dx = endX - startX;
+		final float dy = endY - startY;
+
+		// Tanks aren't stored by tile, so test the tanks that are near the segment first.
+		float midX = startX + dx / 2;
+		float midY = startY + dy / 2;
+		float halfLength = (float) Math.sqrt(dx * dx + dy * dy) / 2;
+		float searchDistance = halfLength + Entity.EntityMaxSize + Math.max(halfWidth, halfHeight);
+		var tanks = world.getTanksWithinDistance(nearbyTanks, midX, midY, searchDistance);
+		for (int i = 0; i < tanks.size(); i++) {
+			testCandidate(tanks.get(i), startX, startY, dx, dy, filter);
+		}
+
+		// Walk the tiles that the segment crosses, in order.
+		int column = Math.floorDiv((int) Math.floor(startX), TileSize);
+		int row = Math.floorDiv((int) Math.floor(startY), TileSize);
+		final int stepColumn = (dx > 0) ? 1 : -1;
+		final int stepRow = (dy > 0) ? 1 : -1;
+
+		// The segment parameter at which the next column or row boundary is crossed, and the change in the parameter
+		// between boundaries.
+		float tMaxX = (dx != 0) ? ((column + (dx > 0 ? 1 : 0)) * TileSize - startX) / dx : Float.MAX_VALUE;
+		float tMaxY = (dy != 0) ? ((row + (dy > 0 ? 1 : 0)) * TileSize - startY) / dy : Float.MAX_VALUE;
+		final float tDeltaX = (dx != 0) ? TileSize / Math.abs(dx) : Float.MAX_VALUE;
+		final float tDeltaY = (dy != 0) ? TileSize / Math.abs(dy) : Float.MAX_VALUE;
+
+		while (true) {
+			testTile(column, row, startX, startY, dx, dy, filter);
+
+			float nextTileT = Math.min(tMaxX, tMaxY);
+			// Stop once the segment ends, or once a hit has been found before the next tile.
+			if (nextTileT > 1 || closestHitT <= nextTileT) {
+				break;
+			}
+
+			if (tMaxX < tMaxY) {
+				column += stepColumn;
+				tMaxX += tDeltaX;
+			} else {
+				row += stepRow;
+				tMaxY += tDeltaY;
+			}
+		}
+
+		Collidable hit = closestHit;
+		closestHit = null;
+		return hit;
+	}
+
+	/**
+	 * Tests the terrain improvements and mines that may overlap a tile. Collidable bounds are centered on their entity's
+	 * position and are no larger than a tile, so an object that overlaps a tile has its position in that tile or in one of
+	 * its eight neighbours.
+	 */
+	private void testTile(int column, int row, float startX, float startY, float dx, float dy,
+			@Nullable Predicate<Collidable> filter) {
+		for (int neighbourColumn = column - 1; neighbourColumn <= column + 1; neighbourColumn++) {
+			for (int neighbourRow = row - 1; neighbourRow <= row + 1; neighbourRow++) {
+				if (world.isValidTile(neighbourColumn, neighbourRow)) {
+					if (world.getTerrainImprovement(neighbourColumn, neighbourRow) instanceof Collidable c) {
+						testCandidate(c, startX, startY, dx, dy, filter);
+					}
+
+					Mine mine = world.getMine(neighbourColumn, neighbourRow);
+					if (mine != null) {
+						testCandidate(mine, startX, startY, dx, dy, filter);
+					}
+				}
+			}
+		}
+	}
+
+	private void testCandidate(Collidable candidate, float startX, float startY, float dx, float dy,
+			@Nullable Predicate<Collidable> filter) {
+		if ((candidate.isSolid() || candidate instanceof Damageable)
+				&& !((Entity) candidate).isDisposed()
+				&& (filter == null || filter.test(candidate))) {
+			float t = candidate.boundingBox().segmentEntry(startX, startY, dx, dy, sweptHalfWidth, sweptHalfHeight);
+			if (t < closestHitT) {
+				closestHit = candidate;
+				closestHitT = t;
+			}
+		}
+	}
+}
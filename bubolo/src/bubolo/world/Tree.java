@@ -1,7 +1,5 @@
 package bubolo.world;
 
-import com.badlogic.gdx.math.Polygon;
-
 import bubolo.Systems;
 import bubolo.audio.Sfx;
 import bubolo.util.Nullable;
@@ -95,8 +93,8 @@ public class Tree extends StaticEntity implements TerrainImprovement, Collidable
 	}
 
 	@Override
-	public Polygon bounds() {
-		return boundingBox.bounds();
+	public BoundingBox boundingBox() {
+		return boundingBox;
 	}
 
 	@Override
@@ -1,7 +1,5 @@
 package bubolo.world;
 
-import com.badlogic.gdx.math.Polygon;
-
 import bubolo.audio.Sfx;
 import bubolo.audio.SfxRateLimiter;
 import bubolo.util.Nullable;
@@ -35,12 +33,26 @@ public class Wall extends StaticEntity implements TerrainImprovement, Collidable
 
 	private final SfxRateLimiter sfxPlayer = new SfxRateLimiter(150);
 
+	public interface WallDamagedObserver {
+		/**
+		 * Called when the wall receives damage.
+		 */
+		void onWallDamaged();
+	}
+
+	private @Nullable WallDamagedObserver damagedObserver;
+
 	protected Wall(ConstructionArgs args, World world) {
 		super(args, width, height);
 
 		boundingBox = new BoundingBox(this);
 	}
 
+	public void setWallDamagedObserver(WallDamagedObserver observer) {
+		assert this.damagedObserver == null : "Only one WallDamagedObserver can be assigned to a wall.";
+		this.damagedObserver = observer;
+	}
+
 	@Override
 	public void updateTilingState(World w) {
 		tilingState = TileUtil.getTilingState(this, w, matchingTypes);
@@ -83,6 +95,9 @@ public class Wall extends StaticEntity implements TerrainImprovement, Collidable
 		if (!isDisposed()) {
 			hitPoints -= damagePoints;
 			sfxPlayer.play(Sfx.WallHit, x(), y());
+			if (damagedObserver != null) {
+				damagedObserver.onWallDamaged();
+			}
 
 			if (hitPoints <= 0) {
 				// When the wall is destroyed, replace it with rubble.
@@ -105,8 +120,8 @@ public class Wall extends StaticEntity implements TerrainImprovement, Collidable
 	}
 
 	@Override
-	public Polygon bounds() {
-		return boundingBox.bounds();
+	public BoundingBox boundingBox() {
+		return boundingBox;
 	}
 
 	@Override
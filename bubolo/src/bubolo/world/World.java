@@ -2,6 +2,7 @@ package bubolo.world;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import bubolo.controllers.Controller;
 import bubolo.controllers.ControllerFactory;
@@ -16,6 +17,15 @@ import bubolo.util.Timer;
  * @author Christopher D. Canfield
  */
 public interface World {
+	/**
+	 * An entity that will be constructed and added to the world by {@link World#addEntities(List)}.
+	 *
+	 * @param type the entity's class.
+	 * @param args the entity's construction arguments.
+	 */
+	record NewEntity(Class<? extends Entity> type, Entity.ConstructionArgs args) {
+	}
+
 	/**
 	 * Returns an entity from an entity ID. Throws a GameLogicException if the entity is not found.
 	 *
@@ -131,6 +141,19 @@ public interface World {
 	<T extends Entity> T addEntity(Class<T> c, Entity.ConstructionArgs args, @Nullable ControllerFactory controllerFactory)
 			throws GameLogicException;
 
+	/**
+	 * Constructs and adds a batch of entities to the world. This is equivalent to calling
+	 * {@link World#addEntity(Class, Entity.ConstructionArgs)} for each entity, except that entity lifetime observers are
+	 * notified once, through {@link EntityLifetimeObserver#onEntitiesAdded(List)}, after the whole batch has been added.
+	 * Use this when adding many entities at once, such as when loading a map.
+	 *
+	 * @param newEntities the types and construction arguments of the entities to add.
+	 * @return unmodifiable list of the new entities, in the same order as newEntities.
+	 * @throws GameLogicException if an entity cannot be instantiated, or if a UUID already belongs to an entity. Entities
+	 *     in the batch before the one that failed are still added.
+	 */
+	List<Entity> addEntities(List<NewEntity> newEntities) throws GameLogicException;
+
 	/**
 	 * Populates all empty tiles with the specified terrain type.
 	 *
@@ -252,6 +275,15 @@ public interface World {
 	 */
 	void movePillboxOntoTileMap(Pillbox pillbox, int column, int row);
 
+	/**
+	 * Returns the number of times that a pillbox has been moved onto or off of the tile map. Pillboxes are the only objects
+	 * whose tiles can change in the middle of a tick, so parallel actors can compare this count before and after their
+	 * prepared work to find whether the tile map changed in the meantime.
+	 *
+	 * @return the number of times that a pillbox has been moved onto or off of the tile map.
+	 */
+	int pillboxMoveCount();
+
 	/**
 	 * Returns the mine located in specified (column, row) tile position, or null if none is, or the mine is disposed.
 	 *
@@ -262,6 +294,14 @@ public interface World {
 	 */
 	Mine getMine(int column, int row);
 
+	/**
+	 * Schedules a flooding crater to be replaced with water, along with its underlying terrain, after
+	 * {@link Crater#FloodTimeSeconds}. Flooded craters are replaced in batches, with a per-tick limit.
+	 *
+	 * @param crater the crater that has started flooding.
+	 */
+	void scheduleCraterFlood(Crater crater);
+
 	/**
 	 * Returns the zone name from a tile position.
 	 *
@@ -318,6 +358,55 @@ public interface World {
 	 */
 	List<Collidable> getCollidablesWithinTileDistance(List<Collidable> listToPopulate, Entity entity, int tileMaxDistance, boolean onlyIncludeSolidObjects, @Nullable Class<?> typeFilter);
 
+	/**
+	 * Populates a list with the tanks whose positions are within the specified distance of a point. This uses a coarse grid
+	 * of tank positions, so it is much cheaper than testing every tank in the world, and it compares squared distances rather
+	 * than calling Math.sqrt.
+	 *
+	 * @param listToPopulate an existing list that will be populated with the tanks. The list will be cleared.
+	 * @param x the point's x position, in world units.
+	 * @param y the point's y position, in world units.
+	 * @param maxDistance the maximum distance between the point and a tank's x,y position, in world units.
+	 *
+	 * @return reference to the listToPopulate list.
+	 */
+	List<Tank> getTanksWithinDistance(List<Tank> listToPopulate, float x, float y, float maxDistance);
+
+	/**
+	 * Returns the first solid or damageable collidable along a line segment, or null if the segment doesn't hit one. Only the
+	 * tiles that the segment crosses are searched, in order from the start of the segment, so this is much cheaper than
+	 * scanning the neighbourhood of each point along the segment. Terrain improvements, mines and tanks are tested. This
+	 * method doesn't allocate, and may be called from ParallelActor.prepareUpdate.
+	 *
+	 * @param startX the segment's starting x position, in world units.
+	 * @param startY the segment's starting y position, in world units.
+	 * @param endX the segment's ending x position, in world units.
+	 * @param endY the segment's ending y position, in world units.
+	 * @param filter [optional] collidables are only returned if the filter returns true for them. May be null.
+	 *
+	 * @return the first collidable that the segment enters, or null if there isn't one.
+	 */
+	@Nullable Collidable raycast(float startX, float startY, float endX, float endY, @Nullable Predicate<Collidable> filter);
+
+	/**
+	 * Returns the first solid or damageable collidable that an axis-aligned box touches as its center is moved along a line
+	 * segment, or null if it doesn't touch one. This works like raycast, but objects whose bounds the segment only passes
+	 * near are hit if the box would clip them. This method doesn't allocate, and may be called from
+	 * ParallelActor.prepareUpdate.
+	 *
+	 * @param startX the box's starting center x position, in world units.
+	 * @param startY the box's starting center y position, in world units.
+	 * @param endX the box's ending center x position, in world units.
+	 * @param endY the box's ending center y position, in world units.
+	 * @param halfWidth half of the box's width, in world units. >= 0 and <= half a tile.
+	 * @param halfHeight half of the box's height, in world units. >= 0 and <= half a tile.
+	 * @param filter [optional] collidables are only returned if the filter returns true for them. May be null.
+	 *
+	 * @return the first collidable that the box touches, or null if there isn't one.
+	 */
+	@Nullable Collidable sweepBox(float startX, float startY, float endX, float endY, float halfWidth, float halfHeight,
+			@Nullable Predicate<Collidable> filter);
+
 	/**
 	 * Finds the nearest buildable terrain to the x,y world unit position.
 	 *
@@ -0,0 +1,236 @@
+package bubolo.world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import bubolo.util.GameLogicException;
+import bubolo.util.Nullable;
+import bubolo.util.Rect;
+
+/**
+ * The zones that the world is divided into for the purpose of notifications and player spawning. The zone that each tile
+ * belongs to is calculated when the world is constructed, and each zone keeps its own list of spawns, so that finding a
+ * tile's zone or a zone's spawns doesn't require searching. The number of live tanks in each zone is recounted at most once
+ * per tick, the first time it is queried after being marked dirty.
+ *
+ * @author Christopher D. Canfield
+ */
+class WorldZones {
+	private static final int NoZone = -1;
+
+	private final Rect[] zones;
+
+	private final int tileColumns;
+	private final int tileRows;
+	// The index of the zone that each tile belongs to, packed as column * tileRows + row.
+	private final byte[] tileZones;
+
+	private final List<List<Spawn>> zoneSpawns;
+
+	private final int[] zoneTankCounts;
+	private boolean tankCountsDirty = true;
+
+	// Reused by shuffledZoneOrder.
+	private final int[] zoneOrder;
+
+	/**
+	 * @param tileColumns the width of the world, in tiles.
+	 * @param tileRows the height of the world, in tiles.
+	 */
+	WorldZones(int tileColumns, int tileRows) {
+		this.zones = constructZones(tileColumns, tileRows);
+		this.tileColumns = tileColumns;
+		this.tileRows = tileRows;
+
+		// Tiles are assigned to the first zone that contains them, since neighbouring zones share their edges.
+		this.tileZones = new byte[tileColumns * tileRows];
+		for (int column = 0; column < tileColumns; column++) {
+			for (int row = 0; row < tileRows; row++) {
+				tileZones[column * tileRows + row] = (byte) findZone(column, row);
+			}
+		}
+
+		this.zoneSpawns = new ArrayList<>(zones.length);
+		for (int i = 0; i < zones.length; i++) {
+			zoneSpawns.add(new ArrayList<>());
+		}
+		this.zoneTankCounts = new int[zones.length];
+
+		this.zoneOrder = new int[zones.length];
+		for (int i = 0; i < zoneOrder.length; i++) {
+			zoneOrder[i] = i;
+		}
+	}
+
+	private static Rect[] constructZones(int worldTileColumns, int worldTileRows) {
+		final int zoneColumns = 3;
+		final int zoneRows = 3;
+
+		// If there are fewer columns or rows than zones, just create a single zone for the world.
+		if (worldTileColumns / zoneRows == 0 || worldTileRows / zoneRows == 0) {
+			Rect[] zones = new Rect[1];
+			zones[0] = new Rect(0, 0, worldTileColumns, worldTileRows, "Central");
+			return zones;
+		}
+
+		int tileColumnsPerZone = worldTileColumns / zoneColumns;
+		// Count tile columns that couldn't be evenly distributed to the other zones.
+		int extraTileColumns = worldTileColumns % zoneColumns;
+		int tileRowsPerZone = worldTileRows / zoneRows;
+		// Count tile rows that couldn't be evenly distributed to the other zones.
+		int extraTileRows = worldTileRows % zoneRows;
+
+		Rect[] zones = new Rect[zoneColumns * zoneRows];
+		zones[0] = new Rect(0, 0, tileColumnsPerZone, tileRowsPerZone, "Southwest");
+		zones[1] = new Rect(0, zones[0].top() + 1, tileColumnsPerZone, tileRowsPerZone, "West");
+		zones[2] = new Rect(0, zones[1].top() + 1, tileColumnsPerZone, tileRowsPerZone + extraTileRows, "Northwest");
+		zones[3] = new Rect(zones[0].right() + 1, 0, tileColumnsPerZone, tileRowsPerZone, "South Central");
+		zones[4] = new Rect(zones[0].right() + 1, zones[0].top() + 1, tileColumnsPerZone, tileRowsPerZone, "Central");
+		zones[5] = new Rect(zones[0].right() + 1, zones[1].top() + 1, tileColumnsPerZone, tileRowsPerZone + extraTileRows, "North Central");
+		zones[6] = new Rect(zones[3].right() + 1, 0, tileColumnsPerZone + extraTileColumns, tileRowsPerZone, "Southeast");
+		zones[7] = new Rect(zones[3].right() + 1, zones[0].top() + 1, tileColumnsPerZone + extraTileColumns, tileRowsPerZone, "East");
+		zones[8] = new Rect(zones[3].right() + 1, zones[1].top() + 1, tileColumnsPerZone + extraTileColumns, tileRowsPerZone + extraTileRows, "Northeast");
+
+		return zones;
+	}
+
+	private int findZone(int column, int row) {
+		for (int i = 0; i < zones.length; i++) {
+			if (zones[i].contains(column, row)) {
+				return i;
+			}
+		}
+		return NoZone;
+	}
+
+	/**
+	 * @return the number of zones.
+	 */
+	int count() {
+		return zones.length;
+	}
+
+	/**
+	 * @param zoneIndex the zone's index.
+	 * @return the zone's name.
+	 */
+	String name(int zoneIndex) {
+		return zones[zoneIndex].name();
+	}
+
+	/**
+	 * Returns the index of the zone that a tile belongs to.
+	 *
+	 * @param column the tile's column.
+	 * @param row the tile's row.
+	 * @return the index of the zone that the tile belongs to.
+	 * @throws GameLogicException if no zone contains the tile.
+	 */
+	int zoneIndex(int column, int row) {
+		int zoneIndex = (column >= 0 && column < tileColumns && row >= 0 && row < tileRows)
+				? tileZones[column * tileRows + row]
+				: findZone(column, row);
+		if (zoneIndex == NoZone) {
+			throw new GameLogicException("Unable to locate zone for object in " + column + ", row " + row + ".");
+		}
+		return zoneIndex;
+	}
+
+	void addSpawn(Spawn spawn) {
+		zoneSpawns.get(zoneIndex(spawn.tileColumn(), spawn.tileRow())).add(spawn);
+	}
+
+	void removeSpawn(Spawn spawn) {
+		zoneSpawns.get(zoneIndex(spawn.tileColumn(), spawn.tileRow())).remove(spawn);
+	}
+
+	/**
+	 * Marks the zones' tank counts as out of date. They will be recounted the next time they are queried.
+	 */
+	void markTanksDirty() {
+		tankCountsDirty = true;
+	}
+
+	/**
+	 * @param tanks the world's tanks. Used to recount the tanks in each zone if the counts are out of date.
+	 * @param zoneIndex the zone's index.
+	 * @return true if at least one live tank is in the zone.
+	 */
+	boolean containsLiveTank(List<Tank> tanks, int zoneIndex) {
+		if (tankCountsDirty) {
+			countTanks(tanks);
+		}
+		return zoneTankCounts[zoneIndex] > 0;
+	}
+
+	private void countTanks(List<Tank> tanks) {
+		tankCountsDirty = false;
+		for (int i = 0; i < zoneTankCounts.length; i++) {
+			zoneTankCounts[i] = 0;
+		}
+
+		for (int i = 0; i < tanks.size(); i++) {
+			Tank tank = tanks.get(i);
+			if (tank.isAlive()) {
+				zoneTankCounts[zoneIndex(tank.tileColumn(), tank.tileRow())]++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the zone indexes in a random order. The returned array is reused by later calls, and must not be modified.
+	 *
+	 * @param random the random number generator to shuffle the zones with.
+	 * @return the zone indexes in a random order.
+	 */
+	int[] shuffledZoneOrder(Random random) {
+		for (int i = zoneOrder.length - 1; i > 0; i--) {
+			swap(zoneOrder, i, random.nextInt(i + 1));
+		}
+		return zoneOrder;
+	}
+
+	/**
+	 * Returns a random spawn from the specified zone that is far enough from each excluded spawn, or null if the zone has no
+	 * such spawn. The zone's spawns are shuffled as they are tested, so only as many random numbers are generated as there
+	 * are spawns tested.
+	 *
+	 * @param zoneIndex the zone's index.
+	 * @param spawnsToExclude spawns that the found spawn must not overlap or be too close to. May be null.
+	 * @param minimumTileDistance the minimum number of tiles between the found spawn and each excluded spawn.
+	 * @param random the random number generator used to select the spawn.
+	 * @return a spawn from the specified zone, or null if there are no valid spawns in the zone.
+	 */
+	@Nullable Spawn randomSpawn(int zoneIndex, @Nullable List<Spawn> spawnsToExclude, int minimumTileDistance, Random random) {
+		List<Spawn> spawns = zoneSpawns.get(zoneIndex);
+		for (int i = 0; i < spawns.size(); i++) {
+			int selected = i + random.nextInt(spawns.size() - i);
+			Spawn spawn = spawns.get(selected);
+			spawns.set(selected, spawns.get(i));
+			spawns.set(i, spawn);
+
+			if (spawnsToExclude == null || isMinimumTileDistanceFromAll(spawn, spawnsToExclude, minimumTileDistance)) {
+				return spawn;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isMinimumTileDistanceFromAll(Spawn spawn, List<Spawn> spawnsToExclude, int minimumTileDistance) {
+		for (int i = 0; i < spawnsToExclude.size(); i++) {
+			Spawn excludedSpawn = spawnsToExclude.get(i);
+			if (Math.abs(spawn.tileColumn() - excludedSpawn.tileColumn()) <= minimumTileDistance
+					|| Math.abs(spawn.tileRow() - excludedSpawn.tileRow()) <= minimumTileDistance) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void swap(int[] array, int i, int j) {
+		int temp = array[i];
+		array[i] = array[j];
+		array[j] = temp;
+	}
+}
@@ -0,0 +1,58 @@
+package bubolo.controllers.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bubolo.Config;
+import bubolo.Systems;
+import bubolo.Systems.NetworkType;
+import bubolo.util.Units;
+import bubolo.world.Entity;
+import bubolo.world.GameWorld;
+import bubolo.world.Grass;
+import bubolo.world.Tree;
+import bubolo.world.World;
+
+public class ForestGrowthControllerTest {
+	@BeforeEach
+	public void beforeEach() {
+		Systems.initializeNetwork(NetworkType.Null);
+	}
+
+	@Test
+	public void growsTreesNextToExistingTrees() {
+		World world = new GameWorld(9, 9);
+		world.addEntityLifetimeObserver(new ForestGrowthController());
+		world.addEntity(Tree.class, new Entity.ConstructionArgs(4 * Units.TileToWorldScale, 4 * Units.TileToWorldScale, 0));
+		world.populateEmptyTilesWith(Grass.class);
+
+		// The first tree grows 10 seconds after the controller is added, plus the time between trees.
+		for (int tick = 0; tick < 31 * Config.FPS; tick++) {
+			world.update();
+		}
+
+		List<Tree> trees = world.getEntities().stream().filter(e -> e instanceof Tree).map(e -> (Tree) e).toList();
+		assertEquals(2, trees.size());
+		for (Tree tree : trees) {
+			assertTrue(Math.abs(tree.tileColumn() - 4) <= 1 && Math.abs(tree.tileRow() - 4) <= 1);
+		}
+	}
+
+	@Test
+	public void doesNotGrowTreesWithoutNeighbors() {
+		World world = new GameWorld(4, 4);
+		world.addEntityLifetimeObserver(new ForestGrowthController());
+		world.populateEmptyTilesWith(Grass.class);
+
+		for (int tick = 0; tick < 51 * Config.FPS; tick++) {
+			world.update();
+		}
+
+		assertTrue(world.getEntities().stream().noneMatch(e -> e instanceof Tree));
+	}
+}
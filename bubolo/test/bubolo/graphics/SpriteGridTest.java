@@ -0,0 +1,216 @@
+package bubolo.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import bubolo.util.Units;
+import bubolo.world.Entity;
+import bubolo.world.GameWorld;
+import bubolo.world.Tank;
+
+public class SpriteGridTest {
+	private static final int ChunkSize = SpriteGrid.ChunkSize;
+
+	@Test
+	public void onlyChunksOverlappingTheRectangleAreVisited() {
+		var grid = new SpriteGrid();
+		grid.resize(ChunkSize * 10, ChunkSize * 10);
+
+		var nearSprite = new TestSprite(ChunkSize / 2, ChunkSize / 2);
+		var farSprite = new TestSprite(ChunkSize * 9 + 5, ChunkSize * 9 + 5);
+		grid.add(nearSprite);
+		grid.add(farSprite);
+
+		List<Sprite> sprites = grid.getSpritesInChunksOverlapping(0, 0, ChunkSize, ChunkSize, new ArrayList<>());
+		assertTrue(sprites.contains(nearSprite));
+		assertFalse(sprites.contains(farSprite));
+
+		grid.remove(nearSprite);
+		grid.getSpritesInChunksOverlapping(0, 0, ChunkSize, ChunkSize, sprites);
+		assertFalse(sprites.contains(nearSprite));
+	}
+
+	@Test
+	public void actorSpritesMoveBetweenChunks() {
+		var world = new GameWorld(ChunkSize * 10 / Units.TileToWorldScale, ChunkSize * 10 / Units.TileToWorldScale);
+		var tank = world.addEntity(Tank.class, new Entity.ConstructionArgs(ChunkSize / 2, ChunkSize / 2, 0));
+
+		var grid = new SpriteGrid();
+		grid.resize(world.getWidth(), world.getHeight());
+		var tankSprite = new TestTankSprite(tank);
+		grid.add(tankSprite);
+
+		tank.setPosition(ChunkSize * 9 + 5, ChunkSize * 9 + 5);
+		grid.update();
+
+		List<Sprite> sprites = grid.getSpritesInChunksOverlapping(0, 0, ChunkSize, ChunkSize, new ArrayList<>());
+		assertFalse(sprites.contains(tankSprite));
+		grid.getSpritesInChunksOverlapping(ChunkSize * 9, ChunkSize * 9, ChunkSize, ChunkSize, sprites);
+		assertTrue(sprites.contains(tankSprite));
+	}
+
+	@Test
+	public void resizeKeepsSprites() {
+		var grid = new SpriteGrid();
+		var sprite = new TestSprite(ChunkSize * 5, ChunkSize * 5);
+		grid.add(sprite);
+
+		grid.resize(ChunkSize * 10, ChunkSize * 10);
+		List<Sprite> sprites = grid.getSpritesInChunksOverlapping(ChunkSize * 5, ChunkSize * 5, 1, 1, new ArrayList<>());
+		assertTrue(sprites.contains(sprite));
+		grid.getSpritesInChunksOverlapping(0, 0, 1, 1, sprites);
+		assertFalse(sprites.contains(sprite));
+	}
+
+	@Test
+	public void spritesAreOrderedByLayerAndGroupedByTexture() {
+		var grid = new SpriteGrid();
+		grid.resize(ChunkSize, ChunkSize);
+
+		var tank = new TestSprite(10, 10, DrawLayer.Tanks, 1);
+		var grass1 = new TestSprite(10, 10, DrawLayer.TerrainLevel1, 1);
+		var water = new TestSprite(10, 10, DrawLayer.TerrainLevel1, 2);
+		var grass2 = new TestSprite(10, 10, DrawLayer.TerrainLevel1, 1);
+		grid.add(tank);
+		grid.add(grass1);
+		grid.add(water);
+		grid.add(grass2);
+
+		List<Sprite> sprites = grid.getSpritesInChunksOverlapping(0, 0, ChunkSize, ChunkSize, new ArrayList<>());
+		assertEquals(List.of(grass1, grass2, water, tank), sprites);
+	}
+
+	@Test
+	public void addingTerrainMarksNeighbouringChunksChanged() {
+		var grid = new SpriteGrid();
+		grid.resize(ChunkSize * 10, ChunkSize * 10);
+		var terrainCache = grid.terrainCache();
+		int chunkCount = 10 * 10;
+		for (int chunk = 0; chunk < chunkCount; chunk++) {
+			while (terrainCache.needsRebuild(chunk)) {
+				terrainCache.finishRebuild(chunk);
+			}
+		}
+
+		// A terrain sprite on the right edge of the first chunk.
+		var terrain = new TestSprite(ChunkSize - 16, ChunkSize * 5 + 16, DrawLayer.TerrainLevel1, 0, true);
+		grid.add(terrain);
+
+		int terrainChunk = grid.chunkAt(terrain.getX(), terrain.getY());
+		int rightNeighbourChunk = grid.chunkAt(terrain.getX() + ChunkSize, terrain.getY());
+		int bottomNeighbourChunk = grid.chunkAt(terrain.getX(), terrain.getY() - ChunkSize);
+		assertTrue(terrainCache.needsRebuild(terrainChunk));
+		assertTrue(terrainCache.needsRebuild(rightNeighbourChunk));
+		assertTrue(terrainCache.needsRebuild(bottomNeighbourChunk));
+		assertFalse(terrainCache.needsRebuild(grid.chunkAt(ChunkSize * 8, ChunkSize * 8)));
+
+		// Changed chunks are rebuilt twice, because the world updates tiling states after the sprite is added.
+		terrainCache.finishRebuild(terrainChunk);
+		assertTrue(terrainCache.needsRebuild(terrainChunk));
+		terrainCache.finishRebuild(terrainChunk);
+		assertFalse(terrainCache.needsRebuild(terrainChunk));
+
+		grid.remove(terrain);
+		assertTrue(terrainCache.needsRebuild(terrainChunk));
+	}
+
+	@Test
+	public void terrainSpritesAreNotReturnedWithTheSpritesInView() {
+		var grid = new SpriteGrid();
+		grid.resize(ChunkSize, ChunkSize);
+
+		var terrain = new TestSprite(10, 10, DrawLayer.TerrainLevel1, 0, true);
+		var tank = new TestSprite(10, 10, DrawLayer.Tanks, 0, false);
+		grid.add(terrain);
+		grid.add(tank);
+
+		List<Sprite> sprites = grid.getSpritesInChunksOverlapping(0, 0, ChunkSize, ChunkSize, new ArrayList<>());
+		assertEquals(List.of(tank), sprites);
+	}
+
+	private static class TestSprite extends Sprite {
+		private final float x;
+		private final float y;
+		private final int textureId;
+		private final boolean terrainCached;
+
+		TestSprite(float x, float y) {
+			this(x, y, DrawLayer.TerrainLevel1, 0);
+		}
+
+		TestSprite(float x, float y, DrawLayer layer, int textureId) {
+			this(x, y, layer, textureId, false);
+		}
+
+		TestSprite(float x, float y, DrawLayer layer, int textureId, boolean terrainCached) {
+			super(layer);
+			this.x = x;
+			this.y = y;
+			this.textureId = textureId;
+			this.terrainCached = terrainCached;
+		}
+
+		@Override
+		protected boolean isTerrainCached() {
+			return terrainCached;
+		}
+
+		@Override
+		protected int getTextureId() {
+			return textureId;
+		}
+
+		@Override
+		protected boolean isDisposed() {
+			return false;
+		}
+
+		@Override
+		void draw(Graphics graphics) {
+		}
+
+		@Override
+		public float getX() {
+			return x;
+		}
+
+		@Override
+		public float getY() {
+			return y;
+		}
+
+		@Override
+		public int getWidth() {
+			return 32;
+		}
+
+		@Override
+		public int getHeight() {
+			return 32;
+		}
+
+		@Override
+		public float getRotation() {
+			return 0;
+		}
+	}
+
+	private static class TestTankSprite extends AbstractEntitySprite<Tank> {
+		TestTankSprite(Tank tank) {
+			super(DrawLayer.Tanks, tank);
+		}
+
+		@Override
+		protected int getTextureId() {
+			return 0;
+		}
+
+		@Override
+		void draw(Graphics graphics) {
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package bubolo.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class SpriteSystemTest {
+	@Test
+	public void removingFromTheMiddleSwapsInTheLastSprite() {
+		var spriteSystem = new SpriteSystem();
+		var a = new TestExpiringSprite(300);
+		var b = new TestExpiringSprite(100);
+		var c = new TestExpiringSprite(400);
+		var d = new TestExpiringSprite(200);
+		spriteSystem.addSprite(a);
+		spriteSystem.addSprite(b);
+		spriteSystem.addSprite(c);
+		spriteSystem.addSprite(d);
+
+		spriteSystem.removeExpiredSprites(100);
+		assertEquals(List.of(a, d, c), spriteSystem.getSprites());
+		assertEquals(-1, b.spriteIndex);
+		assertEquals(1, d.spriteIndex);
+		assertEquals(2, c.spriteIndex);
+
+		spriteSystem.removeExpiredSprites(200);
+		assertEquals(List.of(a, c), spriteSystem.getSprites());
+		assertEquals(-1, d.spriteIndex);
+		assertEquals(0, a.spriteIndex);
+		assertEquals(1, c.spriteIndex);
+	}
+
+	@Test
+	public void spritesAreRemovedWhenTheyExpire() {
+		var spriteSystem = new SpriteSystem();
+		var early = new TestExpiringSprite(100);
+		var late = new TestExpiringSprite(200);
+		spriteSystem.addSprite(late);
+		spriteSystem.addSprite(early);
+
+		spriteSystem.removeExpiredSprites(99);
+		assertEquals(List.of(late, early), spriteSystem.getSprites());
+
+		spriteSystem.removeExpiredSprites(100);
+		assertEquals(List.of(late), spriteSystem.getSprites());
+
+		spriteSystem.removeExpiredSprites(199);
+		assertEquals(List.of(late), spriteSystem.getSprites());
+
+		spriteSystem.removeExpiredSprites(200);
+		assertEquals(List.of(), spriteSystem.getSprites());
+		assertEquals(-1, late.spriteIndex);
+	}
+
+	private static class TestExpiringSprite extends Sprite implements ExpiringSprite {
+		private final long expiryTime;
+
+		TestExpiringSprite(long expiryTime) {
+			super(DrawLayer.Effects);
+			this.expiryTime = expiryTime;
+		}
+
+		@Override
+		public long expiryTime() {
+			return expiryTime;
+		}
+
+		@Override
+		protected int getTextureId() {
+			return 0;
+		}
+
+		@Override
+		protected boolean isDisposed() {
+			return false;
+		}
+
+		@Override
+		void draw(Graphics graphics) {
+		}
+
+		@Override
+		public float getX() {
+			return 10;
+		}
+
+		@Override
+		public float getY() {
+			return 10;
+		}
+
+		@Override
+		public int getWidth() {
+			return 32;
+		}
+
+		@Override
+		public int getHeight() {
+			return 32;
+		}
+
+		@Override
+		public float getRotation() {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package bubolo.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class TerrainChunkCacheTest {
+	private static final float delta = 0.01f;
+
+	@Test
+	public void quadVerticesWithoutRotation() {
+		float[] vertices = new float[TerrainChunkCache.FloatsPerQuad];
+		TerrainChunkCache.setQuadVertices(vertices, 0, 10, 20, 16, 16, 32, 32, 1, 0, 0.25f, 0.5f, 0.75f, 1, 7);
+
+		// Bottom left.
+		assertEquals(10, vertices[0], delta);
+		assertEquals(20, vertices[1], delta);
+		assertEquals(7, vertices[2]);
+		assertEquals(0.25f, vertices[3]);
+		assertEquals(1, vertices[4]);
+
+		// Top left.
+		assertEquals(10, vertices[5], delta);
+		assertEquals(52, vertices[6], delta);
+		assertEquals(0.5f, vertices[9]);
+
+		// Top right.
+		assertEquals(42, vertices[10], delta);
+		assertEquals(52, vertices[11], delta);
+		assertEquals(0.75f, vertices[13]);
+		assertEquals(0.5f, vertices[14]);
+
+		// Bottom right.
+		assertEquals(42, vertices[15], delta);
+		assertEquals(20, vertices[16], delta);
+	}
+
+	@Test
+	public void quadVerticesRotateAroundTheOrigin() {
+		float[] vertices = new float[TerrainChunkCache.FloatsPerQuad];
+		TerrainChunkCache.setQuadVertices(vertices, 0, 10, 20, 16, 16, 32, 32, 1, 90, 0, 0, 1, 1, 0);
+
+		// The bottom left corner is rotated counterclockwise to the bottom right.
+		assertEquals(42, vertices[0], delta);
+		assertEquals(20, vertices[1], delta);
+		// The top right corner is rotated to the top left.
+		assertEquals(10, vertices[10], delta);
+		assertEquals(52, vertices[11], delta);
+	}
+
+	@Test
+	public void quadsWithTheSameTextureShareARun() {
+		var chunkVertices = new TerrainChunkCache.ChunkVertices();
+		for (int i = 0; i < 40; i++) {
+			chunkVertices.addQuad(null, i * 32, 0, 16, 16, 32, 32, 1, 0, 0, 0, 1, 1, 0);
+		}
+		assertEquals(40, chunkVertices.quadCount());
+		assertEquals(1, chunkVertices.runCount());
+		assertEquals(39 * 32, chunkVertices.vertices()[39 * TerrainChunkCache.FloatsPerQuad], delta);
+
+		chunkVertices.clear();
+		assertEquals(0, chunkVertices.quadCount());
+		assertEquals(0, chunkVertices.runCount());
+	}
+}
@@ -0,0 +1,113 @@
+package bubolo.graphics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import bubolo.graphics.TextureAtlasPacker.Region;
+
+public class TextureAtlasPackerTest {
+	private static final int Red = 0xff0000ff;
+	private static final int Green = 0x00ff00ff;
+	private static final int Blue = 0x0000ffff;
+
+	private final Map<String, Pixmap> images = new HashMap<>();
+	private List<Pixmap> pages = List.of();
+
+	@BeforeAll
+	public static void loadNatives() {
+		GdxNativesLoader.load();
+	}
+
+	@AfterEach
+	public void disposePixmaps() {
+		images.values().forEach(Pixmap::dispose);
+		pages.forEach(Pixmap::dispose);
+	}
+
+	@Test
+	public void regionsDoNotOverlapAndFitInThePage() {
+		for (int i = 0; i < 20; i++) {
+			addImage("image" + i, 10 + i * 3, 40 - i, Red);
+		}
+
+		var atlas = TextureAtlasPacker.pack(images, 128);
+		pages = atlas.pages();
+
+		List<Region> regions = List.copyOf(atlas.regions().values());
+		assertEquals(images.size(), regions.size());
+		for (int i = 0; i < regions.size(); i++) {
+			Region a = regions.get(i);
+			Pixmap page = pages.get(a.page());
+			assertTrue(a.x() >= TextureAtlasPacker.EdgePadding && a.y() >= TextureAtlasPacker.EdgePadding);
+			assertTrue(a.x() + a.width() + TextureAtlasPacker.EdgePadding <= page.getWidth());
+			assertTrue(a.y() + a.height() + TextureAtlasPacker.EdgePadding <= page.getHeight());
+
+			for (int j = i + 1; j < regions.size(); j++) {
+				Region b = regions.get(j);
+				boolean overlaps = a.page() == b.page()
+						&& a.x() - TextureAtlasPacker.EdgePadding < b.x() + b.width() + TextureAtlasPacker.EdgePadding
+						&& b.x() - TextureAtlasPacker.EdgePadding < a.x() + a.width() + TextureAtlasPacker.EdgePadding
+						&& a.y() - TextureAtlasPacker.EdgePadding < b.y() + b.height() + TextureAtlasPacker.EdgePadding
+						&& b.y() - TextureAtlasPacker.EdgePadding < a.y() + a.height() + TextureAtlasPacker.EdgePadding;
+				assertFalse(overlaps, a + " overlaps " + b);
+			}
+		}
+	}
+
+	@Test
+	public void imagesThatDoNotFitStartANewPage() {
+		addImage("a", 100, 100, Red);
+		addImage("b", 100, 100, Green);
+
+		var atlas = TextureAtlasPacker.pack(images, 128);
+		pages = atlas.pages();
+
+		assertEquals(2, pages.size());
+		assertNotEquals(atlas.regions().get("a").page(), atlas.regions().get("b").page());
+	}
+
+	@Test
+	public void pixelsAreCopiedAndEdgesAreExtended() {
+		Pixmap image = addImage("image", 4, 3, Red);
+		image.drawPixel(0, 0, Blue);
+		addImage("other", 8, 8, Green);
+
+		var atlas = TextureAtlasPacker.pack(images, 64);
+		pages = atlas.pages();
+
+		Region region = atlas.regions().get("image");
+		Pixmap page = pages.get(region.page());
+		assertEquals(Blue, page.getPixel(region.x(), region.y()));
+		assertEquals(Red, page.getPixel(region.x() + 3, region.y() + 2));
+		// The border repeats the edge pixels, including the corners.
+		assertEquals(Blue, page.getPixel(region.x() - 1, region.y() - 1));
+		assertEquals(Blue, page.getPixel(region.x() - 1, region.y()));
+		assertEquals(Red, page.getPixel(region.x() + 4, region.y() + 3));
+		assertEquals(Red, page.getPixel(region.x() + 1, region.y() + 3));
+	}
+
+	@Test
+	public void imagesLargerThanAPageAreRejected() {
+		addImage("large", 64, 8, Red);
+		assertThrows(TextureDimensionException.class, () -> TextureAtlasPacker.pack(images, 64));
+	}
+
+	private Pixmap addImage(String name, int width, int height, int color) {
+		var image = new Pixmap(width, height, Format.RGBA8888);
+		image.setColor(color);
+		image.fill();
+		images.put(name, image);
+		return image;
+	}
+}
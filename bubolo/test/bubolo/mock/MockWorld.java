@@ -2,6 +2,7 @@ package bubolo.mock;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import bubolo.controllers.Controller;
 import bubolo.controllers.ControllerFactory;
@@ -9,6 +10,7 @@ import bubolo.util.GameLogicException;
 import bubolo.util.Timer;
 import bubolo.world.ActorEntity;
 import bubolo.world.Collidable;
+import bubolo.world.Crater;
 import bubolo.world.Entity;
 import bubolo.world.Entity.ConstructionArgs;
 import bubolo.world.EntityLifetimeObserver;
@@ -68,6 +70,11 @@ public class MockWorld implements World {
 		return null;
 	}
 
+	@Override
+	public List<Entity> addEntities(List<NewEntity> newEntities) throws GameLogicException {
+		return null;
+	}
+
 	@Override
 	public <T extends Terrain> void populateEmptyTilesWith(Class<T> terrainType) {
 	}
@@ -151,6 +158,11 @@ public class MockWorld implements World {
 	public void movePillboxOntoTileMap(Pillbox pillbox, int column, int row) {
 	}
 
+	@Override
+	public int pillboxMoveCount() {
+		return 0;
+	}
+
 	@Override
 	public List<Collidable> getCollidablesWithinTileDistance(Entity entity, int tileMaxDistance,
 			boolean onlyIncludeSolidObjects) {
@@ -193,6 +205,26 @@ public class MockWorld implements World {
 		return null;
 	}
 
+	@Override
+	public List<Tank> getTanksWithinDistance(List<Tank> listToPopulate, float x, float y, float maxDistance) {
+		return listToPopulate;
+	}
+
+	@Override
+	public Collidable raycast(float startX, float startY, float endX, float endY, Predicate<Collidable> filter) {
+		return null;
+	}
+
+	@Override
+	public Collidable sweepBox(float startX, float startY, float endX, float endY, float halfWidth, float halfHeight,
+			Predicate<Collidable> filter) {
+		return null;
+	}
+
+	@Override
+	public void scheduleCraterFlood(Crater crater) {
+	}
+
 	@Override
 	public List<Collidable> getCollidablesWithinTileDistance(List<Collidable> listToPopulate, Entity entity, int tileMaxDistance,
 			boolean onlyIncludeSolidObjects, Class<?> typeFilter) {
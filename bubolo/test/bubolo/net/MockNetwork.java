@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.net.InetAddress;
 import java.util.List;
+import java.util.UUID;
 
 import bubolo.GameApplication;
 import bubolo.world.Spawn;
@@ -18,6 +19,7 @@ import bubolo.world.Spawn;
 public class MockNetwork implements Network
 {
 	ObjectOutputStream oos = null;
+	private final NetworkMetrics metrics = new NetworkMetrics();
 
 	MockNetwork()
 	{
@@ -46,6 +48,17 @@ public class MockNetwork implements Network
 	{
 	}
 
+	@Override
+	public void onEntityRemoved(UUID entityId)
+	{
+	}
+
+	@Override
+	public NetworkMetrics metrics()
+	{
+		return metrics;
+	}
+
 	@Override
 	public void dispose()
 	{
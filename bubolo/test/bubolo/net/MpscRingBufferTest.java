@@ -0,0 +1,114 @@
+package bubolo.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import bubolo.GameApplication;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class MpscRingBufferTest {
+	@Test
+	public void offerAndPollInOrder() {
+		var buffer = new MpscRingBuffer<Integer>(4);
+		assertNull(buffer.poll());
+
+		// Go around the buffer several times.
+		for (int i = 0; i < 10; i++) {
+			assertTrue(buffer.offer(i));
+			assertTrue(buffer.offer(i + 100));
+			assertEquals(2, buffer.size());
+			assertEquals(i, buffer.poll());
+			assertEquals(i + 100, buffer.poll());
+			assertNull(buffer.poll());
+		}
+	}
+
+	@Test
+	public void offerFailsWhenFull() {
+		var buffer = new MpscRingBuffer<Integer>(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(4));
+		assertEquals(4, buffer.size());
+
+		assertEquals(0, buffer.poll());
+		assertTrue(buffer.offer(4));
+	}
+
+	/**
+	 * Several producers offer concurrently while the consumer polls. Every element must be received exactly once, and each
+	 * producer's elements must be received in the order they were offered.
+	 */
+	@Test
+	public void multipleProducers() throws Exception {
+		final int producerCount = 4;
+		final int elementsPerProducer = 50_000;
+		var buffer = new MpscRingBuffer<long[]>(64);
+
+		var producers = new ArrayList<Thread>();
+		for (int p = 0; p < producerCount; p++) {
+			final int producer = p;
+			var thread = new Thread(() -> {
+				for (int i = 0; i < elementsPerProducer; i++) {
+					var element = new long[] { producer, i };
+					while (!buffer.offer(element)) {
+						Thread.onSpinWait();
+					}
+				}
+			});
+			producers.add(thread);
+			thread.start();
+		}
+
+		int[] nextExpected = new int[producerCount];
+		int received = 0;
+		while (received < producerCount * elementsPerProducer) {
+			long[] element = buffer.poll();
+			if (element != null) {
+				int producer = (int) element[0];
+				assertEquals(nextExpected[producer], element[1]);
+				nextExpected[producer]++;
+				received++;
+			}
+		}
+
+		for (var thread : producers) {
+			thread.join();
+		}
+		assertNull(buffer.poll());
+	}
+
+	@Test
+	public void networkSystemUpdateBudgetCarriesOverCommands() {
+		var network = new NetworkSystem();
+		var executed = new AtomicInteger();
+		for (int i = 0; i < 10; i++) {
+			network.postToGameThread(new NetworkApplicationCommand() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void execute(GameApplication app, NetworkObserverNotifier notifier) {
+					executed.incrementAndGet();
+				}
+			});
+		}
+
+		network.setUpdateBudget(4, 1000);
+		network.update(null);
+		assertEquals(4, executed.get());
+		network.update(null);
+		assertEquals(8, executed.get());
+		network.update(null);
+		assertEquals(10, executed.get());
+	}
+}
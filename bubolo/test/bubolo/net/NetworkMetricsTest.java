@@ -0,0 +1,140 @@
+package bubolo.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class NetworkMetricsTest {
+	private static final long SecondNanos = 1_000_000_000L;
+
+	private NetworkMetrics metrics;
+
+	@BeforeEach
+	public void beforeEach() {
+		metrics = new NetworkMetrics();
+	}
+
+	@Test
+	public void sampleOncePerInterval() {
+		assertFalse(metrics.sample(SecondNanos));
+		assertFalse(metrics.sample(SecondNanos + SecondNanos / 2));
+		assertTrue(metrics.sample(2 * SecondNanos));
+	}
+
+	@Test
+	public void ratesPerCommandType() {
+		metrics.sample(SecondNanos);
+		metrics.recordSent(new Ping(0), 100);
+		metrics.recordSent(new Ping(0), 100);
+		metrics.recordReceived(new Pong(0), 50);
+		metrics.sample(3 * SecondNanos);
+
+		var rates = metrics.commandRates();
+		assertEquals(2, rates.size());
+
+		var ping = rates.get(0);
+		assertEquals("Ping", ping.commandName());
+		assertEquals(1, ping.sentMessagesPerSecond(), 0.0001);
+		assertEquals(100, ping.sentBytesPerSecond(), 0.0001);
+		assertEquals(0, ping.receivedMessagesPerSecond(), 0.0001);
+
+		var pong = rates.get(1);
+		assertEquals("Pong", pong.commandName());
+		assertEquals(25, pong.receivedBytesPerSecond(), 0.0001);
+
+		assertEquals(100, metrics.sentBytesPerSecond(), 0.0001);
+		assertEquals(25, metrics.receivedBytesPerSecond(), 0.0001);
+	}
+
+	@Test
+	public void ratesOnlyIncludeCurrentInterval() {
+		metrics.sample(SecondNanos);
+		metrics.recordSent(new Ping(0), 100);
+		metrics.sample(2 * SecondNanos);
+		metrics.sample(3 * SecondNanos);
+
+		assertEquals(0, metrics.sentBytesPerSecond(), 0.0001);
+	}
+
+	@Test
+	public void queueDepths() {
+		metrics.setSendQueueDepthSource(() -> 7);
+		metrics.sample(SecondNanos);
+		metrics.recordPostedCommandDepth(3);
+		metrics.recordPostedCommandDepth(12);
+		metrics.recordPostedCommandDepth(5);
+		metrics.sample(2 * SecondNanos);
+
+		assertEquals(7, metrics.sendQueueDepth());
+		assertEquals(12, metrics.postedCommandDepth());
+	}
+
+	@Test
+	public void roundTrip() {
+		metrics.recordRoundTrip("Player 1", 4_500_000);
+		assertEquals(4.5, metrics.roundTripMillis().get("Player 1"), 0.0001);
+
+		metrics.removePeer("Player 1");
+		assertTrue(metrics.roundTripMillis().isEmpty());
+	}
+
+	@Test
+	public void writerAndReaderCountBytes() throws Exception {
+		var out = new ByteArrayOutputStream();
+		var writer = new CommandWriter(out, metrics);
+		int headerSize = out.size();
+		writer.write(new Ping(42));
+
+		var reader = new CommandReader(new ByteArrayInputStream(out.toByteArray()), metrics);
+		assertEquals(42, ((Ping) reader.read()).sentNanos());
+
+		metrics.sample(SecondNanos);
+		metrics.sample(2 * SecondNanos);
+		var ping = metrics.commandRates().get(0);
+		assertEquals(out.size() - headerSize, ping.sentBytesPerSecond(), 0.0001);
+		assertEquals(ping.sentBytesPerSecond(), ping.receivedBytesPerSecond(), 0.0001);
+	}
+
+	@Test
+	public void csvLogIncludesRoundTripPerPeer() throws Exception {
+		var file = Files.createTempFile("networkMetrics", ".csv");
+		try {
+			metrics.sample(SecondNanos);
+			metrics.recordSent(new Ping(0), 100);
+			metrics.recordRoundTrip("Player 1", 4_500_000);
+			metrics.recordDroppedStateCommand();
+			metrics.sample(2 * SecondNanos);
+
+			var log = new NetworkMetricsLog(file);
+			log.write(metrics);
+			log.close();
+
+			var lines = Files.readAllLines(file);
+			assertEquals(3, lines.size());
+			assertTrue(lines.get(0).endsWith(",peer,roundTripMillis"));
+			assertTrue(lines.get(1).contains(",Ping,") && lines.get(1).endsWith(",1,,"));
+			assertTrue(lines.get(2).endsWith(",1,\"Player 1\",4.50"));
+			assertEquals(lines.get(0).split(",").length, lines.get(2).split(",").length);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void droppedStateCommandsAreReported() {
+		metrics.recordDroppedStateCommand();
+		metrics.recordDroppedStateCommand();
+		assertEquals(2, metrics.droppedStateCommands());
+		assertTrue(metrics.toString().contains("Dropped state commands:     2"));
+	}
+}
@@ -0,0 +1,164 @@
+package bubolo.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bubolo.world.World;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class OutboundQueueTest {
+	private static final long TimeoutMillis = 2000;
+
+	private final BlockingQueue<NetworkCommand> sent = new LinkedBlockingQueue<>();
+	private final AtomicInteger disconnectCount = new AtomicInteger();
+	private OutboundQueue queue;
+
+	private static record StateCommand(UUID entityId, int value) implements NetworkStateCommand {
+		@Override
+		public void execute(World world) {
+		}
+	}
+
+	private static record ReliableCommand(int value) implements NetworkGameCommand {
+		@Override
+		public void execute(World world) {
+		}
+	}
+
+	@BeforeEach
+	public void beforeEach() {
+		queue = newQueue(4, 60_000);
+	}
+
+	@AfterEach
+	public void afterEach() {
+		queue.dispose();
+	}
+
+	private OutboundQueue newQueue(int capacity, long saturationTimeoutMillis) {
+		return new OutboundQueue("test", sent::add, capacity, saturationTimeoutMillis, disconnectCount::incrementAndGet);
+	}
+
+	private List<NetworkCommand> drain(int count) throws InterruptedException {
+		var commands = new ArrayList<NetworkCommand>();
+		for (int i = 0; i < count; i++) {
+			var command = sent.poll(TimeoutMillis, TimeUnit.MILLISECONDS);
+			if (command == null) {
+				break;
+			}
+			commands.add(command);
+		}
+		return commands;
+	}
+
+	@Test
+	public void sendsInOrder() throws Exception {
+		var a = new ReliableCommand(1);
+		var b = new ReliableCommand(2);
+		var c = new ReliableCommand(3);
+		queue.add(a);
+		queue.add(b);
+		queue.start();
+		queue.add(c);
+
+		assertEquals(List.of(a, b, c), drain(3));
+	}
+
+	@Test
+	public void stateCommandReplacesQueuedStateInPlace() throws Exception {
+		var id = UUID.randomUUID();
+		var otherId = UUID.randomUUID();
+		var reliable = new ReliableCommand(1);
+		var newestState = new StateCommand(id, 2);
+
+		queue.add(new StateCommand(id, 1));
+		queue.add(reliable);
+		queue.add(new StateCommand(otherId, 1));
+		assertTrue(queue.add(newestState));
+		assertEquals(3, queue.size());
+
+		queue.start();
+		var commands = drain(3);
+		assertSame(newestState, commands.get(0));
+		assertSame(reliable, commands.get(1));
+		assertEquals(otherId, ((StateCommand) commands.get(2)).entityId());
+	}
+
+	@Test
+	public void reliableCommandsAreNotDroppedAtCapacity() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			assertTrue(queue.add(new ReliableCommand(i)));
+		}
+		assertEquals(10, queue.size());
+		assertEquals(0, disconnectCount.get());
+
+		queue.start();
+		assertEquals(10, drain(10).size());
+	}
+
+	@Test
+	public void newStateCommandsAreDroppedAtCapacity() {
+		for (int i = 0; i < 4; i++) {
+			queue.add(new ReliableCommand(i));
+		}
+		assertFalse(queue.add(new StateCommand(UUID.randomUUID(), 0)));
+		assertEquals(4, queue.size());
+	}
+
+	@Test
+	public void disconnectWhenSaturatedTooLong() {
+		queue = newQueue(2, 0);
+		queue.add(new ReliableCommand(1));
+		assertEquals(0, disconnectCount.get());
+		queue.add(new ReliableCommand(2));
+
+		assertEquals(1, disconnectCount.get());
+		assertEquals(0, queue.size());
+		assertFalse(queue.add(new ReliableCommand(3)));
+		assertEquals(1, disconnectCount.get());
+	}
+
+	@Test
+	public void disconnectWhenSendFails() throws Exception {
+		queue = new OutboundQueue("test", command -> {
+			throw new IOException("Connection reset");
+		}, 4, 60_000, disconnectCount::incrementAndGet);
+		queue.add(new ReliableCommand(1));
+		queue.start();
+
+		long deadline = System.currentTimeMillis() + TimeoutMillis;
+		while (disconnectCount.get() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, disconnectCount.get());
+		assertFalse(queue.add(new ReliableCommand(2)));
+	}
+
+	@Test
+	public void disconnectAtHardLimit() {
+		for (int i = 0; i < 4 * OutboundQueue.HardLimitMultiplier - 1; i++) {
+			queue.add(new ReliableCommand(i));
+		}
+		assertEquals(0, disconnectCount.get());
+
+		queue.add(new ReliableCommand(-1));
+		assertEquals(1, disconnectCount.get());
+	}
+}
@@ -0,0 +1,193 @@
+package bubolo.net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bubolo.world.World;
+
+/**
+ * Tests the datagram channel over the loopback interface.
+ *
+ * @author Christopher D. Canfield
+ */
+public class UnreliableChannelTest {
+	private static final long TimeoutMillis = 2000;
+
+	private UnreliableChannel sender;
+	private UnreliableChannel receiver;
+	private InetSocketAddress receiverAddress;
+	private final BlockingQueue<TestStateCommand> received = new LinkedBlockingQueue<>();
+	private volatile boolean acceptSources = true;
+
+	private static class TestStateCommand implements NetworkStateCommand {
+		private static final long serialVersionUID = 1L;
+
+		private final UUID id;
+		private final int value;
+
+		TestStateCommand(UUID id, int value) {
+			this.id = id;
+			this.value = value;
+		}
+
+		@Override
+		public UUID entityId() {
+			return id;
+		}
+
+		@Override
+		public void execute(World world) {
+		}
+	}
+
+	@BeforeEach
+	public void beforeEach() throws Exception {
+		sender = new UnreliableChannel(0, new NetworkMetrics(), source -> true, (command, source) -> {});
+		receiver = new UnreliableChannel(0, new NetworkMetrics(), source -> acceptSources,
+				(command, source) -> received.add((TestStateCommand) command));
+		receiverAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), receiver.localPort());
+	}
+
+	@AfterEach
+	public void afterEach() {
+		sender.dispose();
+		receiver.dispose();
+	}
+
+	@Test
+	public void sendAndReceive() throws Exception {
+		var id = UUID.randomUUID();
+		sender.send(new TestStateCommand(id, 7), receiverAddress);
+
+		var command = received.poll(TimeoutMillis, TimeUnit.MILLISECONDS);
+		assertNotNull(command);
+		assertEquals(id, command.entityId());
+		assertEquals(7, command.value);
+	}
+
+	@Test
+	public void staleSequenceIsDropped() throws Exception {
+		var id = UUID.randomUUID();
+		try (var socket = new DatagramSocket()) {
+			sendRaw(socket, 5, new TestStateCommand(id, 5));
+			sendRaw(socket, 3, new TestStateCommand(id, 3));
+			sendRaw(socket, 6, new TestStateCommand(id, 6));
+		}
+
+		assertEquals(5, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+		assertEquals(6, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+		assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void sequencesAreTrackedPerEntity() throws Exception {
+		try (var socket = new DatagramSocket()) {
+			sendRaw(socket, 10, new TestStateCommand(UUID.randomUUID(), 10));
+			sendRaw(socket, 2, new TestStateCommand(UUID.randomUUID(), 2));
+		}
+
+		assertEquals(10, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+		assertEquals(2, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+	}
+
+	@Test
+	public void datagramsFromUnacceptedSourcesAreIgnored() throws Exception {
+		acceptSources = false;
+		sender.send(new TestStateCommand(UUID.randomUUID(), 1), receiverAddress);
+		assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+
+		acceptSources = true;
+		sender.send(new TestStateCommand(UUID.randomUUID(), 2), receiverAddress);
+		assertEquals(2, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+	}
+
+	@Test
+	public void forgottenEntityAcceptsAnySequence() throws Exception {
+		var id = UUID.randomUUID();
+		try (var socket = new DatagramSocket()) {
+			sendRaw(socket, 5, new TestStateCommand(id, 5));
+			assertEquals(5, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+
+			receiver.forgetEntity(id);
+			sendRaw(socket, 3, new TestStateCommand(id, 3));
+			assertEquals(3, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+		}
+	}
+
+	@Test
+	public void forgottenPeerAcceptsAnySequence() throws Exception {
+		var id = UUID.randomUUID();
+		try (var socket = new DatagramSocket()) {
+			sendRaw(socket, 5, new TestStateCommand(id, 5));
+			assertEquals(5, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+
+			receiver.forgetPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), socket.getLocalPort()));
+			sendRaw(socket, 3, new TestStateCommand(id, 3));
+			assertEquals(3, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+		}
+	}
+
+	@Test
+	public void sequencesAreTrackedPerPeer() throws Exception {
+		var id = UUID.randomUUID();
+		try (var socket = new DatagramSocket(); var otherSocket = new DatagramSocket()) {
+			sendRaw(socket, 5, new TestStateCommand(id, 5));
+			assertEquals(5, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+
+			sendRaw(otherSocket, 3, new TestStateCommand(id, 3));
+			assertEquals(3, received.poll(TimeoutMillis, TimeUnit.MILLISECONDS).value);
+		}
+	}
+
+	/**
+	 * Sends a stream of states with simulated packet loss, and ensures that the states that do arrive are in order, and that
+	 * the final state is applied once the loss stops.
+	 */
+	@Test
+	public void simulatedLoss() throws Exception {
+		final int stateCount = 200;
+		var id = UUID.randomUUID();
+
+		sender.setSimulatedLoss(0.5f);
+		for (int i = 0; i < stateCount; i++) {
+			sender.send(new TestStateCommand(id, i), receiverAddress);
+		}
+		sender.setSimulatedLoss(0);
+		sender.send(new TestStateCommand(id, stateCount), receiverAddress);
+
+		int receivedCount = 0;
+		int lastValue = -1;
+		TestStateCommand command;
+		while ((command = received.poll(TimeoutMillis, TimeUnit.MILLISECONDS)) != null) {
+			assertTrue(command.value > lastValue);
+			lastValue = command.value;
+			receivedCount++;
+			if (lastValue == stateCount) {
+				break;
+			}
+		}
+
+		assertEquals(stateCount, lastValue);
+		assertTrue(receivedCount < stateCount);
+	}
+
+	private void sendRaw(DatagramSocket socket, int sequence, NetworkStateCommand command) throws Exception {
+		byte[] data = UnreliableChannel.encode(sequence, command);
+		socket.send(new DatagramPacket(data, data.length, receiverAddress));
+	}
+}
@@ -0,0 +1,49 @@
+package bubolo.net.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bubolo.Systems;
+import bubolo.Systems.NetworkType;
+import bubolo.world.Entity;
+import bubolo.world.GameWorld;
+import bubolo.world.Tank;
+import bubolo.world.World;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class UpdateTankAttributesTest {
+	@BeforeEach
+	public void beforeEach() {
+		Systems.initializeNetwork(NetworkType.Null);
+	}
+
+	@Test
+	public void ignoredIfTheTankDoesNotExistYet() {
+		World senderWorld = new GameWorld(4, 4);
+		Tank tank = senderWorld.addEntity(Tank.class, new Entity.ConstructionArgs(Entity.nextId(), 40, 40, 0));
+		var command = new UpdateTankAttributes(tank);
+
+		World receiverWorld = new GameWorld(4, 4);
+		command.execute(receiverWorld);
+		receiverWorld.update();
+		assertTrue(receiverWorld.getTanks().isEmpty());
+	}
+
+	@Test
+	public void ignoredIfTheTankWasRemoved() {
+		World world = new GameWorld(4, 4);
+		Tank tank = world.addEntity(Tank.class, new Entity.ConstructionArgs(Entity.nextId(), 40, 40, 0));
+		world.update();
+		var command = new UpdateTankAttributes(tank);
+
+		tank.dispose();
+		world.update();
+		command.execute(world);
+		assertEquals(0, world.getTanks().size());
+	}
+}
@@ -0,0 +1,99 @@
+package bubolo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+import bubolo.util.FrameProfiler.Phase;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class FrameProfilerTest {
+	@Test
+	public void percentilesUseNearestRank() {
+		var percentiles = new RollingPercentiles(100);
+		for (int i = 100; i >= 1; i--) {
+			percentiles.add(i);
+		}
+
+		assertEquals(50, percentiles.percentile(50));
+		assertEquals(95, percentiles.percentile(95));
+		assertEquals(99, percentiles.percentile(99));
+		assertEquals(100, percentiles.percentile(100));
+		assertEquals(50.5, percentiles.mean(), 0.0001);
+	}
+
+	@Test
+	public void percentilesOnlyIncludeTheWindow() {
+		var percentiles = new RollingPercentiles(4);
+		percentiles.add(1000);
+		for (int i = 0; i < 4; i++) {
+			percentiles.add(10);
+		}
+
+		assertEquals(4, percentiles.count());
+		assertEquals(10, percentiles.percentile(99));
+		assertEquals(10, percentiles.mean(), 0.0001);
+	}
+
+	@Test
+	public void phasesAreOnlyRecordedDuringAFrame() {
+		var profiler = new FrameProfiler();
+		profiler.begin(Phase.WorldUpdate);
+		profiler.end(Phase.WorldUpdate);
+
+		profiler.beginFrame();
+		profiler.begin(Phase.WorldUpdate);
+		profiler.end(Phase.WorldUpdate);
+		profiler.endFrame();
+
+		var snapshot = profiler.snapshot();
+		assertEquals(1, snapshot.frame().frames());
+		assertEquals(1, snapshot.phases().get(Phase.WorldUpdate.ordinal()).frames());
+		assertEquals(0, snapshot.phases().get(Phase.DrawWorld.ordinal()).frames());
+	}
+
+	@Test
+	public void allocationsAreAttributedToThePhase() {
+		var profiler = new FrameProfiler();
+		if (!profiler.isAllocationMeasured()) {
+			return;
+		}
+
+		profiler.beginFrame();
+		profiler.begin(Phase.WorldUpdate);
+		byte[] allocation = new byte[64 * 1024];
+		profiler.end(Phase.WorldUpdate);
+		profiler.endFrame();
+
+		assertEquals(64 * 1024, allocation.length);
+		var worldUpdate = profiler.snapshot().phases().get(Phase.WorldUpdate.ordinal());
+		assertTrue(worldUpdate.meanAllocatedBytes() >= 64 * 1024);
+	}
+
+	@Test
+	public void logIsWrittenAsCsv() throws Exception {
+		var file = Files.createTempFile("frameProfile", ".csv");
+		try {
+			var profiler = new FrameProfiler();
+			profiler.startLog(file);
+			profiler.beginFrame();
+			profiler.endFrame();
+			profiler.dispose();
+
+			// The log is written on a background thread.
+			for (int i = 0; i < 100 && Files.readAllLines(file).size() < 2 + Phase.values().length; i++) {
+				Thread.sleep(10);
+			}
+			var lines = Files.readAllLines(file);
+			assertEquals(2 + Phase.values().length, lines.size());
+			assertTrue(lines.get(1).contains(",Frame,1,"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
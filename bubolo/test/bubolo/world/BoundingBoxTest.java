@@ -0,0 +1,68 @@
+package bubolo.world;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Intersector.MinimumTranslationVector;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class BoundingBoxTest {
+	@Test
+	public void boxesThatShareAnEdgeDoNotOverlap() {
+		var box = new BoundingBox(16, 16, 32, 32);
+		assertFalse(box.overlaps(new BoundingBox(48, 16, 32, 32)));
+		assertTrue(box.overlaps(new BoundingBox(47, 16, 32, 32)));
+	}
+
+	@Test
+	public void collisionVectorUsesTheShallowestAxis() {
+		var tree = new BoundingBox(16, 16, 32, 32);
+		var tank = new BoundingBox(40, 20, 20, 20);
+
+		var collisionVector = new MinimumTranslationVector();
+		assertTrue(tree.overlaps(tank, collisionVector));
+		assertEquals(2, collisionVector.depth, 0.0001f);
+		assertEquals(-1, collisionVector.normal.x, 0.0001f);
+		assertEquals(0, collisionVector.normal.y, 0.0001f);
+	}
+
+	@Test
+	public void overlapsCircle() {
+		var box = new BoundingBox(16, 16, 32, 32);
+		assertTrue(box.overlaps(new Circle(35, 16, 6)));
+		assertFalse(box.overlaps(new Circle(37, 37, 6)));
+	}
+
+	@Test
+	public void segmentEntry() {
+		var box = new BoundingBox(16, 16, 32, 32);
+		assertEquals(0.5f, box.segmentEntry(-32, 16, 64, 0), 0.0001f);
+		assertEquals(0, box.segmentEntry(16, 16, 100, 100), 0.0001f);
+		assertEquals(Float.MAX_VALUE, box.segmentEntry(-32, 40, 64, 0));
+		assertEquals(Float.MAX_VALUE, box.segmentEntry(-32, 16, 16, 0));
+	}
+
+	@Test
+	public void segmentEntryOfMovingBox() {
+		var box = new BoundingBox(16, 16, 32, 32);
+		// A segment that passes just above the box misses it, but a box moved along the segment clips its top edge.
+		assertEquals(Float.MAX_VALUE, box.segmentEntry(-32, 34, 64, 0));
+		assertEquals(0.4375f, box.segmentEntry(-32, 34, 64, 0, 4, 4), 0.0001f);
+		assertEquals(Float.MAX_VALUE, box.segmentEntry(-32, 37, 64, 0, 4, 4));
+		assertEquals(0, box.segmentEntry(34, 16, 64, 0, 4, 4), 0.0001f);
+	}
+
+	@Test
+	public void polygonMatchesTheBox() {
+		var box = new BoundingBox(16, 16, 32, 32);
+		box.updateBounds(48, 16, 32, 32);
+		assertArrayEquals(new float[] { 64, 32, 64, 0, 32, 0, 32, 32 }, box.bounds().getTransformedVertices(), 0.0001f);
+	}
+}
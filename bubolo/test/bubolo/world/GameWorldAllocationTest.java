@@ -0,0 +1,80 @@
+package bubolo.world;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bubolo.Systems;
+import bubolo.Systems.NetworkType;
+import bubolo.graphics.TeamColor;
+import bubolo.util.AllocationProfiler;
+import bubolo.util.Units;
+
+/**
+ * Fails if a steady state world update allocates more than its budget. The budget can be overridden with the
+ * bubolo.allocationBudget system property, in bytes per tick.
+ *
+ * @author Christopher D. Canfield
+ */
+public class GameWorldAllocationTest {
+	private static final long DefaultBudgetBytesPerTick = 1024;
+
+	private static final int WarmUpTicks = 600;
+	private static final int MeasuredTicks = AllocationProfiler.WindowTicks;
+
+	@BeforeEach
+	public void beforeEach() {
+		Systems.initializeNetwork(NetworkType.Null);
+	}
+
+	@Test
+	public void steadyStateUpdateIsWithinAllocationBudget() {
+		assumeTrue(AllocationProfiler.isSupported());
+
+		GameWorld world = new GameWorld(32, 16);
+		for (int i = 2; i < 14; i += 3) {
+			addEntity(world, Tree.class, i, 2);
+			addEntity(world, Wall.class, i, 5);
+			addEntity(world, Mine.class, i, 8);
+		}
+		addEntity(world, Pillbox.class, 12, 12);
+		addEntity(world, Base.class, 3, 12);
+		world.populateEmptyTilesWith(Grass.class);
+
+		// A tank that drives in circles, out of the pillbox's range, around an armed mine that it never touches.
+		Mine mine = addEntity(world, Mine.class, 26, 8);
+		Tank tank = world.addEntity(Tank.class, new Entity.ConstructionArgs(27 * Units.TileToWorldScale, 8 * Units.TileToWorldScale, 0),
+				entity -> entity.addController(w -> {
+					((Tank) entity).accelerate();
+					((Tank) entity).rotateRight();
+				}));
+		tank.initialize("Player", TeamColor.Blue, false, world);
+
+		for (int tick = 0; tick < WarmUpTicks; tick++) {
+			world.update();
+		}
+		assertTrue(mine.isArmed());
+
+		var profiler = world.allocationProfiler();
+		profiler.setEnabled(true);
+		for (int tick = 0; tick < MeasuredTicks; tick++) {
+			world.update();
+		}
+		profiler.setEnabled(false);
+		assertFalse(mine.isDisposed());
+		assertTrue(tank.isAlive());
+		assertTrue(tank.speed() > 0);
+
+		long budget = Long.getLong("bubolo.allocationBudget", DefaultBudgetBytesPerTick);
+		assertEquals(MeasuredTicks, profiler.ticks());
+		assertTrue(profiler.meanBytesPerTick() <= budget, profiler.report());
+	}
+
+	private static <T extends Entity> T addEntity(World world, Class<T> type, int column, int row) {
+		return world.addEntity(type, new Entity.ConstructionArgs(column * Units.TileToWorldScale, row * Units.TileToWorldScale, 0));
+	}
+}
@@ -3,13 +3,20 @@ package bubolo.world;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import bubolo.Systems;
 import bubolo.Systems.NetworkType;
+import bubolo.util.Time;
 import bubolo.util.Units;
 import bubolo.world.Entity.ConstructionArgs;
 
@@ -170,4 +177,237 @@ public class GameWorldTest
 		assertEquals(50, w.getTileRows());
 		assertEquals(50 * Units.TileToWorldScale, w.getHeight());
 	}
+
+	@Test
+	public void removedBulletIsReused()
+	{
+		Bullet bullet = world.addEntity(Bullet.class, args);
+		world.update();
+		bullet.dispose();
+		world.update();
+
+		// The removed bullet isn't reused until the following update, so that observers see that it was disposed.
+		Bullet newBullet = world.addEntity(Bullet.class, new Entity.ConstructionArgs(Entity.nextId(), 0, 0, 0));
+		assertNotSame(bullet, newBullet);
+		world.update();
+
+		var reuseArgs = new Entity.ConstructionArgs(Entity.nextId(), 32, 16, 1);
+		Bullet reusedBullet = world.addEntity(Bullet.class, reuseArgs);
+		assertSame(bullet, reusedBullet);
+		assertEquals(reuseArgs.id(), reusedBullet.id());
+		assertFalse(reusedBullet.isDisposed());
+		assertEquals(32, reusedBullet.x(), 0.0001f);
+		assertEquals(16, reusedBullet.y(), 0.0001f);
+		assertEquals(1, reusedBullet.rotation(), 0.0001f);
+		assertNull(reusedBullet.owner());
+
+		world.update();
+		assertTrue(world.getEntities().contains(reusedBullet));
+		assertSame(reusedBullet, world.getEntity(reuseArgs.id()));
+	}
+
+	@Test
+	public void entityTypeIdsResolveToTheirTypes()
+	{
+		Class<?>[] types = { Tank.class, Bullet.class, Mine.class, MineExplosion.class, Pillbox.class, Base.class,
+				Building.class, Wall.class, Tree.class, Rubble.class, Crater.class, Spawn.class, Grass.class, Swamp.class,
+				Road.class, Water.class, DeepWater.class };
+		for (Class<?> type : types) {
+			@SuppressWarnings("unchecked")
+			var entityType = (Class<? extends Entity>) type;
+			assertSame(entityType, EntityTypes.type(EntityTypes.id(entityType)));
+		}
+	}
+
+	@Test
+	public void addEntityByTypeId()
+	{
+		Entity entity = world.addEntity(EntityTypes.type(EntityTypes.id(Tree.class)), args);
+		assertTrue(entity instanceof Tree);
+	}
+
+	@Test
+	public void addEntitiesNotifiesObserversOnce()
+	{
+		var batches = new ArrayList<List<Entity>>();
+		world.addEntityLifetimeObserver(new EntityLifetimeObserver() {
+			@Override
+			public void onObserverAddedToWorld(World world) {
+			}
+
+			@Override
+			public void onEntityAdded(Entity entity) {
+				batches.add(List.of(entity));
+			}
+
+			@Override
+			public void onEntitiesAdded(List<Entity> entities) {
+				batches.add(List.copyOf(entities));
+			}
+
+			@Override
+			public void onEntityRemoved(Entity entity) {
+			}
+		});
+
+		var newEntities = List.of(
+				new World.NewEntity(Grass.class, new Entity.ConstructionArgs(Entity.nextId(), 0, 0, 0)),
+				new World.NewEntity(Tree.class, new Entity.ConstructionArgs(Entity.nextId(), 0, 0, 0)),
+				new World.NewEntity(Road.class, new Entity.ConstructionArgs(Entity.nextId(), 32, 0, 0)));
+		List<Entity> added = world.addEntities(newEntities);
+
+		assertEquals(1, batches.size());
+		assertEquals(added, batches.get(0));
+		assertTrue(added.get(1) instanceof Tree);
+
+		world.update();
+		assertEquals(3, world.getEntities().size());
+		assertSame(added.get(2), world.getTerrain(1, 0));
+	}
+
+	@Test
+	public void getTanksWithinDistance()
+	{
+		World largeWorld = new GameWorld(40, 40);
+		Tank near = largeWorld.addEntity(Tank.class, new Entity.ConstructionArgs(Entity.nextId(), 100, 100, 0));
+		Tank edge = largeWorld.addEntity(Tank.class, new Entity.ConstructionArgs(Entity.nextId(), 100, 430, 0));
+		Tank far = largeWorld.addEntity(Tank.class, new Entity.ConstructionArgs(Entity.nextId(), 1000, 1000, 0));
+
+		var tanks = largeWorld.getTanksWithinDistance(new ArrayList<>(), 120, 120, 300);
+		assertTrue(tanks.contains(near));
+		assertFalse(tanks.contains(edge));
+		assertFalse(tanks.contains(far));
+
+		// The grid is rebuilt after a tank is added.
+		Tank added = largeWorld.addEntity(Tank.class, new Entity.ConstructionArgs(Entity.nextId(), 130, 130, 0));
+		tanks = largeWorld.getTanksWithinDistance(tanks, 120, 120, 300);
+		assertTrue(tanks.contains(added));
+		assertTrue(tanks.contains(near));
+		assertFalse(tanks.contains(far));
+	}
+
+	@Test
+	public void raycastReturnsFirstHit()
+	{
+		World largeWorld = new GameWorld(8, 2);
+		Wall wall = largeWorld.addEntity(Wall.class, new Entity.ConstructionArgs(Entity.nextId(), 96, 0, 0));
+		Tree tree = largeWorld.addEntity(Tree.class, new Entity.ConstructionArgs(Entity.nextId(), 160, 0, 0));
+		largeWorld.update();
+
+		// Collidable bounds are centered on the entity's position.
+		assertSame(wall, largeWorld.raycast(10, 5, 250, 5, null));
+		assertSame(tree, largeWorld.raycast(250, 5, 10, 5, null));
+		assertSame(tree, largeWorld.raycast(10, 5, 250, 5, c -> c instanceof Tree));
+		assertNull(largeWorld.raycast(10, 5, 70, 5, null));
+		assertNull(largeWorld.raycast(10, 40, 250, 40, null));
+	}
+
+	@Test
+	public void sweepBoxHitsObjectsThatOnlyItsEdgeTouches()
+	{
+		World largeWorld = new GameWorld(8, 2);
+		Wall wall = largeWorld.addEntity(Wall.class, new Entity.ConstructionArgs(Entity.nextId(), 96, 0, 0));
+		largeWorld.update();
+
+		// The wall's top edge is at y = 16. A bullet-sized box whose center passes 2 units above it clips the wall.
+		assertNull(largeWorld.raycast(10, 18, 250, 18, null));
+		assertSame(wall, largeWorld.sweepBox(10, 18, 250, 18, Bullet.Width / 2f, Bullet.Height / 2f, null));
+		assertNull(largeWorld.sweepBox(10, 21, 250, 21, Bullet.Width / 2f, Bullet.Height / 2f, null));
+	}
+
+	@Test
+	public void craterTrenchFloodsOneCraterAtATime()
+	{
+		World trenchWorld = new GameWorld(4, 1);
+		trenchWorld.addEntity(Water.class, new Entity.ConstructionArgs(Entity.nextId(), 0, 0, 0));
+		trenchWorld.update();
+		trenchWorld.populateEmptyTilesWith(Grass.class);
+		trenchWorld.update();
+
+		trenchWorld.addEntity(Crater.class, new Entity.ConstructionArgs(Entity.nextId(), 32, 0, 0));
+		trenchWorld.addEntity(Crater.class, new Entity.ConstructionArgs(Entity.nextId(), 64, 0, 0));
+		trenchWorld.update();
+
+		int floodTicks = Time.secondsToTicks(Crater.FloodTimeSeconds);
+		for (int tick = 0; tick < floodTicks + 1; tick++) {
+			trenchWorld.update();
+		}
+		assertTrue(trenchWorld.getTerrain(1, 0) instanceof Water);
+		assertNull(trenchWorld.getTerrainImprovement(1, 0));
+		assertTrue(((Crater) trenchWorld.getTerrainImprovement(2, 0)).isFlooding());
+		assertTrue(trenchWorld.getTerrain(2, 0) instanceof Grass);
+
+		for (int tick = 0; tick < floodTicks + 1; tick++) {
+			trenchWorld.update();
+		}
+		assertTrue(trenchWorld.getTerrain(2, 0) instanceof Water);
+		assertNull(trenchWorld.getTerrainImprovement(2, 0));
+		assertTrue(trenchWorld.getTerrain(3, 0) instanceof Grass);
+	}
+
+	@Test
+	public void replacedCraterFloodsAfterItsOwnDelay()
+	{
+		World craterWorld = new GameWorld(2, 1);
+		craterWorld.addEntity(Water.class, new Entity.ConstructionArgs(Entity.nextId(), 0, 0, 0));
+		craterWorld.update();
+		craterWorld.populateEmptyTilesWith(Grass.class);
+		Crater crater = craterWorld.addEntity(Crater.class, new Entity.ConstructionArgs(Entity.nextId(), 32, 0, 0));
+		craterWorld.update();
+		assertTrue(crater.isFlooding());
+
+		int floodTicks = Time.secondsToTicks(Crater.FloodTimeSeconds);
+		for (int tick = 0; tick < floodTicks / 2; tick++) {
+			craterWorld.update();
+		}
+		crater.dispose();
+		craterWorld.update();
+		Crater newCrater = craterWorld.addEntity(Crater.class, new Entity.ConstructionArgs(Entity.nextId(), 32, 0, 0));
+		craterWorld.update();
+		assertTrue(newCrater.isFlooding());
+
+		// The first crater's flood would have finished by now.
+		for (int tick = 0; tick < floodTicks / 2 + 2; tick++) {
+			craterWorld.update();
+		}
+		assertSame(newCrater, craterWorld.getTerrainImprovement(1, 0));
+		assertTrue(craterWorld.getTerrain(1, 0) instanceof Grass);
+
+		for (int tick = 0; tick < floodTicks; tick++) {
+			craterWorld.update();
+		}
+		assertNull(craterWorld.getTerrainImprovement(1, 0));
+		assertTrue(craterWorld.getTerrain(1, 0) instanceof Water);
+	}
+
+	@Test
+	public void addingWaterUpdatesTheCornerMatchesOfDiagonalWater()
+	{
+		World waterWorld = new GameWorld(3, 3);
+		Water water = waterWorld.addEntity(Water.class, new Entity.ConstructionArgs(Entity.nextId(), 0, 0, 0));
+		waterWorld.update();
+		waterWorld.populateEmptyTilesWith(Grass.class);
+		waterWorld.update();
+		assertFalse(water.getCornerMatches()[1]);
+
+		waterWorld.getTerrain(1, 1).dispose();
+		waterWorld.addEntity(Water.class, new Entity.ConstructionArgs(Entity.nextId(), 32, 32, 0));
+		waterWorld.update();
+		// The new water is to the top right of the existing water.
+		assertTrue(water.getCornerMatches()[1]);
+	}
+
+	@Test
+	public void getMineReturnsNullAfterMineIsRemoved()
+	{
+		Mine mine = world.addEntity(Mine.class, new Entity.ConstructionArgs(Entity.nextId(), 32, 0, 0));
+		world.update();
+		assertSame(mine, world.getMine(1, 0));
+		assertNull(world.getMine(0, 0));
+		assertNull(world.getMine(-1, 5));
+
+		mine.dispose();
+		world.update();
+		assertNull(world.getMine(1, 0));
+	}
 }
@@ -0,0 +1,227 @@
+package bubolo.world;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bubolo.Systems;
+import bubolo.Systems.NetworkType;
+import bubolo.graphics.TeamColor;
+import bubolo.util.Time;
+import bubolo.util.Units;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class ParallelActorUpdateTest {
+	private static final int Columns = 40;
+	private static final int Rows = 40;
+
+	@BeforeEach
+	public void beforeEach() {
+		Systems.initializeNetwork(NetworkType.Null);
+	}
+
+	@Test
+	public void parallelUpdatesMatchSerialUpdates() {
+		var serialResult = run(false);
+		var parallelResult = run(true);
+
+		// Enough bullets must be fired for the prepare phase to be split across tasks.
+		assertTrue(serialResult.bullets() > ParallelActorUpdater.MinActorsPerTask * 2);
+		assertTrue(serialResult.hits() > 0);
+		assertEquals(serialResult, parallelResult);
+	}
+
+	private static Result run(boolean parallel) {
+		GameWorld world = new GameWorld(Columns, Rows);
+		world.setParallelActorUpdates(parallel);
+		for (int column = 2; column < Columns; column += 4) {
+			for (int row = 2; row < Rows; row += 3) {
+				addEntity(world, Tree.class, column, row, 0);
+			}
+		}
+		world.populateEmptyTilesWith(Grass.class);
+		world.update();
+
+		int bullets = 0;
+		int[] hits = new int[1];
+		for (int column = 0; column < Columns; column += 2) {
+			for (int row = 0; row < Rows; row += 4) {
+				float rotation = (column + row) % 4 * (float) Math.PI / 2;
+				Bullet bullet = addEntity(world, Bullet.class, column, row, rotation);
+				bullet.setBulletHitObjectObserver(() -> hits[0]++);
+				bullets++;
+			}
+		}
+
+		for (int tick = 0; tick < 200; tick++) {
+			world.update();
+		}
+
+		List<Integer> remainingTrees = new ArrayList<>();
+		for (Entity entity : world.getEntities()) {
+			if (entity instanceof Tree) {
+				remainingTrees.add(entity.tileColumn() * Rows + entity.tileRow());
+			}
+		}
+		return new Result(bullets, hits[0], remainingTrees);
+	}
+
+	@Test
+	public void bulletsHitTanksThatMovedIntoTheirPathEarlierInTheTick() {
+		var serialResult = runTankScenario(false);
+		var parallelResult = runTankScenario(true);
+
+		assertEquals(1, serialResult.hits());
+		assertEquals(serialResult, parallelResult);
+	}
+
+	/**
+	 * Fires a bullet past a tank, which is updated before the bullet, and moves the tank into the bullet's path for a single
+	 * tick.
+	 */
+	private static HitResult runTankScenario(boolean parallel) {
+		GameWorld world = new GameWorld(10, 4);
+		world.setParallelActorUpdates(parallel);
+		world.populateEmptyTilesWith(Grass.class);
+
+		// The bullet travels along y = 48, and its box is 8 units tall. The tank's box is 20 units tall, so it is clear of the
+		// path at y = 64, and in it at y = 58.
+		int[] tick = new int[1];
+		Tank tank = world.addEntity(Tank.class, new Entity.ConstructionArgs(64, 64, 0), entity -> entity.addController(w -> {
+			entity.setPosition(64, (tick[0] == 2) ? 58 : 64);
+		}));
+		tank.initialize("Player", TeamColor.Blue, false, world);
+		world.update();
+
+		int[] hits = new int[1];
+		int[] hitTick = { -1 };
+		Bullet bullet = addEntity(world, Bullet.class, 1, 1, 0);
+		bullet.setBulletHitObjectObserver(() -> {
+			hits[0]++;
+			hitTick[0] = tick[0];
+		});
+		for (tick[0] = 1; tick[0] <= 5; tick[0]++) {
+			world.update();
+		}
+		return new HitResult(hits[0], hitTick[0], tank.hitPoints());
+	}
+
+	@Test
+	public void bulletsHitPillboxesThatWerePlacedEarlierInTheTick() {
+		var serialResult = runPillboxScenario(false, true);
+		var parallelResult = runPillboxScenario(true, true);
+
+		assertEquals(1, serialResult.hits());
+		assertEquals(serialResult, parallelResult);
+	}
+
+	@Test
+	public void bulletsMissPillboxesThatWerePickedUpEarlierInTheTick() {
+		var serialResult = runPillboxScenario(false, false);
+		var parallelResult = runPillboxScenario(true, false);
+
+		assertEquals(0, serialResult.hits());
+		assertEquals(serialResult, parallelResult);
+	}
+
+	/**
+	 * Fires a bullet at a pillbox's tile, and has a tank, which is updated before the bullet, move the pillbox onto or off of
+	 * the tile map on the tick that the bullet reaches it.
+	 */
+	private static HitResult runPillboxScenario(boolean parallel, boolean moveOnto) {
+		GameWorld world = new GameWorld(10, 4);
+		world.setParallelActorUpdates(parallel);
+		world.populateEmptyTilesWith(Grass.class);
+
+		// The pillbox's box spans x = 81.5 to 110.5 and y = 17.5 to 46.5, so the bullet, which travels along y = 48, first
+		// reaches it on tick 7.
+		final int moveTick = 7;
+		Pillbox pillbox = world.addEntity(Pillbox.class, new Entity.ConstructionArgs(96, 32, 0), entity -> {});
+		int[] tick = new int[1];
+		Tank tank = world.addEntity(Tank.class, new Entity.ConstructionArgs(256, 64, 0), entity -> entity.addController(w -> {
+			if (tick[0] == moveTick) {
+				if (moveOnto) {
+					w.movePillboxOntoTileMap(pillbox, 3, 1);
+				} else {
+					w.movePillboxOffTileMap(pillbox);
+				}
+			}
+		}));
+		tank.initialize("Player", TeamColor.Blue, false, world);
+		world.update();
+		if (moveOnto) {
+			world.movePillboxOffTileMap(pillbox);
+		}
+
+		int[] hits = new int[1];
+		int[] hitTick = { -1 };
+		Bullet bullet = addEntity(world, Bullet.class, 1, 1, 0);
+		bullet.setBulletHitObjectObserver(() -> {
+			hits[0]++;
+			hitTick[0] = tick[0];
+		});
+		for (tick[0] = 1; tick[0] <= 10; tick[0]++) {
+			world.update();
+		}
+		return new HitResult(hits[0], hitTick[0], pillbox.hitPoints());
+	}
+
+	@Test
+	public void minesExplodeOnTheTickThatATankDrivesOntoThem() {
+		int serialExplosionTick = runMineScenario(false);
+		int parallelExplosionTick = runMineScenario(true);
+
+		assertTrue(serialExplosionTick > 0);
+		assertEquals(serialExplosionTick, parallelExplosionTick);
+	}
+
+	/**
+	 * Arms a mine, and then has a tank, which is updated before the mine, drive onto it.
+	 *
+	 * @return the tick on which the mine exploded, or -1 if it didn't.
+	 */
+	private static int runMineScenario(boolean parallel) {
+		GameWorld world = new GameWorld(10, 4);
+		world.setParallelActorUpdates(parallel);
+		world.populateEmptyTilesWith(Grass.class);
+
+		// The mine's box spans x = 86 to 106, and the tank's box is 20 units wide, so the tank touches the mine once it passes
+		// x = 66.
+		final int armedTick = Time.secondsToTicks(6);
+		int[] tick = new int[1];
+		Tank tank = world.addEntity(Tank.class, new Entity.ConstructionArgs(40, 48, 0), entity -> entity.addController(w -> {
+			if (tick[0] > armedTick) {
+				entity.setPosition(entity.x() + 4, entity.y());
+			}
+		}));
+		tank.initialize("Player", TeamColor.Blue, false, world);
+		world.update();
+
+		Mine mine = world.addEntity(Mine.class, new Entity.ConstructionArgs(96, 48, 0));
+		for (tick[0] = 1; tick[0] <= armedTick + 20; tick[0]++) {
+			world.update();
+			if (mine.isDisposed()) {
+				return tick[0];
+			}
+		}
+		return -1;
+	}
+
+	private static <T extends Entity> T addEntity(World world, Class<T> type, int column, int row, float rotation) {
+		return world.addEntity(type, new Entity.ConstructionArgs(column * Units.TileToWorldScale + Units.TileToWorldScale / 2,
+				row * Units.TileToWorldScale + Units.TileToWorldScale / 2, rotation));
+	}
+
+	private static record Result(int bullets, int hits, List<Integer> remainingTrees) {
+	}
+
+	private static record HitResult(int hits, int hitTick, float targetHitPoints) {
+	}
+}
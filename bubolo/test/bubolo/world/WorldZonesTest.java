@@ -0,0 +1,68 @@
+package bubolo.world;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bubolo.Systems;
+import bubolo.Systems.NetworkType;
+import bubolo.util.Units;
+
+/**
+ * @author Christopher D. Canfield
+ */
+public class WorldZonesTest {
+	@BeforeEach
+	public void beforeEach() {
+		Systems.initializeNetwork(NetworkType.Null);
+	}
+
+	@Test
+	public void tilesAreAssignedToZones() {
+		var zones = new WorldZones(30, 30);
+		assertEquals(9, zones.count());
+		assertEquals("Southwest", zones.name(zones.zoneIndex(0, 0)));
+		assertEquals("Central", zones.name(zones.zoneIndex(15, 15)));
+		assertEquals("Northeast", zones.name(zones.zoneIndex(29, 29)));
+		assertEquals("Northwest", zones.name(zones.zoneIndex(0, 29)));
+	}
+
+	@Test
+	public void smallWorldsHaveOneZone() {
+		var zones = new WorldZones(2, 2);
+		assertEquals(1, zones.count());
+		assertEquals(0, zones.zoneIndex(1, 1));
+	}
+
+	@Test
+	public void randomSpawnIsFromTheZoneAndNotNearExcludedSpawns() {
+		var world = new GameWorld(60, 60);
+		var zones = new WorldZones(60, 60);
+		Spawn nearCorner = addSpawn(world, zones, 1, 1);
+		Spawn farFromCorner = addSpawn(world, zones, 15, 15);
+		addSpawn(world, zones, 50, 50);
+
+		int southwest = zones.zoneIndex(0, 0);
+		var random = new Random(1);
+		for (int i = 0; i < 20; i++) {
+			assertSame(farFromCorner, zones.randomSpawn(southwest, List.of(nearCorner), 10, random));
+		}
+		assertNull(zones.randomSpawn(southwest, List.of(nearCorner, farFromCorner), 10, random));
+
+		zones.removeSpawn(farFromCorner);
+		assertNull(zones.randomSpawn(southwest, List.of(nearCorner), 10, random));
+	}
+
+	private static Spawn addSpawn(World world, WorldZones zones, int column, int row) {
+		Spawn spawn = world.addEntity(Spawn.class,
+				new Entity.ConstructionArgs(column * Units.TileToWorldScale, row * Units.TileToWorldScale, 0));
+		zones.addSpawn(spawn);
+		return spawn;
+	}
+}